@@ -0,0 +1,53 @@
+package com.brightcoveplayer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Runs once per completed segment load on the main thread
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AbrControllerBenchmark {
+    private static final int[] LADDER = {400000, 800000, 1400000, 2800000, 5000000, 8000000};
+    private static final int SAMPLES = 1024;
+
+    private final QualityPolicy policy = new AbrController();
+    private final ThroughputEstimator estimator = new ThroughputEstimator(ThroughputEstimator.DEFAULT_WINDOW_SIZE);
+    private final long[] loadBytes = new long[SAMPLES];
+    private final long[] loadDurationsMs = new long[SAMPLES];
+    private final long[] bufferedMs = new long[SAMPLES];
+    private int next;
+
+    @Setup
+    public void setUp() {
+        policy.setLadder(LADDER);
+        // Fluctuating bandwidth between 0.5 and 10 Mbps so decisions go both ways
+        Random random = new Random(42);
+        for (int i = 0; i < SAMPLES; i++) {
+            loadBytes[i] = 256 * 1024 + random.nextInt(2 * 1024 * 1024);
+            loadDurationsMs[i] = 200 + random.nextInt(4000);
+            bufferedMs[i] = random.nextInt(30000);
+        }
+    }
+
+    @Benchmark
+    public boolean decide() {
+        int i = next;
+        next = (i + 1) & (SAMPLES - 1);
+        estimator.addSample(loadBytes[i], loadDurationsMs[i]);
+        return policy.update(estimator.getEstimate(), bufferedMs[i]);
+    }
+
+    @Benchmark
+    public void setLadderUnchanged() {
+        policy.setLadder(LADDER);
+    }
+}
@@ -0,0 +1,38 @@
+package com.brightcoveplayer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+// Every player event passes through the coalescer before an event object is built
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EventCoalescerBenchmark {
+    private final EventCoalescer coalescer = new EventCoalescer();
+    private long nowMs;
+    private boolean buffering;
+
+    // Progress arriving at frame rate, most of it dropped by the 250 ms interval
+    @Benchmark
+    public boolean progress() {
+        nowMs += 16;
+        return coalescer.shouldEmitProgress(nowMs, nowMs);
+    }
+
+    @Benchmark
+    public boolean repeatedQuality() {
+        return coalescer.shouldEmitQuality(1920, 1080, 5000000);
+    }
+
+    @Benchmark
+    public boolean togglingBuffering() {
+        buffering = !buffering;
+        return coalescer.shouldEmitBuffering(buffering);
+    }
+}
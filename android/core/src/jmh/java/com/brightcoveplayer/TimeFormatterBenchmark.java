@@ -0,0 +1,34 @@
+package com.brightcoveplayer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+// Runs twice per frame while the controls overlay is visible
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TimeFormatterBenchmark {
+    private final char[] buffer = new char[TimeFormatter.MAX_LENGTH];
+    private long positionMs = 3725000;
+
+    @Benchmark
+    public int format() {
+        positionMs += 16;
+        return TimeFormatter.format(positionMs, buffer);
+    }
+
+    // The String.format call the overlay used before, kept as a reference point
+    @Benchmark
+    public String stringFormatBaseline() {
+        positionMs += 16;
+        long seconds = positionMs / 1000;
+        return String.format(Locale.US, "%d:%02d", seconds / 60, seconds % 60);
+    }
+}
@@ -0,0 +1,42 @@
+package com.brightcoveplayer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+// Trace events are recorded on the main thread's hot paths, so a record has to stay in the tens of nanoseconds
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TraceBufferBenchmark {
+    private final TraceBuffer buffer = new TraceBuffer(TraceBuffer.DEFAULT_CAPACITY);
+    private volatile TraceBuffer disabled;
+
+    @Benchmark
+    public void record() {
+        buffer.record(TraceBuffer.TYPE_INSTANT, "event", 1, System.nanoTime());
+    }
+
+    // Main thread and loader threads writing at once
+    @Benchmark
+    @Threads(4)
+    public void contendedRecord() {
+        buffer.record(TraceBuffer.TYPE_INSTANT, "event", 1, System.nanoTime());
+    }
+
+    // The cost every trace point pays while recording is off
+    @Benchmark
+    public boolean recordingOff() {
+        TraceBuffer current = disabled;
+        if (current != null) {
+            current.record(TraceBuffer.TYPE_INSTANT, "event", 1, System.nanoTime());
+        }
+        return current != null;
+    }
+}
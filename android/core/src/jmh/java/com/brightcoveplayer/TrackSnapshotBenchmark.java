@@ -0,0 +1,59 @@
+package com.brightcoveplayer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+// A typical Brightcove HLS ladder: six video renditions, two audio and four caption tracks
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class TrackSnapshotBenchmark {
+    private static final int[][] VIDEO = {
+        {426, 240, 400000}, {640, 360, 800000}, {854, 480, 1400000},
+        {1280, 720, 2800000}, {1920, 1080, 5000000}, {1920, 1080, 8000000}
+    };
+    private static final String[] TEXT_LANGUAGES = {"en", "es", "fr", "de"};
+
+    private TrackSnapshot previous;
+    private TrackSnapshot current;
+
+    @Setup
+    public void setUp() {
+        previous = build(3);
+        current = build(4);
+    }
+
+    @Benchmark
+    public TrackSnapshot build() {
+        return build(3);
+    }
+
+    // What onTracksChanged does on every selection change: diff against the previous snapshot
+    @Benchmark
+    public boolean diff() {
+        return current.hasSameVideoTracks(previous)
+            & current.hasSameAudioTracks(previous)
+            & current.hasSameTextTracks(previous)
+            & current.hasSameSelection(previous);
+    }
+
+    private static TrackSnapshot build(int selectedVideo) {
+        TrackSnapshot.Builder builder = new TrackSnapshot.Builder();
+        for (int i = 0; i < VIDEO.length; i++) {
+            builder.addVideoTrack(VIDEO[i][0], VIDEO[i][1], VIDEO[i][2], i == selectedVideo);
+        }
+        builder.addAudioTrack(128000, "en", "English", true);
+        builder.addAudioTrack(128000, "es", "Spanish", false);
+        for (String language : TEXT_LANGUAGES) {
+            builder.addTextTrack(language, language, false);
+        }
+        return builder.build();
+    }
+}
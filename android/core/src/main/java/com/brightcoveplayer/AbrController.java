@@ -0,0 +1,96 @@
+package com.brightcoveplayer;
+
+import java.util.Arrays;
+
+public class AbrController implements QualityPolicy {
+    public static final float DEFAULT_BANDWIDTH_FRACTION = 0.75f;
+    public static final float LOW_BUFFER_BANDWIDTH_FRACTION = 0.5f;
+    public static final long LOW_BUFFER_MS = 5000;
+    public static final long HIGH_BUFFER_MS = 15000;
+
+    public static final String REASON_INITIAL = "initial";
+    public static final String REASON_UP = "bandwidthUp";
+    public static final String REASON_DOWN = "bandwidthDown";
+    public static final String REASON_LOW_BUFFER = "lowBuffer";
+
+    private int[] ladder = new int[0];
+    private int selectedIndex = -1;
+    private int previousBitrate = -1;
+    private String reason;
+
+    // Bitrates of the video renditions, in any order
+    @Override
+    public void setLadder(int[] bitrates) {
+        int selectedBitrate = getSelectedBitrate();
+        int[] sorted = bitrates.clone();
+        Arrays.sort(sorted);
+        if (Arrays.equals(sorted, ladder)) {
+            return;
+        }
+        ladder = sorted;
+        selectedIndex = selectedBitrate > 0 ? indexAtOrBelow(selectedBitrate) : -1;
+    }
+
+    @Override
+    public boolean update(long estimateBps, long bufferedMs) {
+        if (ladder.length == 0 || estimateBps <= 0) {
+            return false;
+        }
+        boolean lowBuffer = bufferedMs < LOW_BUFFER_MS;
+        float fraction = lowBuffer ? LOW_BUFFER_BANDWIDTH_FRACTION : DEFAULT_BANDWIDTH_FRACTION;
+        int target = indexAtOrBelow((long) (estimateBps * fraction));
+
+        int newIndex;
+        String newReason;
+        if (selectedIndex < 0) {
+            newIndex = target;
+            newReason = REASON_INITIAL;
+        } else if (target < selectedIndex) {
+            newIndex = target;
+            newReason = lowBuffer ? REASON_LOW_BUFFER : REASON_DOWN;
+        } else if (target > selectedIndex && bufferedMs >= HIGH_BUFFER_MS) {
+            // Climb one rung at a time and only with a healthy buffer to avoid oscillating
+            newIndex = selectedIndex + 1;
+            newReason = REASON_UP;
+        } else {
+            return false;
+        }
+
+        previousBitrate = getSelectedBitrate();
+        selectedIndex = newIndex;
+        reason = newReason;
+        return true;
+    }
+
+    @Override
+    public int getSelectedBitrate() {
+        return selectedIndex >= 0 ? ladder[selectedIndex] : -1;
+    }
+
+    @Override
+    public int getPreviousBitrate() {
+        return previousBitrate;
+    }
+
+    @Override
+    public String getReason() {
+        return reason;
+    }
+
+    @Override
+    public void reset() {
+        selectedIndex = -1;
+        previousBitrate = -1;
+        reason = null;
+    }
+
+    private int indexAtOrBelow(long bitrate) {
+        int index = 0;
+        for (int i = 0; i < ladder.length; i++) {
+            if (ladder[i] <= bitrate) {
+                index = i;
+            }
+        }
+        return index;
+    }
+}
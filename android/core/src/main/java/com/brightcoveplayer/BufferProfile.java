@@ -0,0 +1,136 @@
+package com.brightcoveplayer;
+
+public final class BufferProfile {
+    public static final String PRESET_DEFAULT = "default";
+    public static final String PRESET_FAST_START = "fastStart";
+    public static final String PRESET_FEED = "feed";
+    public static final String PRESET_LONG_FORM = "longForm";
+    public static final String PRESET_LOW_MEMORY = "lowMemory";
+    public static final String PRESET_LOW_LATENCY_LIVE = "lowLatencyLive";
+
+    // Matches ExoPlayer's DefaultLoadControl
+    public static final BufferProfile DEFAULT = new Builder(PRESET_DEFAULT).build();
+
+    public final int minBufferMs;
+    public final int maxBufferMs;
+    public final int bufferForPlaybackMs;
+    public final int bufferForPlaybackAfterRebufferMs;
+    public final int backBufferMs;
+    // -1 lets the load control size the buffer from the selected tracks
+    public final int targetBufferBytes;
+    public final boolean prioritizeTimeOverSize;
+    private final String key;
+
+    private BufferProfile(Builder builder) {
+        this.maxBufferMs = Math.max(builder.maxBufferMs, 1);
+        this.minBufferMs = Math.min(Math.max(builder.minBufferMs, 1), maxBufferMs);
+        this.bufferForPlaybackMs = Math.min(Math.max(builder.bufferForPlaybackMs, 0), minBufferMs);
+        this.bufferForPlaybackAfterRebufferMs =
+            Math.min(Math.max(builder.bufferForPlaybackAfterRebufferMs, 0), minBufferMs);
+        this.backBufferMs = Math.max(builder.backBufferMs, 0);
+        this.targetBufferBytes = builder.targetBufferBytes > 0 ? builder.targetBufferBytes : -1;
+        this.prioritizeTimeOverSize = builder.prioritizeTimeOverSize;
+        this.key = minBufferMs + "/" + maxBufferMs + "/" + bufferForPlaybackMs + "/"
+            + bufferForPlaybackAfterRebufferMs + "/" + backBufferMs + "/" + targetBufferBytes + "/"
+            + prioritizeTimeOverSize;
+    }
+
+    // Players built from profiles with equal keys have interchangeable load controls
+    public String getKey() {
+        return key;
+    }
+
+    // Upper bound on what a player holds: the byte target when set, else the forward and back
+    // buffers filled at the given video bitrate
+    public long estimateBufferBytes(int videoBitrate) {
+        if (targetBufferBytes > 0) {
+            return targetBufferBytes;
+        }
+        return (long) (maxBufferMs + backBufferMs) * videoBitrate / 8 / 1000;
+    }
+
+    public static class Builder {
+        private int minBufferMs = 50000;
+        private int maxBufferMs = 50000;
+        private int bufferForPlaybackMs = 2500;
+        private int bufferForPlaybackAfterRebufferMs = 5000;
+        private int backBufferMs = 0;
+        private int targetBufferBytes = -1;
+        private boolean prioritizeTimeOverSize = true;
+
+        public Builder(String preset) {
+            if (preset == null) {
+                return;
+            }
+            switch (preset) {
+                case PRESET_FAST_START:
+                    setBufferDurationsMs(15000, 30000, 1000, 2000);
+                    break;
+                case PRESET_FEED:
+                    setBufferDurationsMs(5000, 15000, 750, 1500);
+                    break;
+                case PRESET_LONG_FORM:
+                    setBufferDurationsMs(30000, 120000, 2500, 5000);
+                    backBufferMs = 30000;
+                    break;
+                case PRESET_LOW_MEMORY:
+                    setBufferDurationsMs(5000, 10000, 1500, 3000);
+                    targetBufferBytes = 4 * 1024 * 1024;
+                    prioritizeTimeOverSize = false;
+                    break;
+                case PRESET_LOW_LATENCY_LIVE:
+                    // A long forward buffer is impossible near the live edge, keep thresholds small
+                    setBufferDurationsMs(2000, 8000, 500, 1000);
+                    break;
+            }
+        }
+
+        public Builder setBufferDurationsMs(int minBufferMs, int maxBufferMs, int bufferForPlaybackMs,
+                                            int bufferForPlaybackAfterRebufferMs) {
+            this.minBufferMs = minBufferMs;
+            this.maxBufferMs = maxBufferMs;
+            this.bufferForPlaybackMs = bufferForPlaybackMs;
+            this.bufferForPlaybackAfterRebufferMs = bufferForPlaybackAfterRebufferMs;
+            return this;
+        }
+
+        public Builder setMinBufferMs(int minBufferMs) {
+            this.minBufferMs = minBufferMs;
+            return this;
+        }
+
+        public Builder setMaxBufferMs(int maxBufferMs) {
+            this.maxBufferMs = maxBufferMs;
+            return this;
+        }
+
+        public Builder setBufferForPlaybackMs(int bufferForPlaybackMs) {
+            this.bufferForPlaybackMs = bufferForPlaybackMs;
+            return this;
+        }
+
+        public Builder setBufferForPlaybackAfterRebufferMs(int bufferForPlaybackAfterRebufferMs) {
+            this.bufferForPlaybackAfterRebufferMs = bufferForPlaybackAfterRebufferMs;
+            return this;
+        }
+
+        public Builder setBackBufferMs(int backBufferMs) {
+            this.backBufferMs = backBufferMs;
+            return this;
+        }
+
+        public Builder setTargetBufferBytes(int targetBufferBytes) {
+            this.targetBufferBytes = targetBufferBytes;
+            return this;
+        }
+
+        public Builder setPrioritizeTimeOverSize(boolean prioritizeTimeOverSize) {
+            this.prioritizeTimeOverSize = prioritizeTimeOverSize;
+            return this;
+        }
+
+        public BufferProfile build() {
+            return new BufferProfile(this);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.brightcoveplayer;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+
+// Plain-text cues from sideloaded WebVTT and TTML caption files; styling and positioning are dropped
+public final class CaptionParser {
+    public static final class ParsedCue {
+        public final long startMs;
+        public final long endMs;
+        public final String text;
+
+        ParsedCue(long startMs, long endMs, String text) {
+            this.startMs = startMs;
+            this.endMs = endMs;
+            this.text = text;
+        }
+    }
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private CaptionParser() {
+    }
+
+    public static List<ParsedCue> parse(byte[] data, String mimeType) throws Exception {
+        boolean ttml = mimeType != null ? mimeType.contains("ttml") || mimeType.contains("xml") : looksLikeXml(data);
+        return ttml ? parseTtml(data) : parseWebVtt(new String(data, UTF_8));
+    }
+
+    public static List<ParsedCue> parseWebVtt(String webVtt) {
+        List<ParsedCue> cues = new ArrayList<>();
+        String[] lines = webVtt.split("\r?\n");
+        for (int i = 0; i < lines.length; i++) {
+            int arrow = lines[i].indexOf("-->");
+            if (arrow < 0) {
+                continue;
+            }
+            long start = ThumbnailTrack.parseTimestamp(lines[i].substring(0, arrow).trim());
+            String endPart = lines[i].substring(arrow + 3).trim();
+            int settings = endPart.indexOf(' ');
+            long end = ThumbnailTrack.parseTimestamp(settings > 0 ? endPart.substring(0, settings) : endPart);
+
+            StringBuilder text = new StringBuilder();
+            while (i + 1 < lines.length && !lines[i + 1].trim().isEmpty()) {
+                if (text.length() > 0) {
+                    text.append('\n');
+                }
+                text.append(stripTags(lines[++i]));
+            }
+            if (start >= 0 && end > start && text.length() > 0) {
+                cues.add(new ParsedCue(start, end, text.toString()));
+            }
+        }
+        return cues;
+    }
+
+    public static List<ParsedCue> parseTtml(byte[] data) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        factory.setExpandEntityReferences(false);
+        DocumentBuilder builder = factory.newDocumentBuilder();
+        Document document = builder.parse(new ByteArrayInputStream(data));
+
+        List<ParsedCue> cues = new ArrayList<>();
+        NodeList paragraphs = document.getElementsByTagNameNS("*", "p");
+        for (int i = 0; i < paragraphs.getLength(); i++) {
+            Element paragraph = (Element) paragraphs.item(i);
+            long start = parseTtmlTime(paragraph.getAttribute("begin"));
+            long end = parseTtmlTime(paragraph.getAttribute("end"));
+            if (end < 0 && start >= 0) {
+                long duration = parseTtmlTime(paragraph.getAttribute("dur"));
+                end = duration >= 0 ? start + duration : -1;
+            }
+            StringBuilder text = new StringBuilder();
+            appendText(paragraph, text);
+            String trimmed = text.toString().trim();
+            if (start >= 0 && end > start && !trimmed.isEmpty()) {
+                cues.add(new ParsedCue(start, end, trimmed));
+            }
+        }
+        return cues;
+    }
+
+    private static void appendText(Node node, StringBuilder out) {
+        for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() == Node.TEXT_NODE) {
+                out.append(child.getNodeValue().replaceAll("\\s+", " "));
+            } else if (child.getNodeType() == Node.ELEMENT_NODE) {
+                if ("br".equals(child.getLocalName())) {
+                    out.append('\n');
+                } else {
+                    appendText(child, out);
+                }
+            }
+        }
+    }
+
+    // Clock times ("00:00:01.500", frames after a third colon at 30 fps) and offsets ("1.5s", "1500ms")
+    static long parseTtmlTime(String time) {
+        if (time == null || time.isEmpty()) {
+            return -1;
+        }
+        try {
+            if (time.endsWith("ms")) {
+                return (long) Double.parseDouble(time.substring(0, time.length() - 2));
+            }
+            if (time.endsWith("s")) {
+                return (long) (Double.parseDouble(time.substring(0, time.length() - 1)) * 1000);
+            }
+            String[] parts = time.split(":");
+            if (parts.length == 4) {
+                long base = ThumbnailTrack.parseTimestamp(parts[0] + ":" + parts[1] + ":" + parts[2]);
+                return base < 0 ? -1 : base + Long.parseLong(parts[3]) * 1000 / 30;
+            }
+            return ThumbnailTrack.parseTimestamp(time);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static String stripTags(String line) {
+        StringBuilder out = new StringBuilder(line.length());
+        boolean inTag = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '<') {
+                inTag = true;
+            } else if (c == '>') {
+                inTag = false;
+            } else if (!inTag) {
+                out.append(c);
+            }
+        }
+        return out.toString()
+            .replace("&lt;", "<")
+            .replace("&gt;", ">")
+            .replace("&nbsp;", " ")
+            .replace("&amp;", "&");
+    }
+
+    private static boolean looksLikeXml(byte[] data) {
+        for (byte b : data) {
+            if (!Character.isWhitespace(b) && b != (byte) 0xEF && b != (byte) 0xBB && b != (byte) 0xBF) {
+                return b == '<';
+            }
+        }
+        return false;
+    }
+}
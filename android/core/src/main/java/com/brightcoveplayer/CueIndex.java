@@ -0,0 +1,113 @@
+package com.brightcoveplayer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Cues sorted by start time with a running maximum of end times, so the cues showing at any
+// position are found with one binary search and a walk over the overlapping ones only
+public final class CueIndex<T> {
+    private final long[] startTimesMs;
+    private final long[] endTimesMs;
+    private final long[] maxEndTimesMs;
+    private final Object[] payloads;
+
+    private CueIndex(List<Entry<T>> entries) {
+        int count = entries.size();
+        startTimesMs = new long[count];
+        endTimesMs = new long[count];
+        maxEndTimesMs = new long[count];
+        payloads = new Object[count];
+        long maxEnd = Long.MIN_VALUE;
+        for (int i = 0; i < count; i++) {
+            Entry<T> entry = entries.get(i);
+            startTimesMs[i] = entry.startMs;
+            endTimesMs[i] = entry.endMs;
+            maxEnd = Math.max(maxEnd, entry.endMs);
+            maxEndTimesMs[i] = maxEnd;
+            payloads[i] = entry.payload;
+        }
+    }
+
+    public int size() {
+        return payloads.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        return (T) payloads[index];
+    }
+
+    // Writes the indices of the cues showing at positionMs into out, in start order, and returns how many
+    public int query(long positionMs, int[] out) {
+        int count = 0;
+        for (int i = lastStartingAtOrBefore(positionMs); i >= 0 && maxEndTimesMs[i] > positionMs; i--) {
+            if (endTimesMs[i] > positionMs && count < out.length) {
+                out[count++] = i;
+            }
+        }
+        for (int i = 0, j = count - 1; i < j; i++, j--) {
+            int index = out[i];
+            out[i] = out[j];
+            out[j] = index;
+        }
+        return count;
+    }
+
+    // The next position after positionMs at which the set of showing cues changes, or Long.MAX_VALUE
+    public long nextChangeMs(long positionMs) {
+        int last = lastStartingAtOrBefore(positionMs);
+        long next = last + 1 < startTimesMs.length ? startTimesMs[last + 1] : Long.MAX_VALUE;
+        for (int i = last; i >= 0 && maxEndTimesMs[i] > positionMs; i--) {
+            if (endTimesMs[i] > positionMs) {
+                next = Math.min(next, endTimesMs[i]);
+            }
+        }
+        return next;
+    }
+
+    private int lastStartingAtOrBefore(long positionMs) {
+        int low = 0;
+        int high = startTimesMs.length - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (startTimesMs[mid] <= positionMs) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    private static final class Entry<T> {
+        final long startMs;
+        final long endMs;
+        final T payload;
+
+        Entry(long startMs, long endMs, T payload) {
+            this.startMs = startMs;
+            this.endMs = endMs;
+            this.payload = payload;
+        }
+    }
+
+    public static final class Builder<T> {
+        private final List<Entry<T>> entries = new ArrayList<>();
+
+        public Builder<T> add(long startMs, long endMs, T payload) {
+            if (endMs > startMs) {
+                entries.add(new Entry<>(startMs, endMs, payload));
+            }
+            return this;
+        }
+
+        public CueIndex<T> build() {
+            // Stable, so cues starting together keep their document order
+            Collections.sort(entries, (a, b) -> Long.compare(a.startMs, b.startMs));
+            return new CueIndex<>(entries);
+        }
+    }
+}
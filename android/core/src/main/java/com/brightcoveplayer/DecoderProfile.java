@@ -0,0 +1,141 @@
+package com.brightcoveplayer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// What the device's video decoders can play smoothly, one entry per probed codec. Immutable once built;
+// stored as text and only trusted for the build it was probed on.
+public final class DecoderProfile {
+    public static final String MIME_AVC = "video/avc";
+    public static final String MIME_HEVC = "video/hevc";
+    public static final String MIME_VP9 = "video/x-vnd.on2.vp9";
+    public static final String MIME_AV1 = "video/av01";
+
+    // What players were capped to before any probe, and still are until one lands
+    public static final QualityCaps DEFAULT_CEILING = QualityCaps.forSize(1920, 1080);
+
+    private static final String FORMAT_VERSION = "1";
+
+    public static final class Codec {
+        public final String mimeType;
+        public final String decoderName;
+        public final boolean hardware;
+        // Largest standard size decoded at a smooth frame rate, and the frame rate reachable at that size
+        public final int maxWidth;
+        public final int maxHeight;
+        public final int maxFrameRate;
+        public final boolean hdr;
+        // 0 when the platform does not report it
+        public final int maxInstances;
+
+        public Codec(String mimeType, String decoderName, boolean hardware, int maxWidth, int maxHeight,
+                     int maxFrameRate, boolean hdr, int maxInstances) {
+            this.mimeType = mimeType;
+            this.decoderName = decoderName;
+            this.hardware = hardware;
+            this.maxWidth = maxWidth;
+            this.maxHeight = maxHeight;
+            this.maxFrameRate = maxFrameRate;
+            this.hdr = hdr;
+            this.maxInstances = maxInstances;
+        }
+    }
+
+    private final String buildKey;
+    private final boolean hdrDisplay;
+    private final List<Codec> codecs;
+
+    public DecoderProfile(String buildKey, boolean hdrDisplay, List<Codec> codecs) {
+        this.buildKey = buildKey;
+        this.hdrDisplay = hdrDisplay;
+        this.codecs = Collections.unmodifiableList(new ArrayList<>(codecs));
+    }
+
+    public String getBuildKey() {
+        return buildKey;
+    }
+
+    public boolean isHdrDisplay() {
+        return hdrDisplay;
+    }
+
+    public List<Codec> getCodecs() {
+        return codecs;
+    }
+
+    public Codec get(String mimeType) {
+        for (Codec codec : codecs) {
+            if (codec.mimeType.equals(mimeType)) {
+                return codec;
+            }
+        }
+        return null;
+    }
+
+    // Every stream is offered in AVC, so its decoder bounds what the track selector may pick
+    public QualityCaps getCeiling() {
+        Codec avc = get(MIME_AVC);
+        return avc != null ? QualityCaps.forSize(avc.maxWidth, avc.maxHeight) : DEFAULT_CEILING;
+    }
+
+    public int getMaxFrameRate() {
+        Codec avc = get(MIME_AVC);
+        return avc != null && avc.maxFrameRate > 0 ? avc.maxFrameRate : Integer.MAX_VALUE;
+    }
+
+    // The platform's instance count is an upper bound, not a promise, so it only ever lowers the fallback
+    public int getMaxDecoders(int fallback) {
+        Codec avc = get(MIME_AVC);
+        return avc != null && avc.maxInstances > 0 ? Math.min(fallback, avc.maxInstances) : fallback;
+    }
+
+    public String serialize() {
+        StringBuilder out = new StringBuilder();
+        out.append(FORMAT_VERSION).append('\t').append(buildKey).append('\t').append(hdrDisplay).append('\n');
+        for (Codec codec : codecs) {
+            out.append(codec.mimeType).append('\t')
+                .append(codec.decoderName).append('\t')
+                .append(codec.hardware).append('\t')
+                .append(codec.maxWidth).append('\t')
+                .append(codec.maxHeight).append('\t')
+                .append(codec.maxFrameRate).append('\t')
+                .append(codec.hdr).append('\t')
+                .append(codec.maxInstances).append('\n');
+        }
+        return out.toString();
+    }
+
+    // Returns null when the text is damaged, from another format version or from another build
+    public static DecoderProfile parse(String text, String buildKey) {
+        String[] lines = text.split("\n");
+        String[] header = lines[0].split("\t", -1);
+        if (header.length != 3 || !FORMAT_VERSION.equals(header[0]) || !header[1].equals(buildKey)) {
+            return null;
+        }
+        List<Codec> codecs = new ArrayList<>();
+        try {
+            for (int i = 1; i < lines.length; i++) {
+                if (lines[i].isEmpty()) {
+                    continue;
+                }
+                String[] fields = lines[i].split("\t", -1);
+                if (fields.length != 8) {
+                    return null;
+                }
+                codecs.add(new Codec(
+                    fields[0],
+                    fields[1],
+                    Boolean.parseBoolean(fields[2]),
+                    Integer.parseInt(fields[3]),
+                    Integer.parseInt(fields[4]),
+                    Integer.parseInt(fields[5]),
+                    Boolean.parseBoolean(fields[6]),
+                    Integer.parseInt(fields[7])));
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        return new DecoderProfile(buildKey, Boolean.parseBoolean(header[2]), codecs);
+    }
+}
@@ -0,0 +1,55 @@
+package com.brightcoveplayer;
+
+public class EventCoalescer {
+    public static final long DEFAULT_PROGRESS_INTERVAL_MS = 250;
+
+    private static final int UNKNOWN = -1;
+
+    private int lastBuffering = UNKNOWN;
+    private long lastQualityKey = Long.MIN_VALUE;
+    private long progressIntervalMs = DEFAULT_PROGRESS_INTERVAL_MS;
+    private long lastProgressAtMs = Long.MIN_VALUE;
+    private long lastProgressPositionMs = UNKNOWN;
+
+    public boolean shouldEmitBuffering(boolean buffering) {
+        int state = buffering ? 1 : 0;
+        if (state == lastBuffering) {
+            return false;
+        }
+        lastBuffering = state;
+        return true;
+    }
+
+    public boolean shouldEmitQuality(int width, int height, int bitrate) {
+        long key = ((long) bitrate << 32) | ((long) (height & 0xFFFF) << 16) | (width & 0xFFFF);
+        if (key == lastQualityKey) {
+            return false;
+        }
+        lastQualityKey = key;
+        return true;
+    }
+
+    // An interval of 0 or less turns progress events off
+    public boolean shouldEmitProgress(long positionMs, long nowMs) {
+        if (progressIntervalMs <= 0 || positionMs == lastProgressPositionMs) {
+            return false;
+        }
+        if (lastProgressAtMs != Long.MIN_VALUE && nowMs - lastProgressAtMs < progressIntervalMs) {
+            return false;
+        }
+        lastProgressAtMs = nowMs;
+        lastProgressPositionMs = positionMs;
+        return true;
+    }
+
+    public void setProgressInterval(long intervalMs) {
+        this.progressIntervalMs = intervalMs;
+    }
+
+    public void reset() {
+        lastBuffering = UNKNOWN;
+        lastQualityKey = Long.MIN_VALUE;
+        lastProgressAtMs = Long.MIN_VALUE;
+        lastProgressPositionMs = UNKNOWN;
+    }
+}
@@ -0,0 +1,120 @@
+package com.brightcoveplayer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+// Idle objects grouped by the key they were built for, most recently used first. Every object handed out is
+// recorded with its owner, so one object is never out to two owners, or idle while an owner still holds it.
+// Not thread safe.
+public final class KeyedPool<T> {
+    public interface Factory<T> {
+        T create(String key);
+    }
+
+    private static final class Entry<T> {
+        final String key;
+        final T item;
+
+        Entry(String key, T item) {
+            this.key = key;
+            this.item = item;
+        }
+    }
+
+    private static final class Lease {
+        final String key;
+        final Object owner;
+
+        Lease(String key, Object owner) {
+            this.key = key;
+            this.owner = owner;
+        }
+    }
+
+    private final int maxIdle;
+    private final ArrayDeque<Entry<T>> idle = new ArrayDeque<>();
+    private final Map<T, Lease> inUse = new IdentityHashMap<>();
+    private long hits;
+    private long misses;
+
+    public KeyedPool(int maxIdle) {
+        this.maxIdle = Math.max(0, maxIdle);
+    }
+
+    public T acquire(String key, Object owner, Factory<T> factory) {
+        T item = null;
+        Iterator<Entry<T>> iterator = idle.iterator();
+        while (iterator.hasNext()) {
+            Entry<T> entry = iterator.next();
+            if (entry.key.equals(key)) {
+                iterator.remove();
+                item = entry.item;
+                break;
+            }
+        }
+        if (item != null) {
+            hits++;
+        } else {
+            misses++;
+            item = factory.create(key);
+        }
+        inUse.put(item, new Lease(key, owner));
+        return item;
+    }
+
+    // Returns what the caller must dispose of: the item itself when nothing is kept idle, the least
+    // recently used idle item when the pool is full, otherwise null. Releases by anyone but the
+    // current owner are ignored, so a stale double release cannot queue the item twice.
+    public T release(T item, Object owner) {
+        Lease lease = inUse.get(item);
+        if (lease == null || lease.owner != owner) {
+            return null;
+        }
+        inUse.remove(item);
+        if (maxIdle == 0) {
+            return item;
+        }
+        T evicted = idle.size() >= maxIdle ? idle.pollLast().item : null;
+        idle.offerFirst(new Entry<>(lease.key, item));
+        return evicted;
+    }
+
+    public Object getOwner(T item) {
+        Lease lease = inUse.get(item);
+        return lease != null ? lease.owner : null;
+    }
+
+    // Empties the idle list and hands its items back for disposal; items in use stay with their owners
+    public List<T> drainIdle() {
+        List<T> drained = new ArrayList<>(idle.size());
+        Entry<T> entry;
+        while ((entry = idle.pollFirst()) != null) {
+            drained.add(entry.item);
+        }
+        return drained;
+    }
+
+    public int getMaxIdle() {
+        return maxIdle;
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public int getInUseCount() {
+        return inUse.size();
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+}
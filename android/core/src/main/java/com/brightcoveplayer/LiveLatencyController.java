@@ -0,0 +1,43 @@
+package com.brightcoveplayer;
+
+public class LiveLatencyController {
+    public static final long DEFAULT_TARGET_OFFSET_MS = 3000;
+    public static final float DEFAULT_MIN_PLAYBACK_SPEED = 0.95f;
+    public static final float DEFAULT_MAX_PLAYBACK_SPEED = 1.05f;
+    // Falling further than this behind the target is cheaper to fix with a seek than by speeding up
+    public static final long DEFAULT_MAX_DRIFT_MS = 15000;
+
+    private static final long TOLERANCE_MS = 300;
+    // Speed change per second of offset error, same proportional gain ExoPlayer uses
+    private static final float PROPORTIONAL_GAIN = 0.1f;
+
+    private final long targetOffsetMs;
+    private final float minPlaybackSpeed;
+    private final float maxPlaybackSpeed;
+    private final long maxDriftMs;
+
+    public LiveLatencyController(long targetOffsetMs, float minPlaybackSpeed, float maxPlaybackSpeed,
+                                 long maxDriftMs) {
+        this.targetOffsetMs = Math.max(0, targetOffsetMs);
+        this.minPlaybackSpeed = Math.min(minPlaybackSpeed, 1f);
+        this.maxPlaybackSpeed = Math.max(maxPlaybackSpeed, 1f);
+        this.maxDriftMs = maxDriftMs;
+    }
+
+    public long getTargetOffsetMs() {
+        return targetOffsetMs;
+    }
+
+    public float computePlaybackSpeed(long currentOffsetMs) {
+        long errorMs = currentOffsetMs - targetOffsetMs;
+        if (Math.abs(errorMs) <= TOLERANCE_MS) {
+            return 1f;
+        }
+        float speed = 1f + PROPORTIONAL_GAIN * errorMs / 1000f;
+        return Math.max(minPlaybackSpeed, Math.min(maxPlaybackSpeed, speed));
+    }
+
+    public boolean shouldSeekToLiveEdge(long currentOffsetMs) {
+        return maxDriftMs > 0 && currentOffsetMs - targetOffsetMs > maxDriftMs;
+    }
+}
@@ -0,0 +1,58 @@
+package com.brightcoveplayer;
+
+import java.util.Arrays;
+
+// Startup stages of the latest load as offsets from when it was first asked for, -1 until reached.
+// Only touched from the main thread.
+public final class LoadTimeline {
+    public static final int STAGE_PROPS_COLLECTED = 0;
+    public static final int STAGE_PLAYER_READY = 1;
+    public static final int STAGE_METADATA_RESOLVED = 2;
+    public static final int STAGE_SOURCE_ADDED = 3;
+    public static final int STAGE_FIRST_FRAME = 4;
+    public static final int STAGE_COUNT = 5;
+
+    private static final String[] STAGE_NAMES = {
+        "propsCollected", "playerReady", "metadataResolved", "sourceAdded", "firstFrame"
+    };
+
+    private final long[] offsetsMs = new long[STAGE_COUNT];
+    private long startMs = -1;
+    private int supersededCount;
+
+    public LoadTimeline() {
+        Arrays.fill(offsetsMs, -1);
+    }
+
+    // A load still short of its first frame counts as superseded
+    public void start(long requestedAtMs) {
+        if (startMs >= 0 && offsetsMs[STAGE_FIRST_FRAME] < 0) {
+            supersededCount++;
+        }
+        startMs = requestedAtMs;
+        Arrays.fill(offsetsMs, -1);
+    }
+
+    // Only the first time each stage is reached counts
+    public void mark(int stage, long nowMs) {
+        if (startMs >= 0 && offsetsMs[stage] < 0) {
+            offsetsMs[stage] = Math.max(0, nowMs - startMs);
+        }
+    }
+
+    public boolean isStarted() {
+        return startMs >= 0;
+    }
+
+    public long getOffsetMs(int stage) {
+        return offsetsMs[stage];
+    }
+
+    public int getSupersededCount() {
+        return supersededCount;
+    }
+
+    public static String getStageName(int stage) {
+        return STAGE_NAMES[stage];
+    }
+}
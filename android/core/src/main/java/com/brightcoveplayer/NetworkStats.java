@@ -0,0 +1,117 @@
+package com.brightcoveplayer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Request timings per host. Recorded from network threads when each call ends, read rarely.
+public final class NetworkStats {
+    public static final class HostStats {
+        public final String host;
+        public int requests;
+        public int failures;
+        public int connectionsOpened;
+        public int connectionsReused;
+        public int http2Requests;
+        public long dnsMs;
+        public long connectMs;
+        public long tlsMs;
+        public long timeToFirstByteMs;
+        public long totalMs;
+        public long bytesReceived;
+
+        HostStats(String host) {
+            this.host = host;
+        }
+
+        HostStats copy() {
+            HostStats copy = new HostStats(host);
+            copy.requests = requests;
+            copy.failures = failures;
+            copy.connectionsOpened = connectionsOpened;
+            copy.connectionsReused = connectionsReused;
+            copy.http2Requests = http2Requests;
+            copy.dnsMs = dnsMs;
+            copy.connectMs = connectMs;
+            copy.tlsMs = tlsMs;
+            copy.timeToFirstByteMs = timeToFirstByteMs;
+            copy.totalMs = totalMs;
+            copy.bytesReceived = bytesReceived;
+            return copy;
+        }
+    }
+
+    // One finished call; phases that did not run are -1
+    public static final class Timing {
+        public long dnsMs = -1;
+        public long connectMs = -1;
+        public long tlsMs = -1;
+        public long timeToFirstByteMs = -1;
+        public long totalMs = -1;
+        public long bytesReceived;
+        public boolean connectionReused;
+        public boolean http2;
+        public boolean failed;
+    }
+
+    private final Map<String, HostStats> hosts = new LinkedHashMap<>();
+    private long dnsCacheHits;
+    private long dnsCacheMisses;
+
+    public synchronized void record(String host, Timing timing) {
+        HostStats stats = hosts.get(host);
+        if (stats == null) {
+            stats = new HostStats(host);
+            hosts.put(host, stats);
+        }
+        stats.requests++;
+        if (timing.failed) {
+            stats.failures++;
+        }
+        if (timing.connectionReused) {
+            stats.connectionsReused++;
+        } else {
+            stats.connectionsOpened++;
+        }
+        if (timing.http2) {
+            stats.http2Requests++;
+        }
+        stats.dnsMs += Math.max(0, timing.dnsMs);
+        stats.connectMs += Math.max(0, timing.connectMs);
+        stats.tlsMs += Math.max(0, timing.tlsMs);
+        stats.timeToFirstByteMs += Math.max(0, timing.timeToFirstByteMs);
+        stats.totalMs += Math.max(0, timing.totalMs);
+        stats.bytesReceived += timing.bytesReceived;
+    }
+
+    public synchronized void recordDnsLookup(boolean cached) {
+        if (cached) {
+            dnsCacheHits++;
+        } else {
+            dnsCacheMisses++;
+        }
+    }
+
+    public synchronized List<HostStats> getHosts() {
+        List<HostStats> copies = new ArrayList<>(hosts.size());
+        for (HostStats stats : hosts.values()) {
+            copies.add(stats.copy());
+        }
+        return copies;
+    }
+
+    public synchronized long getDnsCacheHits() {
+        return dnsCacheHits;
+    }
+
+    public synchronized long getDnsCacheMisses() {
+        return dnsCacheMisses;
+    }
+
+    public synchronized void reset() {
+        hosts.clear();
+        dnsCacheHits = 0;
+        dnsCacheMisses = 0;
+    }
+}
@@ -0,0 +1,82 @@
+package com.brightcoveplayer;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Latest playback state of one view. A single writer publishes under a sequence counter (odd while a
+// write is in progress) and any thread reads a consistent copy without locks or a thread hop.
+public final class PlaybackStateBuffer {
+    private static final int POSITION = 0;
+    private static final int DURATION = 1;
+    private static final int BUFFERED_POSITION = 2;
+    private static final int STATE = 3;
+    private static final int PLAYING = 4;
+    private static final int SPEED = 5;
+    private static final int BITRATE = 6;
+    private static final int TIMESTAMP = 7;
+    private static final int SLOT_COUNT = 8;
+
+    public static final class Snapshot {
+        public long positionMs;
+        public long durationMs;
+        public long bufferedPositionMs;
+        public int state;
+        public boolean playing;
+        public float speed;
+        public int bitrate;
+        public long timestampMs;
+
+        // The position advances at the playback speed between publishes
+        public long positionAt(long nowMs) {
+            if (!playing) {
+                return positionMs;
+            }
+            long position = positionMs + (long) ((nowMs - timestampMs) * speed);
+            return durationMs > 0 ? Math.min(position, durationMs) : position;
+        }
+    }
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLongArray slots = new AtomicLongArray(SLOT_COUNT);
+
+    // Single writer only
+    public void publish(long positionMs, long durationMs, long bufferedPositionMs, int state, boolean playing,
+                        float speed, int bitrate, long timestampMs) {
+        sequence.incrementAndGet();
+        slots.set(POSITION, positionMs);
+        slots.set(DURATION, durationMs);
+        slots.set(BUFFERED_POSITION, bufferedPositionMs);
+        slots.set(STATE, state);
+        slots.set(PLAYING, playing ? 1 : 0);
+        slots.set(SPEED, Float.floatToIntBits(speed));
+        slots.set(BITRATE, bitrate);
+        slots.set(TIMESTAMP, timestampMs);
+        sequence.incrementAndGet();
+    }
+
+    public boolean hasState() {
+        return sequence.get() > 0;
+    }
+
+    // Retries while a publish overlaps the read, which only ever spans a handful of stores
+    public void read(Snapshot out) {
+        while (true) {
+            long before = sequence.get();
+            if ((before & 1) != 0) {
+                Thread.yield();
+                continue;
+            }
+            out.positionMs = slots.get(POSITION);
+            out.durationMs = slots.get(DURATION);
+            out.bufferedPositionMs = slots.get(BUFFERED_POSITION);
+            out.state = (int) slots.get(STATE);
+            out.playing = slots.get(PLAYING) != 0;
+            out.speed = Float.intBitsToFloat((int) slots.get(SPEED));
+            out.bitrate = (int) slots.get(BITRATE);
+            out.timestampMs = slots.get(TIMESTAMP);
+            if (sequence.get() == before) {
+                return;
+            }
+        }
+    }
+}
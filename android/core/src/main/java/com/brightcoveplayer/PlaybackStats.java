@@ -0,0 +1,164 @@
+package com.brightcoveplayer;
+
+import java.util.Arrays;
+
+// Per-session QoE counters. Only touched from the player's application looper, so plain fields are enough
+// and updates never lock or allocate (apart from growing the rendition table for a new bitrate).
+public class PlaybackStats {
+    private long sessionStartMs = -1;
+    private long timeToFirstFrameMs = -1;
+    private int stallCount;
+    private long stallDurationMs;
+    private long stallStartMs = -1;
+    private boolean playing;
+    private long playingSinceMs = -1;
+    private long playTimeMs;
+    private int currentBitrate = -1;
+    private int switchCount;
+    private int[] renditionBitrates = new int[8];
+    private long[] renditionTimesMs = new long[8];
+    private int renditionCount;
+    private long droppedFrames;
+    private long bandwidthEstimate = -1;
+
+    public void startSession(long nowMs) {
+        sessionStartMs = nowMs;
+        timeToFirstFrameMs = -1;
+        stallCount = 0;
+        stallDurationMs = 0;
+        stallStartMs = -1;
+        playing = false;
+        playingSinceMs = -1;
+        playTimeMs = 0;
+        currentBitrate = -1;
+        switchCount = 0;
+        renditionCount = 0;
+        droppedFrames = 0;
+        bandwidthEstimate = -1;
+    }
+
+    public boolean isSessionActive() {
+        return sessionStartMs >= 0;
+    }
+
+    public void onFirstFrame(long nowMs) {
+        if (timeToFirstFrameMs < 0 && sessionStartMs >= 0) {
+            timeToFirstFrameMs = nowMs - sessionStartMs;
+        }
+    }
+
+    // Buffering before the first frame is startup time, not a stall
+    public void onStallStart(long nowMs) {
+        if (timeToFirstFrameMs >= 0 && stallStartMs < 0) {
+            stallStartMs = nowMs;
+            stallCount++;
+        }
+    }
+
+    public void onStallEnd(long nowMs) {
+        if (stallStartMs >= 0) {
+            stallDurationMs += nowMs - stallStartMs;
+            stallStartMs = -1;
+        }
+    }
+
+    public void onPlayingChanged(boolean isPlaying, long nowMs) {
+        update(nowMs);
+        playing = isPlaying;
+        playingSinceMs = isPlaying ? nowMs : -1;
+    }
+
+    public void onVideoBitrateChanged(int bitrate, long nowMs) {
+        update(nowMs);
+        if (currentBitrate >= 0 && bitrate != currentBitrate) {
+            switchCount++;
+        }
+        currentBitrate = bitrate;
+    }
+
+    public void onDroppedFrames(int count) {
+        droppedFrames += count;
+    }
+
+    public void onBandwidthEstimate(long bitsPerSecond) {
+        bandwidthEstimate = bitsPerSecond;
+    }
+
+    // Folds the time played since the last update into the totals
+    public void update(long nowMs) {
+        if (playing && playingSinceMs >= 0) {
+            long elapsed = nowMs - playingSinceMs;
+            playTimeMs += elapsed;
+            if (currentBitrate >= 0) {
+                addRenditionTime(currentBitrate, elapsed);
+            }
+            playingSinceMs = nowMs;
+        }
+    }
+
+    public long getTimeToFirstFrameMs() {
+        return timeToFirstFrameMs;
+    }
+
+    public int getStallCount() {
+        return stallCount;
+    }
+
+    public long getStallDurationMs(long nowMs) {
+        return stallStartMs >= 0 ? stallDurationMs + nowMs - stallStartMs : stallDurationMs;
+    }
+
+    public long getPlayTimeMs() {
+        return playTimeMs;
+    }
+
+    public double getRebufferRatio(long nowMs) {
+        long stalled = getStallDurationMs(nowMs);
+        long total = playTimeMs + stalled;
+        return total > 0 ? (double) stalled / total : 0;
+    }
+
+    public int getCurrentBitrate() {
+        return currentBitrate;
+    }
+
+    public int getSwitchCount() {
+        return switchCount;
+    }
+
+    public int getRenditionCount() {
+        return renditionCount;
+    }
+
+    public int getRenditionBitrate(int index) {
+        return renditionBitrates[index];
+    }
+
+    public long getRenditionTimeMs(int index) {
+        return renditionTimesMs[index];
+    }
+
+    public long getDroppedFrames() {
+        return droppedFrames;
+    }
+
+    public long getBandwidthEstimate() {
+        return bandwidthEstimate;
+    }
+
+    private void addRenditionTime(int bitrate, long elapsedMs) {
+        for (int i = 0; i < renditionCount; i++) {
+            if (renditionBitrates[i] == bitrate) {
+                renditionTimesMs[i] += elapsedMs;
+                return;
+            }
+        }
+        if (renditionCount == renditionBitrates.length) {
+            renditionBitrates = Arrays.copyOf(renditionBitrates, renditionCount * 2);
+            renditionTimesMs = Arrays.copyOf(renditionTimesMs, renditionCount * 2);
+        }
+        renditionBitrates[renditionCount] = bitrate;
+        renditionTimesMs[renditionCount] = elapsedMs;
+        renditionCount++;
+    }
+}
@@ -0,0 +1,61 @@
+package com.brightcoveplayer;
+
+public final class QualityCaps {
+    public final int maxWidth;
+    public final int maxHeight;
+    public final int maxBitrate;
+
+    private static final QualityCaps CAPS_1080P = new QualityCaps(1920, 1080, 8000000);
+    private static final QualityCaps CAPS_720P = new QualityCaps(1280, 720, 4000000);
+    private static final QualityCaps CAPS_480P = new QualityCaps(854, 480, 2000000);
+    private static final QualityCaps CAPS_360P = new QualityCaps(640, 360, 1000000);
+    // Largest first
+    private static final QualityCaps[] LADDER = {CAPS_1080P, CAPS_720P, CAPS_480P, CAPS_360P};
+
+    QualityCaps(int maxWidth, int maxHeight, int maxBitrate) {
+        this.maxWidth = maxWidth;
+        this.maxHeight = maxHeight;
+        this.maxBitrate = maxBitrate;
+    }
+
+    // Returns null for "auto" and unknown labels, which leave the track selector unconstrained
+    public static QualityCaps forQuality(String quality) {
+        if (quality == null) {
+            return null;
+        }
+        switch (quality) {
+            case "1080p":
+                return CAPS_1080P;
+            case "720p":
+                return CAPS_720P;
+            case "480p":
+                return CAPS_480P;
+            case "360p":
+                return CAPS_360P;
+            default:
+                return null;
+        }
+    }
+
+    // The largest rung that fits within the size, or the smallest rung when none does
+    public static QualityCaps forSize(int width, int height) {
+        for (QualityCaps caps : LADDER) {
+            if (caps.maxWidth <= width && caps.maxHeight <= height) {
+                return caps;
+            }
+        }
+        return CAPS_360P;
+    }
+
+    // Each limit is the tighter of the two, so a cap that is narrower but taller still bounds the width
+    public QualityCaps min(QualityCaps other) {
+        if (other.maxWidth >= maxWidth && other.maxHeight >= maxHeight && other.maxBitrate >= maxBitrate) {
+            return this;
+        }
+        if (other.maxWidth <= maxWidth && other.maxHeight <= maxHeight && other.maxBitrate <= maxBitrate) {
+            return other;
+        }
+        return new QualityCaps(Math.min(maxWidth, other.maxWidth), Math.min(maxHeight, other.maxHeight),
+            Math.min(maxBitrate, other.maxBitrate));
+    }
+}
@@ -0,0 +1,17 @@
+package com.brightcoveplayer;
+
+// Decides which video rendition to cap playback at from bandwidth and buffer measurements
+public interface QualityPolicy {
+    void setLadder(int[] bitrates);
+
+    // Returns true when the selected rendition changed
+    boolean update(long estimateBps, long bufferedMs);
+
+    int getSelectedBitrate();
+
+    int getPreviousBitrate();
+
+    String getReason();
+
+    void reset();
+}
@@ -0,0 +1,69 @@
+package com.brightcoveplayer;
+
+// Turns a stream of drag positions into at most one seek per interval, always ending on the latest position
+public class ScrubController {
+    public static final long DEFAULT_SEEK_INTERVAL_MS = 150;
+
+    private static final long NONE = -1;
+
+    private final long seekIntervalMs;
+    private boolean scrubbing;
+    private long pendingPositionMs = NONE;
+    private long lastSeekPositionMs = NONE;
+    private long lastSeekAtMs = Long.MIN_VALUE;
+
+    public ScrubController(long seekIntervalMs) {
+        this.seekIntervalMs = seekIntervalMs;
+    }
+
+    public void start() {
+        scrubbing = true;
+        pendingPositionMs = NONE;
+        lastSeekPositionMs = NONE;
+        lastSeekAtMs = Long.MIN_VALUE;
+    }
+
+    public boolean isScrubbing() {
+        return scrubbing;
+    }
+
+    // Returns the position to seek to now, or -1 when the seek has to wait for getDelayMs
+    public long onScrub(long positionMs, long nowMs) {
+        pendingPositionMs = positionMs;
+        return poll(nowMs);
+    }
+
+    public long poll(long nowMs) {
+        if (!scrubbing || pendingPositionMs == NONE) {
+            return NONE;
+        }
+        if (pendingPositionMs == lastSeekPositionMs) {
+            pendingPositionMs = NONE;
+            return NONE;
+        }
+        if (lastSeekAtMs != Long.MIN_VALUE && nowMs - lastSeekAtMs < seekIntervalMs) {
+            return NONE;
+        }
+        lastSeekAtMs = nowMs;
+        lastSeekPositionMs = pendingPositionMs;
+        pendingPositionMs = NONE;
+        return lastSeekPositionMs;
+    }
+
+    public boolean hasPendingSeek() {
+        return pendingPositionMs != NONE;
+    }
+
+    public long getDelayMs(long nowMs) {
+        if (lastSeekAtMs == Long.MIN_VALUE) {
+            return 0;
+        }
+        return Math.max(0, lastSeekAtMs + seekIntervalMs - nowMs);
+    }
+
+    // Drops any throttled seek; the caller does the final exact seek itself
+    public void finish() {
+        scrubbing = false;
+        pendingPositionMs = NONE;
+    }
+}
@@ -0,0 +1,55 @@
+package com.brightcoveplayer;
+
+public class ThroughputEstimator {
+    public static final int DEFAULT_WINDOW_SIZE = 8;
+    // Tiny loads are dominated by request latency and would drag the estimate down
+    private static final long MIN_SAMPLE_BYTES = 16 * 1024;
+
+    private final long[] sampleBytes;
+    private final long[] sampleDurationsMs;
+    private int count;
+    private int next;
+    private long windowBytes;
+    private long windowDurationMs;
+
+    public ThroughputEstimator(int windowSize) {
+        this.sampleBytes = new long[windowSize];
+        this.sampleDurationsMs = new long[windowSize];
+    }
+
+    public synchronized void addSample(long bytes, long durationMs) {
+        if (bytes < MIN_SAMPLE_BYTES || durationMs <= 0) {
+            return;
+        }
+        if (count == sampleBytes.length) {
+            windowBytes -= sampleBytes[next];
+            windowDurationMs -= sampleDurationsMs[next];
+        } else {
+            count++;
+        }
+        sampleBytes[next] = bytes;
+        sampleDurationsMs[next] = durationMs;
+        windowBytes += bytes;
+        windowDurationMs += durationMs;
+        next = (next + 1) % sampleBytes.length;
+    }
+
+    // Bits per second over the window, or -1 before the first usable sample
+    public synchronized long getEstimate() {
+        if (windowDurationMs <= 0) {
+            return -1;
+        }
+        return windowBytes * 8000 / windowDurationMs;
+    }
+
+    public synchronized int getSampleCount() {
+        return count;
+    }
+
+    public synchronized void reset() {
+        count = 0;
+        next = 0;
+        windowBytes = 0;
+        windowDurationMs = 0;
+    }
+}
@@ -0,0 +1,144 @@
+package com.brightcoveplayer;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+// Trick-play thumbnails from a WebVTT track whose cues point at images, optionally
+// a region of a sprite sheet ("sprite.jpg#xywh=0,0,160,90")
+public final class ThumbnailTrack {
+    public static final class Thumbnail {
+        public final String url;
+        public final int x;
+        public final int y;
+        public final int width;
+        public final int height;
+
+        Thumbnail(String url, int x, int y, int width, int height) {
+            this.url = url;
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+        }
+
+        public boolean isSpriteRegion() {
+            return width > 0 && height > 0;
+        }
+
+        // Unique per image region, used as the cache key
+        public String getKey() {
+            return isSpriteRegion() ? url + "#" + x + "," + y + "," + width + "," + height : url;
+        }
+    }
+
+    private final long[] startTimesMs;
+    private final long[] endTimesMs;
+    private final Thumbnail[] thumbnails;
+
+    private ThumbnailTrack(List<Long> starts, List<Long> ends, List<Thumbnail> thumbnails) {
+        int count = thumbnails.size();
+        this.startTimesMs = new long[count];
+        this.endTimesMs = new long[count];
+        for (int i = 0; i < count; i++) {
+            startTimesMs[i] = starts.get(i);
+            endTimesMs[i] = ends.get(i);
+        }
+        this.thumbnails = thumbnails.toArray(new Thumbnail[count]);
+    }
+
+    public int size() {
+        return thumbnails.length;
+    }
+
+    public Thumbnail get(int index) {
+        return thumbnails[index];
+    }
+
+    // Binary search over cue start times; -1 when no cue covers the position
+    public int indexOf(long positionMs) {
+        int low = 0;
+        int high = startTimesMs.length - 1;
+        int found = -1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (startTimesMs[mid] <= positionMs) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found >= 0 && positionMs < endTimesMs[found] ? found : -1;
+    }
+
+    // Cues are expected in start time order, as the WebVTT spec requires
+    public static ThumbnailTrack parse(String baseUrl, String webVtt) {
+        List<Long> starts = new ArrayList<>();
+        List<Long> ends = new ArrayList<>();
+        List<Thumbnail> thumbnails = new ArrayList<>();
+        URI base = baseUrl != null ? URI.create(baseUrl) : null;
+
+        String[] lines = webVtt.split("\r?\n");
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i];
+            int arrow = line.indexOf("-->");
+            if (arrow < 0 || i + 1 >= lines.length) {
+                continue;
+            }
+            long start = parseTimestamp(line.substring(0, arrow).trim());
+            String endPart = line.substring(arrow + 3).trim();
+            int settings = endPart.indexOf(' ');
+            long end = parseTimestamp(settings > 0 ? endPart.substring(0, settings) : endPart);
+            String payload = lines[++i].trim();
+            if (start < 0 || end < 0 || payload.isEmpty()) {
+                continue;
+            }
+            starts.add(start);
+            ends.add(end);
+            thumbnails.add(parsePayload(base, payload));
+        }
+        return new ThumbnailTrack(starts, ends, thumbnails);
+    }
+
+    private static Thumbnail parsePayload(URI base, String payload) {
+        String url = payload;
+        int x = 0;
+        int y = 0;
+        int width = 0;
+        int height = 0;
+        int fragment = payload.indexOf("#xywh=");
+        if (fragment >= 0) {
+            url = payload.substring(0, fragment);
+            String[] region = payload.substring(fragment + 6).split(",");
+            if (region.length == 4) {
+                x = Integer.parseInt(region[0].trim());
+                y = Integer.parseInt(region[1].trim());
+                width = Integer.parseInt(region[2].trim());
+                height = Integer.parseInt(region[3].trim());
+            }
+        }
+        if (base != null) {
+            url = base.resolve(url).toString();
+        }
+        return new Thumbnail(url, x, y, width, height);
+    }
+
+    // "hh:mm:ss.mmm" or "mm:ss.mmm"; -1 when malformed
+    static long parseTimestamp(String timestamp) {
+        String[] parts = timestamp.split(":");
+        if (parts.length < 2 || parts.length > 3) {
+            return -1;
+        }
+        try {
+            long hours = parts.length == 3 ? Long.parseLong(parts[0]) : 0;
+            long minutes = Long.parseLong(parts[parts.length - 2]);
+            String[] seconds = parts[parts.length - 1].split("\\.");
+            long wholeSeconds = Long.parseLong(seconds[0]);
+            long millis = seconds.length > 1 ? Long.parseLong(seconds[1]) : 0;
+            return ((hours * 60 + minutes) * 60 + wholeSeconds) * 1000 + millis;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.brightcoveplayer;
+
+public final class TimeFormatter {
+    // Enough for "m:ss" with any minute count a long can hold
+    public static final int MAX_LENGTH = 24;
+
+    private TimeFormatter() {
+    }
+
+    // Writes "m:ss" into out without allocating and returns the number of chars written
+    public static int format(long milliseconds, char[] out) {
+        long totalSeconds = Math.max(0, milliseconds) / 1000;
+        long minutes = totalSeconds / 60;
+        int seconds = (int) (totalSeconds % 60);
+
+        int length = 0;
+        if (minutes == 0) {
+            out[length++] = '0';
+        } else {
+            int start = length;
+            while (minutes > 0) {
+                out[length++] = (char) ('0' + (minutes % 10));
+                minutes /= 10;
+            }
+            for (int i = start, j = length - 1; i < j; i++, j--) {
+                char digit = out[i];
+                out[i] = out[j];
+                out[j] = digit;
+            }
+        }
+        out[length++] = ':';
+        out[length++] = (char) ('0' + seconds / 10);
+        out[length++] = (char) ('0' + seconds % 10);
+        return length;
+    }
+}
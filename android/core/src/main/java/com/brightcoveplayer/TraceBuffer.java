@@ -0,0 +1,111 @@
+package com.brightcoveplayer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Fixed-size ring of timestamped events that any thread records into without locks. Once full the oldest
+// events are overwritten. Each slot carries the sequence of the write that filled it (odd while the write
+// is in progress), so a reader skips slots that are being rewritten instead of returning torn events.
+public final class TraceBuffer {
+    public static final int DEFAULT_CAPACITY = 2048;
+    // Seven parallel arrays of this many slots come to about 40 MB
+    public static final int MAX_CAPACITY = 1 << 20;
+
+    public static final int TYPE_BEGIN = 0;
+    public static final int TYPE_END = 1;
+    public static final int TYPE_INSTANT = 2;
+
+    public static final class Event {
+        public final long timeNanos;
+        public final int type;
+        public final String name;
+        public final long value;
+        public final long threadId;
+
+        Event(long timeNanos, int type, String name, long value, long threadId) {
+            this.timeNanos = timeNanos;
+            this.type = type;
+            this.name = name;
+            this.value = value;
+            this.threadId = threadId;
+        }
+    }
+
+    private final int mask;
+    private final AtomicLong cursor = new AtomicLong();
+    private final AtomicLongArray sequences;
+    private final AtomicLongArray times;
+    private final AtomicIntegerArray types;
+    private final AtomicReferenceArray<String> names;
+    private final AtomicLongArray values;
+    private final AtomicLongArray threadIds;
+
+    // The capacity is rounded up to a power of two so a slot is picked with a mask, and capped at MAX_CAPACITY
+    public TraceBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.min(Math.max(2, capacity), MAX_CAPACITY) - 1) << 1;
+        this.mask = size - 1;
+        this.sequences = new AtomicLongArray(size);
+        this.times = new AtomicLongArray(size);
+        this.types = new AtomicIntegerArray(size);
+        this.names = new AtomicReferenceArray<>(size);
+        this.values = new AtomicLongArray(size);
+        this.threadIds = new AtomicLongArray(size);
+    }
+
+    public int getCapacity() {
+        return mask + 1;
+    }
+
+    // Names should be constants; the buffer keeps a reference, not a copy
+    public void record(int type, String name, long value, long timeNanos) {
+        long index = cursor.getAndIncrement();
+        int slot = (int) (index & mask);
+        sequences.set(slot, 2 * index + 1);
+        times.lazySet(slot, timeNanos);
+        types.lazySet(slot, type);
+        names.lazySet(slot, name);
+        values.lazySet(slot, value);
+        threadIds.lazySet(slot, Thread.currentThread().getId());
+        sequences.set(slot, 2 * index + 2);
+    }
+
+    public long getRecordedCount() {
+        return cursor.get();
+    }
+
+    // Oldest first. Events overwritten or mid-write while copying are left out; a writer descheduled
+    // for a whole lap of the ring can still leave one slot mixed with its successor's fields.
+    public List<Event> snapshot() {
+        long end = cursor.get();
+        long start = Math.max(0, end - getCapacity());
+        List<Event> events = new ArrayList<>((int) (end - start));
+        for (long index = start; index < end; index++) {
+            int slot = (int) (index & mask);
+            long expected = 2 * index + 2;
+            if (sequences.get(slot) != expected) {
+                continue;
+            }
+            Event event = new Event(times.get(slot), types.get(slot), names.get(slot), values.get(slot),
+                threadIds.get(slot));
+            if (sequences.get(slot) == expected) {
+                events.add(event);
+            }
+        }
+        return events;
+    }
+
+    public static String getTypeName(int type) {
+        switch (type) {
+            case TYPE_BEGIN:
+                return "begin";
+            case TYPE_END:
+                return "end";
+            default:
+                return "instant";
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.brightcoveplayer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public final class TrackSnapshot {
+    public static final TrackSnapshot EMPTY = new Builder().build();
+
+    public static final class Track {
+        public final int width;
+        public final int height;
+        public final int bitrate;
+        public final String language;
+        public final String label;
+
+        Track(int width, int height, int bitrate, String language, String label) {
+            this.width = width;
+            this.height = height;
+            this.bitrate = bitrate;
+            this.language = language;
+            this.label = label;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Track)) {
+                return false;
+            }
+            Track other = (Track) o;
+            return width == other.width
+                && height == other.height
+                && bitrate == other.bitrate
+                && equal(language, other.language)
+                && equal(label, other.label);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = width;
+            result = 31 * result + height;
+            result = 31 * result + bitrate;
+            result = 31 * result + (language != null ? language.hashCode() : 0);
+            result = 31 * result + (label != null ? label.hashCode() : 0);
+            return result;
+        }
+    }
+
+    private final List<Track> videoTracks;
+    private final List<Track> audioTracks;
+    private final List<Track> textTracks;
+    private final int selectedVideo;
+    private final int selectedAudio;
+    private final int selectedText;
+    private final int[] videoBitrates;
+
+    private TrackSnapshot(Builder builder) {
+        this.videoTracks = Collections.unmodifiableList(new ArrayList<>(builder.videoTracks));
+        this.audioTracks = Collections.unmodifiableList(new ArrayList<>(builder.audioTracks));
+        this.textTracks = Collections.unmodifiableList(new ArrayList<>(builder.textTracks));
+        this.selectedVideo = builder.selectedVideo;
+        this.selectedAudio = builder.selectedAudio;
+        this.selectedText = builder.selectedText;
+
+        int count = 0;
+        int[] bitrates = new int[videoTracks.size()];
+        for (Track track : videoTracks) {
+            if (track.bitrate > 0) {
+                bitrates[count++] = track.bitrate;
+            }
+        }
+        this.videoBitrates = count == bitrates.length ? bitrates : Arrays.copyOf(bitrates, count);
+    }
+
+    public List<Track> getVideoTracks() {
+        return videoTracks;
+    }
+
+    public List<Track> getAudioTracks() {
+        return audioTracks;
+    }
+
+    public List<Track> getTextTracks() {
+        return textTracks;
+    }
+
+    public Track getSelectedVideo() {
+        return selectedVideo >= 0 ? videoTracks.get(selectedVideo) : null;
+    }
+
+    public Track getSelectedAudio() {
+        return selectedAudio >= 0 ? audioTracks.get(selectedAudio) : null;
+    }
+
+    public Track getSelectedText() {
+        return selectedText >= 0 ? textTracks.get(selectedText) : null;
+    }
+
+    // Positive bitrates of the video ladder; callers must not modify the array
+    public int[] getVideoBitrates() {
+        return videoBitrates;
+    }
+
+    public boolean hasSameVideoTracks(TrackSnapshot other) {
+        return videoTracks.equals(other.videoTracks);
+    }
+
+    public boolean hasSameAudioTracks(TrackSnapshot other) {
+        return audioTracks.equals(other.audioTracks);
+    }
+
+    public boolean hasSameTextTracks(TrackSnapshot other) {
+        return textTracks.equals(other.textTracks);
+    }
+
+    public boolean hasSameSelection(TrackSnapshot other) {
+        return equal(getSelectedVideo(), other.getSelectedVideo())
+            && equal(getSelectedAudio(), other.getSelectedAudio())
+            && equal(getSelectedText(), other.getSelectedText());
+    }
+
+    private static boolean equal(Object a, Object b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
+    public static final class Builder {
+        private final List<Track> videoTracks = new ArrayList<>();
+        private final List<Track> audioTracks = new ArrayList<>();
+        private final List<Track> textTracks = new ArrayList<>();
+        private int selectedVideo = -1;
+        private int selectedAudio = -1;
+        private int selectedText = -1;
+
+        public Builder addVideoTrack(int width, int height, int bitrate, boolean selected) {
+            if (selected) {
+                selectedVideo = videoTracks.size();
+            }
+            videoTracks.add(new Track(width, height, bitrate, null, null));
+            return this;
+        }
+
+        public Builder addAudioTrack(int bitrate, String language, String label, boolean selected) {
+            if (selected) {
+                selectedAudio = audioTracks.size();
+            }
+            audioTracks.add(new Track(0, 0, bitrate, language, label));
+            return this;
+        }
+
+        public Builder addTextTrack(String language, String label, boolean selected) {
+            if (selected) {
+                selectedText = textTracks.size();
+            }
+            textTracks.add(new Track(0, 0, 0, language, label));
+            return this;
+        }
+
+        public TrackSnapshot build() {
+            return new TrackSnapshot(this);
+        }
+    }
+}
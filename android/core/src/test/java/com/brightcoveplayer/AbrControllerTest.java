@@ -0,0 +1,109 @@
+package com.brightcoveplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class AbrControllerTest {
+    private static final long HEALTHY_BUFFER_MS = AbrController.HIGH_BUFFER_MS;
+    private static final long STEADY_BUFFER_MS = AbrController.LOW_BUFFER_MS;
+
+    private AbrController controller;
+
+    @Before
+    public void setUp() {
+        controller = new AbrController();
+        controller.setLadder(new int[] {3_000_000, 500_000, 1_000_000, 2_000_000});
+    }
+
+    @Test
+    public void firstUpdatePicksHighestRungUnderTheBandwidthFraction() {
+        // 0.75 of 2.8 Mbps is 2.1 Mbps
+        assertTrue(controller.update(2_800_000, STEADY_BUFFER_MS));
+        assertEquals(2_000_000, controller.getSelectedBitrate());
+        assertEquals(-1, controller.getPreviousBitrate());
+        assertEquals(AbrController.REASON_INITIAL, controller.getReason());
+    }
+
+    @Test
+    public void estimateBelowTheLowestRungStillPicksIt() {
+        assertTrue(controller.update(100_000, STEADY_BUFFER_MS));
+        assertEquals(500_000, controller.getSelectedBitrate());
+    }
+
+    @Test
+    public void ignoresUpdatesWithoutAnEstimateOrLadder() {
+        assertFalse(controller.update(0, HEALTHY_BUFFER_MS));
+        assertFalse(controller.update(-1, HEALTHY_BUFFER_MS));
+        assertEquals(-1, controller.getSelectedBitrate());
+
+        AbrController empty = new AbrController();
+        assertFalse(empty.update(5_000_000, HEALTHY_BUFFER_MS));
+    }
+
+    @Test
+    public void dropsStraightToTheTargetWhenBandwidthFalls() {
+        controller.update(10_000_000, HEALTHY_BUFFER_MS);
+        assertEquals(3_000_000, controller.getSelectedBitrate());
+
+        assertTrue(controller.update(1_000_000, HEALTHY_BUFFER_MS));
+        assertEquals(500_000, controller.getSelectedBitrate());
+        assertEquals(3_000_000, controller.getPreviousBitrate());
+        assertEquals(AbrController.REASON_DOWN, controller.getReason());
+    }
+
+    @Test
+    public void lowBufferUsesTheSmallerFraction() {
+        controller.update(4_000_000, HEALTHY_BUFFER_MS);
+        assertEquals(3_000_000, controller.getSelectedBitrate());
+
+        // Half of 4 Mbps only fits the 2 Mbps rung
+        assertTrue(controller.update(4_000_000, AbrController.LOW_BUFFER_MS - 1));
+        assertEquals(2_000_000, controller.getSelectedBitrate());
+        assertEquals(AbrController.REASON_LOW_BUFFER, controller.getReason());
+    }
+
+    @Test
+    public void climbsOneRungAtATimeOnlyWithAHealthyBuffer() {
+        controller.update(700_000, STEADY_BUFFER_MS);
+        assertEquals(500_000, controller.getSelectedBitrate());
+
+        assertFalse(controller.update(10_000_000, HEALTHY_BUFFER_MS - 1));
+        assertEquals(500_000, controller.getSelectedBitrate());
+
+        assertTrue(controller.update(10_000_000, HEALTHY_BUFFER_MS));
+        assertEquals(1_000_000, controller.getSelectedBitrate());
+        assertEquals(AbrController.REASON_UP, controller.getReason());
+        assertTrue(controller.update(10_000_000, HEALTHY_BUFFER_MS));
+        assertEquals(2_000_000, controller.getSelectedBitrate());
+    }
+
+    @Test
+    public void holdsWhenTheTargetMatchesTheSelection() {
+        controller.update(1_500_000, HEALTHY_BUFFER_MS);
+        assertEquals(1_000_000, controller.getSelectedBitrate());
+        assertFalse(controller.update(1_500_000, HEALTHY_BUFFER_MS));
+    }
+
+    @Test
+    public void newLadderKeepsTheClosestRungAtOrBelowTheSelection() {
+        controller.update(2_800_000, STEADY_BUFFER_MS);
+        controller.setLadder(new int[] {400_000, 1_500_000, 4_000_000});
+        assertEquals(1_500_000, controller.getSelectedBitrate());
+    }
+
+    @Test
+    public void resetForgetsTheSelection() {
+        controller.update(2_800_000, STEADY_BUFFER_MS);
+        controller.reset();
+        assertEquals(-1, controller.getSelectedBitrate());
+        assertEquals(-1, controller.getPreviousBitrate());
+        assertNull(controller.getReason());
+        assertTrue(controller.update(2_800_000, STEADY_BUFFER_MS));
+        assertEquals(AbrController.REASON_INITIAL, controller.getReason());
+    }
+}
@@ -0,0 +1,96 @@
+package com.brightcoveplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class BufferProfileTest {
+    private static final String[] PRESETS = {
+        BufferProfile.PRESET_DEFAULT,
+        BufferProfile.PRESET_FAST_START,
+        BufferProfile.PRESET_FEED,
+        BufferProfile.PRESET_LONG_FORM,
+        BufferProfile.PRESET_LOW_MEMORY,
+        BufferProfile.PRESET_LOW_LATENCY_LIVE,
+    };
+
+    @Test
+    public void everyPresetIsAValidLoadControl() {
+        for (String preset : PRESETS) {
+            BufferProfile profile = new BufferProfile.Builder(preset).build();
+            assertTrue(preset, profile.minBufferMs <= profile.maxBufferMs);
+            assertTrue(preset, profile.bufferForPlaybackMs <= profile.minBufferMs);
+            assertTrue(preset, profile.bufferForPlaybackAfterRebufferMs <= profile.minBufferMs);
+        }
+    }
+
+    @Test
+    public void presetsBuildDistinctPlayers() {
+        for (int i = 0; i < PRESETS.length; i++) {
+            for (int j = i + 1; j < PRESETS.length; j++) {
+                assertNotEquals(PRESETS[i] + " vs " + PRESETS[j],
+                    new BufferProfile.Builder(PRESETS[i]).build().getKey(),
+                    new BufferProfile.Builder(PRESETS[j]).build().getKey());
+            }
+        }
+    }
+
+    @Test
+    public void missingOrUnknownPresetFallsBackToTheDefault() {
+        assertEquals(BufferProfile.DEFAULT.getKey(), new BufferProfile.Builder(null).build().getKey());
+        assertEquals(BufferProfile.DEFAULT.getKey(), new BufferProfile.Builder("turbo").build().getKey());
+    }
+
+    @Test
+    public void equalSettingsShareAKeyHoweverTheyWereReached() {
+        BufferProfile tuned = new BufferProfile.Builder(BufferProfile.PRESET_DEFAULT)
+            .setBufferDurationsMs(5000, 15000, 750, 1500)
+            .build();
+        assertEquals(new BufferProfile.Builder(BufferProfile.PRESET_FEED).build().getKey(), tuned.getKey());
+
+        // Zero and negative byte targets both mean "size from the tracks"
+        BufferProfile zeroTarget = new BufferProfile.Builder(BufferProfile.PRESET_FEED).setTargetBufferBytes(0).build();
+        assertEquals(-1, zeroTarget.targetBufferBytes);
+        assertEquals(tuned.getKey(), zeroTarget.getKey());
+    }
+
+    @Test
+    public void inconsistentDurationsAreClampedInsteadOfRejected() {
+        BufferProfile profile = new BufferProfile.Builder(null)
+            .setBufferDurationsMs(10000, 5000, 20000, -1)
+            .setBackBufferMs(-30000)
+            .build();
+
+        assertEquals(5000, profile.maxBufferMs);
+        assertEquals(5000, profile.minBufferMs);
+        assertEquals(5000, profile.bufferForPlaybackMs);
+        assertEquals(0, profile.bufferForPlaybackAfterRebufferMs);
+        assertEquals(0, profile.backBufferMs);
+    }
+
+    @Test
+    public void lowMemoryTradesTimeForAByteCap() {
+        BufferProfile profile = new BufferProfile.Builder(BufferProfile.PRESET_LOW_MEMORY).build();
+        assertEquals(4 * 1024 * 1024, profile.targetBufferBytes);
+        assertFalse(profile.prioritizeTimeOverSize);
+    }
+
+    @Test
+    public void budgetEstimateFillsBothBuffersAtTheBitrate() {
+        // 50 s at 8 Mbps
+        assertEquals(50_000_000, BufferProfile.DEFAULT.estimateBufferBytes(8_000_000));
+        // 120 s ahead and 30 s behind at 1 Mbps
+        BufferProfile longForm = new BufferProfile.Builder(BufferProfile.PRESET_LONG_FORM).build();
+        assertEquals(18_750_000, longForm.estimateBufferBytes(1_000_000));
+    }
+
+    @Test
+    public void budgetEstimateIsTheByteTargetWhenThereIsOne() {
+        BufferProfile lowMemory = new BufferProfile.Builder(BufferProfile.PRESET_LOW_MEMORY).build();
+        assertEquals(lowMemory.targetBufferBytes, lowMemory.estimateBufferBytes(8_000_000));
+        assertEquals(lowMemory.targetBufferBytes, lowMemory.estimateBufferBytes(0));
+    }
+}
@@ -0,0 +1,72 @@
+package com.brightcoveplayer;
+
+import static org.junit.Assert.assertEquals;
+
+import java.nio.charset.Charset;
+import java.util.List;
+
+import org.junit.Test;
+
+public class CaptionParserTest {
+    private static final String WEB_VTT = "WEBVTT\r\n"
+        + "\r\n"
+        + "1\r\n"
+        + "00:00:01.000 --> 00:00:02.500 align:start position:10%\r\n"
+        + "<v Speaker>Hello</v> &amp; welcome\r\n"
+        + "second line\r\n"
+        + "\r\n"
+        + "01:02.000 --> 01:03.000\r\n"
+        + "<i>Short form</i> &lt;time&gt;\r\n"
+        + "\r\n"
+        + "00:00:05.000 --> 00:00:04.000\r\n"
+        + "Ends before it starts\r\n"
+        + "\r\n"
+        + "00:00:06.000 --> 00:00:07.000\r\n"
+        + "\r\n";
+
+    @Test
+    public void parsesWebVttCues() {
+        List<CaptionParser.ParsedCue> cues = CaptionParser.parseWebVtt(WEB_VTT);
+        assertEquals(2, cues.size());
+
+        assertEquals(1000, cues.get(0).startMs);
+        assertEquals(2500, cues.get(0).endMs);
+        assertEquals("Hello & welcome\nsecond line", cues.get(0).text);
+
+        assertEquals(62_000, cues.get(1).startMs);
+        assertEquals(63_000, cues.get(1).endMs);
+        assertEquals("Short form <time>", cues.get(1).text);
+    }
+
+    @Test
+    public void mimeTypePicksTheParser() throws Exception {
+        byte[] data = WEB_VTT.getBytes(Charset.forName("UTF-8"));
+        assertEquals(2, CaptionParser.parse(data, "text/vtt").size());
+        assertEquals(2, CaptionParser.parse(data, null).size());
+    }
+
+    @Test
+    public void parsesTtmlCues() throws Exception {
+        String ttml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+            + "<tt xmlns=\"http://www.w3.org/ns/ttml\"><body><div>\n"
+            + "  <p begin=\"00:00:01.000\" end=\"00:00:02.000\">One<br/>two</p>\n"
+            + "  <p begin=\"3s\" dur=\"1500ms\"><span>Three</span></p>\n"
+            + "  <p begin=\"00:00:05:15\" end=\"6s\">Four</p>\n"
+            + "</div></body></tt>";
+        List<CaptionParser.ParsedCue> cues = CaptionParser.parse(ttml.getBytes(Charset.forName("UTF-8")), null);
+        assertEquals(3, cues.size());
+        assertEquals("One\ntwo", cues.get(0).text);
+        assertEquals(3000, cues.get(1).startMs);
+        assertEquals(4500, cues.get(1).endMs);
+        assertEquals(5500, cues.get(2).startMs);
+    }
+
+    @Test
+    public void ttmlTimeFormats() {
+        assertEquals(1500, CaptionParser.parseTtmlTime("1.5s"));
+        assertEquals(1500, CaptionParser.parseTtmlTime("1500ms"));
+        assertEquals(3_723_000, CaptionParser.parseTtmlTime("01:02:03.000"));
+        assertEquals(-1, CaptionParser.parseTtmlTime(""));
+        assertEquals(-1, CaptionParser.parseTtmlTime("soon"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.brightcoveplayer;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class CueIndexTest {
+    private final int[] out = new int[8];
+
+    private static CueIndex<String> index() {
+        // Added out of order; "long" overlaps everything up to 10s
+        return new CueIndex.Builder<String>()
+            .add(4000, 6000, "c")
+            .add(0, 10_000, "long")
+            .add(1000, 2000, "a")
+            .add(2000, 3000, "b")
+            .build();
+    }
+
+    private String showing(CueIndex<String> cues, long positionMs) {
+        int count = cues.query(positionMs, out);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(',');
+            }
+            text.append(cues.get(out[i]));
+        }
+        return text.toString();
+    }
+
+    @Test
+    public void queryReturnsOverlappingCuesInStartOrder() {
+        CueIndex<String> cues = index();
+        assertEquals("long,a", showing(cues, 1500));
+        assertEquals("long,c", showing(cues, 4000));
+        assertEquals("long", showing(cues, 7000));
+    }
+
+    @Test
+    public void endTimesAreExclusive() {
+        CueIndex<String> cues = index();
+        assertEquals("long,b", showing(cues, 2000));
+        assertEquals("", showing(cues, 10_000));
+    }
+
+    @Test
+    public void nothingShowsBeforeTheFirstCue() {
+        CueIndex<String> cues = new CueIndex.Builder<String>().add(500, 900, "a").build();
+        assertEquals("", showing(cues, 0));
+        assertEquals(500, cues.nextChangeMs(0));
+    }
+
+    @Test
+    public void nextChangeIsTheEarliestStartOrEnd() {
+        CueIndex<String> cues = index();
+        assertEquals(1000, cues.nextChangeMs(0));
+        assertEquals(2000, cues.nextChangeMs(1000));
+        assertEquals(4000, cues.nextChangeMs(3000));
+        assertEquals(10_000, cues.nextChangeMs(6000));
+        assertEquals(Long.MAX_VALUE, cues.nextChangeMs(10_000));
+    }
+
+    @Test
+    public void queryStopsAtTheOutputLength() {
+        int[] single = new int[1];
+        assertEquals(1, index().query(1500, single));
+    }
+
+    @Test
+    public void emptyAndZeroLengthCuesAreDropped() {
+        CueIndex<String> cues = new CueIndex.Builder<String>().add(1000, 1000, "empty").build();
+        assertEquals(0, cues.size());
+        assertEquals(0, cues.query(1000, out));
+        assertEquals(Long.MAX_VALUE, cues.nextChangeMs(0));
+    }
+
+    @Test
+    public void cuesStartingTogetherKeepDocumentOrder() {
+        CueIndex<String> cues = new CueIndex.Builder<String>()
+            .add(0, 1000, "first")
+            .add(0, 2000, "second")
+            .build();
+        assertEquals("first,second", showing(cues, 500));
+    }
+}
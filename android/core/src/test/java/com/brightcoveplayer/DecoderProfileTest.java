@@ -0,0 +1,67 @@
+package com.brightcoveplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+public class DecoderProfileTest {
+    private static final String BUILD = "vendor/device/1:13/TQ3A/123:user/release-keys";
+
+    private static DecoderProfile profile() {
+        return new DecoderProfile(BUILD, true, Arrays.asList(
+            new DecoderProfile.Codec(DecoderProfile.MIME_AVC, "c2.vendor.avc.decoder", true, 1280, 720, 60, false, 4),
+            new DecoderProfile.Codec(DecoderProfile.MIME_HEVC, "c2.vendor.hevc.decoder", true, 3840, 2160, 30, true, 0)));
+    }
+
+    @Test
+    public void serializeRoundTrips() {
+        DecoderProfile parsed = DecoderProfile.parse(profile().serialize(), BUILD);
+        assertEquals(BUILD, parsed.getBuildKey());
+        assertTrue(parsed.isHdrDisplay());
+        assertEquals(2, parsed.getCodecs().size());
+        DecoderProfile.Codec hevc = parsed.get(DecoderProfile.MIME_HEVC);
+        assertEquals("c2.vendor.hevc.decoder", hevc.decoderName);
+        assertEquals(3840, hevc.maxWidth);
+        assertEquals(2160, hevc.maxHeight);
+        assertEquals(30, hevc.maxFrameRate);
+        assertTrue(hevc.hdr);
+        assertEquals(0, hevc.maxInstances);
+    }
+
+    @Test
+    public void parseRejectsOtherBuildsAndDamagedText() {
+        String text = profile().serialize();
+        assertNull(DecoderProfile.parse(text, "another/build"));
+        assertNull(DecoderProfile.parse("2" + text.substring(1), BUILD));
+        assertNull(DecoderProfile.parse(text.replace("1280", "wide"), BUILD));
+        assertNull(DecoderProfile.parse(text.substring(0, text.length() - 4), BUILD));
+        assertNull(DecoderProfile.parse("", BUILD));
+    }
+
+    @Test
+    public void avcDecoderBoundsTheCeiling() {
+        DecoderProfile profile = profile();
+        assertSame(QualityCaps.forQuality("720p"), profile.getCeiling());
+        assertEquals(60, profile.getMaxFrameRate());
+    }
+
+    @Test
+    public void withoutAnAvcDecoderTheDefaultsApply() {
+        DecoderProfile profile = new DecoderProfile(BUILD, false, Collections.<DecoderProfile.Codec>emptyList());
+        assertSame(DecoderProfile.DEFAULT_CEILING, profile.getCeiling());
+        assertEquals(Integer.MAX_VALUE, profile.getMaxFrameRate());
+        assertEquals(3, profile.getMaxDecoders(3));
+    }
+
+    @Test
+    public void instanceCountOnlyLowersTheFallback() {
+        assertEquals(2, profile().getMaxDecoders(2));
+        assertEquals(4, profile().getMaxDecoders(6));
+    }
+}
@@ -0,0 +1,61 @@
+package com.brightcoveplayer;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class EventCoalescerTest {
+    private final EventCoalescer coalescer = new EventCoalescer();
+
+    @Test
+    public void bufferingOnlyOnChange() {
+        assertTrue(coalescer.shouldEmitBuffering(false));
+        assertFalse(coalescer.shouldEmitBuffering(false));
+        assertTrue(coalescer.shouldEmitBuffering(true));
+        assertFalse(coalescer.shouldEmitBuffering(true));
+        assertTrue(coalescer.shouldEmitBuffering(false));
+    }
+
+    @Test
+    public void qualityOnlyOnChange() {
+        assertTrue(coalescer.shouldEmitQuality(1280, 720, 2_000_000));
+        assertFalse(coalescer.shouldEmitQuality(1280, 720, 2_000_000));
+        assertTrue(coalescer.shouldEmitQuality(1280, 720, 2_500_000));
+        assertTrue(coalescer.shouldEmitQuality(1920, 720, 2_500_000));
+        assertTrue(coalescer.shouldEmitQuality(1920, 1080, 2_500_000));
+    }
+
+    @Test
+    public void progressIsThrottledToTheInterval() {
+        long interval = EventCoalescer.DEFAULT_PROGRESS_INTERVAL_MS;
+        assertTrue(coalescer.shouldEmitProgress(0, 1000));
+        assertFalse(coalescer.shouldEmitProgress(100, 1000 + interval - 1));
+        assertTrue(coalescer.shouldEmitProgress(200, 1000 + interval));
+    }
+
+    @Test
+    public void progressSkipsAnUnchangedPosition() {
+        assertTrue(coalescer.shouldEmitProgress(5000, 0));
+        assertFalse(coalescer.shouldEmitProgress(5000, 10_000));
+        assertTrue(coalescer.shouldEmitProgress(5001, 10_000));
+    }
+
+    @Test
+    public void zeroIntervalTurnsProgressOff() {
+        coalescer.setProgressInterval(0);
+        assertFalse(coalescer.shouldEmitProgress(0, 0));
+        assertFalse(coalescer.shouldEmitProgress(1000, 10_000));
+    }
+
+    @Test
+    public void resetEmitsTheSameValuesAgain() {
+        coalescer.shouldEmitBuffering(true);
+        coalescer.shouldEmitQuality(640, 360, 800_000);
+        coalescer.shouldEmitProgress(3000, 100);
+        coalescer.reset();
+        assertTrue(coalescer.shouldEmitBuffering(true));
+        assertTrue(coalescer.shouldEmitQuality(640, 360, 800_000));
+        assertTrue(coalescer.shouldEmitProgress(3000, 101));
+    }
+}
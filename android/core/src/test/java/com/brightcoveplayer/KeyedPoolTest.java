@@ -0,0 +1,106 @@
+package com.brightcoveplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+public class KeyedPoolTest {
+    private static final String KEY = "default";
+
+    // Stands in for a player; views are plain objects
+    private static final class Player {
+        final String key;
+
+        Player(String key) {
+            this.key = key;
+        }
+    }
+
+    private final KeyedPool.Factory<Player> factory = Player::new;
+    private final Object firstView = new Object();
+    private final Object secondView = new Object();
+
+    @Test
+    public void twoViewsNeverHoldTheSamePlayer() {
+        KeyedPool<Player> pool = new KeyedPool<>(2);
+        Player first = pool.acquire(KEY, firstView, factory);
+        pool.release(first, firstView);
+
+        Player reused = pool.acquire(KEY, secondView, factory);
+        assertSame(first, reused);
+        assertSame(secondView, pool.getOwner(reused));
+
+        // The first view now has nothing, so its next player must be a different instance
+        Player fresh = pool.acquire(KEY, firstView, factory);
+        assertNotSame(reused, fresh);
+        assertEquals(2, pool.getInUseCount());
+        assertEquals(0, pool.getIdleCount());
+    }
+
+    @Test
+    public void staleReleaseCannotQueueAPlayerTwice() {
+        KeyedPool<Player> pool = new KeyedPool<>(2);
+        Player player = pool.acquire(KEY, firstView, factory);
+        pool.release(player, firstView);
+        Player reused = pool.acquire(KEY, secondView, factory);
+
+        // The first view releasing again must not hand the second view's player to anyone else
+        assertNull(pool.release(player, firstView));
+        assertEquals(0, pool.getIdleCount());
+        assertSame(secondView, pool.getOwner(reused));
+        assertNotSame(reused, pool.acquire(KEY, firstView, factory));
+    }
+
+    @Test
+    public void onlyPlayersBuiltForTheKeyAreReused() {
+        KeyedPool<Player> pool = new KeyedPool<>(2);
+        Player player = pool.acquire("lowLatency", firstView, factory);
+        pool.release(player, firstView);
+
+        Player other = pool.acquire(KEY, secondView, factory);
+        assertNotSame(player, other);
+        assertEquals(KEY, other.key);
+        assertEquals(0, pool.getHits());
+        assertEquals(2, pool.getMisses());
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test
+    public void fullPoolHandsBackTheLeastRecentlyUsed() {
+        KeyedPool<Player> pool = new KeyedPool<>(1);
+        Player first = pool.acquire(KEY, firstView, factory);
+        Player second = pool.acquire(KEY, secondView, factory);
+        assertNull(pool.release(first, firstView));
+        assertSame(first, pool.release(second, secondView));
+        assertSame(second, pool.acquire(KEY, firstView, factory));
+    }
+
+    @Test
+    public void zeroSizedPoolHandsEveryReleaseBack() {
+        KeyedPool<Player> pool = new KeyedPool<>(0);
+        Player player = pool.acquire(KEY, firstView, factory);
+        assertSame(player, pool.release(player, firstView));
+        assertNull(pool.getOwner(player));
+        assertEquals(0, pool.getIdleCount());
+    }
+
+    @Test
+    public void drainLeavesPlayersInUseAlone() {
+        KeyedPool<Player> pool = new KeyedPool<>(2);
+        Player idle = pool.acquire(KEY, firstView, factory);
+        Player held = pool.acquire(KEY, secondView, factory);
+        pool.release(idle, firstView);
+
+        List<Player> drained = pool.drainIdle();
+        assertEquals(1, drained.size());
+        assertSame(idle, drained.get(0));
+        assertSame(secondView, pool.getOwner(held));
+        assertTrue(pool.drainIdle().isEmpty());
+    }
+}
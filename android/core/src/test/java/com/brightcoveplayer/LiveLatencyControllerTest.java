@@ -0,0 +1,57 @@
+package com.brightcoveplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LiveLatencyControllerTest {
+    private static final float EPSILON = 1e-6f;
+
+    private final LiveLatencyController controller = new LiveLatencyController(
+        LiveLatencyController.DEFAULT_TARGET_OFFSET_MS,
+        LiveLatencyController.DEFAULT_MIN_PLAYBACK_SPEED,
+        LiveLatencyController.DEFAULT_MAX_PLAYBACK_SPEED,
+        LiveLatencyController.DEFAULT_MAX_DRIFT_MS);
+
+    @Test
+    public void speedFollowsTheOffsetError() {
+        // current offset -> expected speed, with the 3 s default target
+        Object[][] cases = {
+            {3000L, 1f},
+            {3300L, 1f},
+            {2700L, 1f},
+            {3400L, 1.04f},
+            {2600L, 0.96f},
+            {5000L, 1.05f},
+            {0L, 0.95f},
+        };
+        for (Object[] c : cases) {
+            long offsetMs = (Long) c[0];
+            assertEquals("offset " + offsetMs, (Float) c[1], controller.computePlaybackSpeed(offsetMs), EPSILON);
+        }
+    }
+
+    @Test
+    public void seeksOnlyOnceFurtherBehindThanTheDriftLimit() {
+        assertFalse(controller.shouldSeekToLiveEdge(18_000));
+        assertTrue(controller.shouldSeekToLiveEdge(18_001));
+        // Ahead of the target is never fixed with a seek
+        assertFalse(controller.shouldSeekToLiveEdge(0));
+    }
+
+    @Test
+    public void zeroDriftLimitNeverSeeks() {
+        LiveLatencyController noSeek = new LiveLatencyController(3000, 0.9f, 1.1f, 0);
+        assertFalse(noSeek.shouldSeekToLiveEdge(Long.MAX_VALUE / 2));
+    }
+
+    @Test
+    public void speedBoundsThatExcludeNormalSpeedAreWidenedToIt() {
+        LiveLatencyController fixed = new LiveLatencyController(-500, 1.2f, 0.8f, 0);
+        assertEquals(0, fixed.getTargetOffsetMs());
+        assertEquals(1f, fixed.computePlaybackSpeed(10_000), EPSILON);
+        assertEquals(1f, fixed.computePlaybackSpeed(-10_000), EPSILON);
+    }
+}
@@ -0,0 +1,63 @@
+package com.brightcoveplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LoadTimelineTest {
+    private final LoadTimeline timeline = new LoadTimeline();
+
+    @Test
+    public void marksAreIgnoredBeforeStart() {
+        timeline.mark(LoadTimeline.STAGE_PLAYER_READY, 100);
+        assertFalse(timeline.isStarted());
+        assertEquals(-1, timeline.getOffsetMs(LoadTimeline.STAGE_PLAYER_READY));
+    }
+
+    @Test
+    public void stagesAreOffsetsFromTheRequest() {
+        timeline.start(1000);
+        timeline.mark(LoadTimeline.STAGE_METADATA_RESOLVED, 1250);
+        timeline.mark(LoadTimeline.STAGE_FIRST_FRAME, 1900);
+        assertTrue(timeline.isStarted());
+        assertEquals(250, timeline.getOffsetMs(LoadTimeline.STAGE_METADATA_RESOLVED));
+        assertEquals(900, timeline.getOffsetMs(LoadTimeline.STAGE_FIRST_FRAME));
+        assertEquals(-1, timeline.getOffsetMs(LoadTimeline.STAGE_SOURCE_ADDED));
+    }
+
+    @Test
+    public void onlyTheFirstMarkOfAStageCounts() {
+        timeline.start(1000);
+        timeline.mark(LoadTimeline.STAGE_SOURCE_ADDED, 1100);
+        timeline.mark(LoadTimeline.STAGE_SOURCE_ADDED, 1500);
+        assertEquals(100, timeline.getOffsetMs(LoadTimeline.STAGE_SOURCE_ADDED));
+    }
+
+    @Test
+    public void marksBeforeTheStartClampToZero() {
+        timeline.start(1000);
+        timeline.mark(LoadTimeline.STAGE_PROPS_COLLECTED, 900);
+        assertEquals(0, timeline.getOffsetMs(LoadTimeline.STAGE_PROPS_COLLECTED));
+    }
+
+    @Test
+    public void restartingBeforeTheFirstFrameCountsAsSuperseded() {
+        timeline.start(0);
+        timeline.start(100);
+        assertEquals(1, timeline.getSupersededCount());
+        timeline.mark(LoadTimeline.STAGE_FIRST_FRAME, 300);
+        timeline.start(400);
+        assertEquals(1, timeline.getSupersededCount());
+        assertEquals(-1, timeline.getOffsetMs(LoadTimeline.STAGE_FIRST_FRAME));
+    }
+
+    @Test
+    public void everyStageHasAName() {
+        for (int stage = 0; stage < LoadTimeline.STAGE_COUNT; stage++) {
+            assertFalse(LoadTimeline.getStageName(stage).isEmpty());
+        }
+        assertEquals("firstFrame", LoadTimeline.getStageName(LoadTimeline.STAGE_FIRST_FRAME));
+    }
+}
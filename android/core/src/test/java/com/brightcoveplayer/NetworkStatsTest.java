@@ -0,0 +1,86 @@
+package com.brightcoveplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.junit.Test;
+
+public class NetworkStatsTest {
+    private final NetworkStats stats = new NetworkStats();
+
+    private static NetworkStats.Timing freshConnection() {
+        NetworkStats.Timing timing = new NetworkStats.Timing();
+        timing.dnsMs = 20;
+        timing.connectMs = 30;
+        timing.tlsMs = 40;
+        timing.timeToFirstByteMs = 120;
+        timing.totalMs = 200;
+        timing.bytesReceived = 50_000;
+        timing.http2 = true;
+        return timing;
+    }
+
+    @Test
+    public void sumsTimingsPerHostInFirstSeenOrder() {
+        stats.record("manifest.example.com", freshConnection());
+        NetworkStats.Timing reused = new NetworkStats.Timing();
+        reused.connectionReused = true;
+        reused.timeToFirstByteMs = 60;
+        reused.totalMs = 80;
+        reused.bytesReceived = 10_000;
+        stats.record("manifest.example.com", reused);
+        stats.record("cdn.example.com", freshConnection());
+
+        List<NetworkStats.HostStats> hosts = stats.getHosts();
+        assertEquals(2, hosts.size());
+        NetworkStats.HostStats manifest = hosts.get(0);
+        assertEquals("manifest.example.com", manifest.host);
+        assertEquals(2, manifest.requests);
+        assertEquals(1, manifest.connectionsOpened);
+        assertEquals(1, manifest.connectionsReused);
+        assertEquals(1, manifest.http2Requests);
+        // Phases that did not run on the reused connection add nothing
+        assertEquals(20, manifest.dnsMs);
+        assertEquals(30, manifest.connectMs);
+        assertEquals(40, manifest.tlsMs);
+        assertEquals(180, manifest.timeToFirstByteMs);
+        assertEquals(280, manifest.totalMs);
+        assertEquals(60_000, manifest.bytesReceived);
+        assertEquals("cdn.example.com", hosts.get(1).host);
+    }
+
+    @Test
+    public void countsFailures() {
+        NetworkStats.Timing failed = new NetworkStats.Timing();
+        failed.failed = true;
+        stats.record("cdn.example.com", failed);
+        NetworkStats.HostStats cdn = stats.getHosts().get(0);
+        assertEquals(1, cdn.requests);
+        assertEquals(1, cdn.failures);
+        assertEquals(0, cdn.totalMs);
+    }
+
+    @Test
+    public void hostsAreCopies() {
+        stats.record("cdn.example.com", freshConnection());
+        stats.getHosts().get(0).requests = 99;
+        assertEquals(1, stats.getHosts().get(0).requests);
+    }
+
+    @Test
+    public void countsDnsCacheHitsAndResets() {
+        stats.recordDnsLookup(true);
+        stats.recordDnsLookup(true);
+        stats.recordDnsLookup(false);
+        assertEquals(2, stats.getDnsCacheHits());
+        assertEquals(1, stats.getDnsCacheMisses());
+
+        stats.record("cdn.example.com", freshConnection());
+        stats.reset();
+        assertTrue(stats.getHosts().isEmpty());
+        assertEquals(0, stats.getDnsCacheHits());
+        assertEquals(0, stats.getDnsCacheMisses());
+    }
+}
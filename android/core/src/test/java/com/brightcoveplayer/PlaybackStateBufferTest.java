@@ -0,0 +1,79 @@
+package com.brightcoveplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+public class PlaybackStateBufferTest {
+    private final PlaybackStateBuffer buffer = new PlaybackStateBuffer();
+    private final PlaybackStateBuffer.Snapshot snapshot = new PlaybackStateBuffer.Snapshot();
+
+    @Test
+    public void readReturnsTheLastPublish() {
+        assertFalse(buffer.hasState());
+        buffer.publish(1000, 60_000, 5000, 3, true, 1.5f, 2_000_000, 100);
+        buffer.publish(2000, 60_000, 8000, 3, false, 2f, 3_000_000, 200);
+        assertTrue(buffer.hasState());
+
+        buffer.read(snapshot);
+        assertEquals(2000, snapshot.positionMs);
+        assertEquals(60_000, snapshot.durationMs);
+        assertEquals(8000, snapshot.bufferedPositionMs);
+        assertEquals(3, snapshot.state);
+        assertFalse(snapshot.playing);
+        assertEquals(2f, snapshot.speed, 0);
+        assertEquals(3_000_000, snapshot.bitrate);
+        assertEquals(200, snapshot.timestampMs);
+    }
+
+    @Test
+    public void positionAdvancesAtThePlaybackSpeedWhilePlaying() {
+        buffer.publish(1000, 10_000, 0, 3, true, 2f, 0, 500);
+        buffer.read(snapshot);
+        assertEquals(1400, snapshot.positionAt(700));
+        assertEquals(10_000, snapshot.positionAt(100_000));
+
+        buffer.publish(1000, 10_000, 0, 3, false, 2f, 0, 500);
+        buffer.read(snapshot);
+        assertEquals(1000, snapshot.positionAt(700));
+    }
+
+    @Test
+    public void unknownDurationDoesNotClampThePosition() {
+        buffer.publish(1000, -1, 0, 3, true, 1f, 0, 0);
+        buffer.read(snapshot);
+        assertEquals(51_000, snapshot.positionAt(50_000));
+    }
+
+    @Test
+    public void readerNeverSeesATornPublish() throws InterruptedException {
+        AtomicBoolean done = new AtomicBoolean();
+        // Every field of a publish carries the same value, so a mix of two publishes shows up as a mismatch
+        Thread writer = new Thread(() -> {
+            for (int i = 1; i <= 200_000; i++) {
+                buffer.publish(i, i, i, i, true, i, i, i);
+            }
+            done.set(true);
+        });
+        writer.start();
+        int reads = 0;
+        while (!done.get() || reads == 0) {
+            buffer.read(snapshot);
+            long value = snapshot.positionMs;
+            assertEquals(value, snapshot.durationMs);
+            assertEquals(value, snapshot.bufferedPositionMs);
+            assertEquals(value, snapshot.state);
+            assertEquals(value, snapshot.bitrate);
+            assertEquals(value, snapshot.timestampMs);
+            assertEquals((float) value, snapshot.speed, 0);
+            reads++;
+        }
+        writer.join();
+        buffer.read(snapshot);
+        assertEquals(200_000, snapshot.positionMs);
+    }
+}
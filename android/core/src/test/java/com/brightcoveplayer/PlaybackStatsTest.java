@@ -0,0 +1,96 @@
+package com.brightcoveplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class PlaybackStatsTest {
+    private final PlaybackStats stats = new PlaybackStats();
+
+    @Test
+    public void sessionWithOneStallAndOneSwitch() {
+        stats.startSession(1000);
+        // Still starting up, so this buffering is not a stall
+        stats.onStallStart(1100);
+        stats.onStallEnd(1400);
+        stats.onFirstFrame(1500);
+        stats.onVideoBitrateChanged(1_000_000, 1500);
+        stats.onPlayingChanged(true, 1500);
+
+        stats.onVideoBitrateChanged(2_000_000, 3500);
+        stats.onPlayingChanged(false, 4500);
+        stats.onStallStart(4500);
+        assertEquals(500, stats.getStallDurationMs(5000));
+        stats.onStallEnd(5500);
+        stats.onPlayingChanged(true, 5500);
+        stats.update(6500);
+
+        assertEquals(500, stats.getTimeToFirstFrameMs());
+        assertEquals(1, stats.getStallCount());
+        assertEquals(1000, stats.getStallDurationMs(6500));
+        assertEquals(4000, stats.getPlayTimeMs());
+        assertEquals(0.2, stats.getRebufferRatio(6500), 1e-9);
+        assertEquals(1, stats.getSwitchCount());
+        assertEquals(2, stats.getRenditionCount());
+        assertEquals(1_000_000, stats.getRenditionBitrate(0));
+        assertEquals(2000, stats.getRenditionTimeMs(0));
+        assertEquals(2_000_000, stats.getRenditionBitrate(1));
+        assertEquals(2000, stats.getRenditionTimeMs(1));
+    }
+
+    @Test
+    public void onlyTheFirstFrameCounts() {
+        stats.onFirstFrame(500);
+        assertEquals("no session yet", -1, stats.getTimeToFirstFrameMs());
+
+        stats.startSession(1000);
+        stats.onFirstFrame(1200);
+        stats.onFirstFrame(9000);
+        assertEquals(200, stats.getTimeToFirstFrameMs());
+    }
+
+    @Test
+    public void repeatedBitrateIsNotASwitch() {
+        stats.startSession(0);
+        stats.onVideoBitrateChanged(800_000, 0);
+        stats.onVideoBitrateChanged(800_000, 10);
+        assertEquals(0, stats.getSwitchCount());
+    }
+
+    @Test
+    public void renditionTableGrowsPastItsInitialSize() {
+        stats.startSession(0);
+        stats.onPlayingChanged(true, 0);
+        for (int i = 1; i <= 12; i++) {
+            stats.onVideoBitrateChanged(i * 100_000, (i - 1) * 1000L);
+        }
+        stats.update(12_000);
+
+        assertEquals(12, stats.getRenditionCount());
+        for (int i = 0; i < 12; i++) {
+            assertEquals((i + 1) * 100_000, stats.getRenditionBitrate(i));
+            assertEquals(1000, stats.getRenditionTimeMs(i));
+        }
+    }
+
+    @Test
+    public void newSessionForgetsThePreviousOne() {
+        stats.startSession(0);
+        stats.onFirstFrame(100);
+        stats.onDroppedFrames(7);
+        stats.onBandwidthEstimate(3_000_000);
+        stats.onStallStart(200);
+
+        assertFalse(new PlaybackStats().isSessionActive());
+        stats.startSession(1000);
+        assertTrue(stats.isSessionActive());
+        assertEquals(-1, stats.getTimeToFirstFrameMs());
+        assertEquals(0, stats.getStallCount());
+        assertEquals(0, stats.getStallDurationMs(5000));
+        assertEquals(0, stats.getDroppedFrames());
+        assertEquals(-1, stats.getBandwidthEstimate());
+        assertEquals(0, stats.getRebufferRatio(5000), 0);
+    }
+}
@@ -0,0 +1,52 @@
+package com.brightcoveplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class QualityCapsTest {
+    @Test
+    public void forQualityKnowsTheLadderLabels() {
+        assertEquals(1080, QualityCaps.forQuality("1080p").maxHeight);
+        assertEquals(720, QualityCaps.forQuality("720p").maxHeight);
+        assertEquals(480, QualityCaps.forQuality("480p").maxHeight);
+        assertEquals(360, QualityCaps.forQuality("360p").maxHeight);
+        assertNull(QualityCaps.forQuality("auto"));
+        assertNull(QualityCaps.forQuality("4k"));
+        assertNull(QualityCaps.forQuality(null));
+    }
+
+    @Test
+    public void forSizePicksTheLargestRungThatFits() {
+        assertSame(QualityCaps.forQuality("1080p"), QualityCaps.forSize(3840, 2160));
+        assertSame(QualityCaps.forQuality("720p"), QualityCaps.forSize(1280, 720));
+        assertSame(QualityCaps.forQuality("720p"), QualityCaps.forSize(1919, 1080));
+        assertSame(QualityCaps.forQuality("360p"), QualityCaps.forSize(320, 240));
+    }
+
+    @Test
+    public void forSizeNeedsBothDimensionsToFit() {
+        // A portrait-only decoder size is too narrow for the 720p rung
+        assertSame(QualityCaps.forQuality("480p"), QualityCaps.forSize(1080, 1920));
+    }
+
+    @Test
+    public void minOfTwoRungsIsTheSmallerOne() {
+        QualityCaps high = QualityCaps.forQuality("1080p");
+        QualityCaps low = QualityCaps.forQuality("480p");
+        assertSame(low, high.min(low));
+        assertSame(low, low.min(high));
+        assertSame(high, high.min(QualityCaps.forQuality("1080p")));
+    }
+
+    @Test
+    public void minTakesEachLimitSeparately() {
+        QualityCaps narrow = new QualityCaps(640, 1080, 8_000_000);
+        QualityCaps caps = QualityCaps.forQuality("720p").min(narrow);
+        assertEquals(640, caps.maxWidth);
+        assertEquals(720, caps.maxHeight);
+        assertEquals(4_000_000, caps.maxBitrate);
+    }
+}
@@ -0,0 +1,113 @@
+package com.brightcoveplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ScrubControllerTest {
+    private static final long INTERVAL_MS = 150;
+
+    private ScrubController scrub;
+    // Seeks issued so far, as {time, position}
+    private final List<long[]> seeks = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        scrub = new ScrubController(INTERVAL_MS);
+        scrub.start();
+    }
+
+    private void drag(long positionMs, long nowMs) {
+        record(scrub.onScrub(positionMs, nowMs), nowMs);
+    }
+
+    private void tick(long nowMs) {
+        record(scrub.poll(nowMs), nowMs);
+    }
+
+    private void record(long position, long nowMs) {
+        if (position >= 0) {
+            seeks.add(new long[] {nowMs, position});
+        }
+    }
+
+    @Test
+    public void firstDragSeeksImmediately() {
+        drag(1000, 0);
+        assertEquals(1, seeks.size());
+        assertEquals(1000, seeks.get(0)[1]);
+    }
+
+    @Test
+    public void fastDragSeeksOncePerIntervalAndEndsOnTheLatestPosition() {
+        // A drag event every 16 ms for half a second, moving 100 ms of media each time, and the
+        // throttled seek run as soon as its delay is up
+        long lastPosition = -1;
+        for (long t = 0; t < 1000; t++) {
+            if (t <= 500 && t % 16 == 0) {
+                lastPosition = t * 100 / 16;
+                drag(lastPosition, t);
+            } else if (scrub.hasPendingSeek() && scrub.getDelayMs(t) == 0) {
+                tick(t);
+            }
+        }
+
+        assertEquals(5, seeks.size());
+        for (int i = 1; i < seeks.size(); i++) {
+            assertTrue(seeks.get(i)[0] - seeks.get(i - 1)[0] >= INTERVAL_MS);
+        }
+        assertEquals(lastPosition, seeks.get(seeks.size() - 1)[1]);
+    }
+
+    @Test
+    public void throttledSeekWaitsOutTheRestOfTheInterval() {
+        drag(1000, 0);
+        drag(2000, 50);
+        assertTrue(scrub.hasPendingSeek());
+        assertEquals(100, scrub.getDelayMs(50));
+
+        tick(149);
+        assertEquals(1, seeks.size());
+        tick(150);
+        assertEquals(2000, seeks.get(1)[1]);
+        assertFalse(scrub.hasPendingSeek());
+    }
+
+    @Test
+    public void returningToTheLastSeekedPositionIsNotSeekedAgain() {
+        drag(1000, 0);
+        drag(1000, 500);
+        assertEquals(1, seeks.size());
+        assertFalse(scrub.hasPendingSeek());
+    }
+
+    @Test
+    public void finishDropsTheThrottledSeek() {
+        drag(1000, 0);
+        drag(3000, 10);
+        scrub.finish();
+
+        assertFalse(scrub.isScrubbing());
+        assertFalse(scrub.hasPendingSeek());
+        tick(1000);
+        drag(4000, 1000);
+        assertEquals(1, seeks.size());
+    }
+
+    @Test
+    public void restartingForgetsTheLastSeek() {
+        drag(1000, 0);
+        scrub.finish();
+        scrub.start();
+
+        drag(1000, 10);
+        assertEquals(2, seeks.size());
+        assertEquals(10, seeks.get(1)[0]);
+    }
+}
@@ -0,0 +1,56 @@
+package com.brightcoveplayer;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class ThroughputEstimatorTest {
+    @Test
+    public void hasNoEstimateBeforeAUsableSample() {
+        ThroughputEstimator estimator = new ThroughputEstimator(4);
+        assertEquals(-1, estimator.getEstimate());
+
+        // Too small to say anything about bandwidth, and a zero duration would divide by zero
+        estimator.addSample(10_000, 50);
+        estimator.addSample(100_000, 0);
+        assertEquals(-1, estimator.getEstimate());
+        assertEquals(0, estimator.getSampleCount());
+    }
+
+    @Test
+    public void weighsSamplesByTheirBytesNotTheirCount() {
+        ThroughputEstimator estimator = new ThroughputEstimator(4);
+        estimator.addSample(100_000, 100);
+        estimator.addSample(900_000, 900);
+        estimator.addSample(20_000, 1000);
+
+        // 1.02 MB over 2 s, not the mean of 8, 8 and 0.16 Mbps
+        assertEquals(4_080_000, estimator.getEstimate());
+    }
+
+    @Test
+    public void oldestSampleLeavesAFullWindow() {
+        ThroughputEstimator estimator = new ThroughputEstimator(2);
+        long[][] samples = {{100_000, 100}, {200_000, 100}, {50_000, 100}};
+        long[] expected = {8_000_000, 12_000_000, 10_000_000};
+
+        for (int i = 0; i < samples.length; i++) {
+            estimator.addSample(samples[i][0], samples[i][1]);
+            assertEquals("after sample " + i, expected[i], estimator.getEstimate());
+        }
+        assertEquals(2, estimator.getSampleCount());
+    }
+
+    @Test
+    public void resetStartsAnEmptyWindow() {
+        ThroughputEstimator estimator = new ThroughputEstimator(2);
+        estimator.addSample(100_000, 100);
+        estimator.addSample(100_000, 100);
+        estimator.reset();
+        assertEquals(-1, estimator.getEstimate());
+
+        estimator.addSample(50_000, 100);
+        assertEquals(4_000_000, estimator.getEstimate());
+        assertEquals(1, estimator.getSampleCount());
+    }
+}
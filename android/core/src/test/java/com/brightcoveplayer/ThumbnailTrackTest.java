@@ -0,0 +1,95 @@
+package com.brightcoveplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class ThumbnailTrackTest {
+    private static final String BASE_URL = "https://cdn.example.com/thumbs/track.vtt";
+    private static final String VTT = "WEBVTT\n"
+        + "\n"
+        + "00:00.000 --> 00:05.000\n"
+        + "sprite.jpg#xywh=0,0,160,90\n"
+        + "\n"
+        + "00:05.000 --> 00:10.000\n"
+        + "sprite.jpg#xywh=160,0,160,90\n"
+        + "\n"
+        + "01:00:00.000 --> 01:00:05.000 align:start\n"
+        + "https://images.example.com/still.jpg\n";
+
+    @Test
+    public void spriteRegionsResolveAgainstTheTrackUrl() {
+        ThumbnailTrack track = ThumbnailTrack.parse(BASE_URL, VTT);
+        assertEquals(3, track.size());
+
+        ThumbnailTrack.Thumbnail second = track.get(1);
+        assertEquals("https://cdn.example.com/thumbs/sprite.jpg", second.url);
+        assertTrue(second.isSpriteRegion());
+        assertEquals(160, second.x);
+        assertEquals(0, second.y);
+        assertEquals(160, second.width);
+        assertEquals(90, second.height);
+    }
+
+    @Test
+    public void regionsOfOneSpriteHaveTheirOwnKeys() {
+        ThumbnailTrack track = ThumbnailTrack.parse(BASE_URL, VTT);
+        assertEquals("https://cdn.example.com/thumbs/sprite.jpg#0,0,160,90", track.get(0).getKey());
+        assertEquals("https://cdn.example.com/thumbs/sprite.jpg#160,0,160,90", track.get(1).getKey());
+
+        ThumbnailTrack.Thumbnail still = track.get(2);
+        assertFalse(still.isSpriteRegion());
+        assertEquals("https://images.example.com/still.jpg", still.getKey());
+    }
+
+    @Test
+    public void lookupFindsTheCueCoveringThePosition() {
+        ThumbnailTrack track = ThumbnailTrack.parse(BASE_URL, VTT.replace("\n", "\r\n"));
+        long[][] cases = {
+            // position, index
+            {0, 0},
+            {4_999, 0},
+            {5_000, 1},
+            {9_999, 1},
+            {10_000, -1},
+            {1_800_000, -1},
+            {3_600_000, 2},
+            {3_605_000, -1},
+            {-1, -1},
+        };
+        for (long[] c : cases) {
+            assertEquals("position " + c[0], c[1], track.indexOf(c[0]));
+        }
+    }
+
+    @Test
+    public void malformedCuesAreSkipped() {
+        ThumbnailTrack track = ThumbnailTrack.parse(null, "WEBVTT\n"
+            + "\n"
+            + "00:xx.000 --> 00:05.000\n"
+            + "broken.jpg\n"
+            + "\n"
+            + "00:05.000 --> 00:10.000\n"
+            + "\n"
+            + "00:10.000 --> 00:15.000\n"
+            + "last.jpg\n"
+            + "\n"
+            + "00:15.000 --> 00:20.000\n");
+
+        assertEquals(1, track.size());
+        assertEquals("last.jpg", track.get(0).url);
+        assertEquals(0, track.indexOf(12_000));
+    }
+
+    @Test
+    public void timestampsWithAndWithoutHours() {
+        assertEquals(3_723_004, ThumbnailTrack.parseTimestamp("01:02:03.004"));
+        assertEquals(123_004, ThumbnailTrack.parseTimestamp("02:03.004"));
+        assertEquals(3_000, ThumbnailTrack.parseTimestamp("00:03"));
+        assertEquals(-1, ThumbnailTrack.parseTimestamp("3.004"));
+        assertEquals(-1, ThumbnailTrack.parseTimestamp("1:2:3:4.000"));
+        assertEquals(-1, ThumbnailTrack.parseTimestamp("aa:03.004"));
+    }
+}
@@ -0,0 +1,35 @@
+package com.brightcoveplayer;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class TimeFormatterTest {
+    private static String format(long milliseconds) {
+        char[] out = new char[TimeFormatter.MAX_LENGTH];
+        return new String(out, 0, TimeFormatter.format(milliseconds, out));
+    }
+
+    @Test
+    public void formatsMinutesAndPaddedSeconds() {
+        assertEquals("0:00", format(0));
+        assertEquals("0:05", format(5_999));
+        assertEquals("1:00", format(60_000));
+        assertEquals("12:34", format((12 * 60 + 34) * 1000L));
+    }
+
+    @Test
+    public void minutesAreNotWrappedIntoHours() {
+        assertEquals("125:07", format((125 * 60 + 7) * 1000L));
+    }
+
+    @Test
+    public void negativeTimesClampToZero() {
+        assertEquals("0:00", format(-1500));
+    }
+
+    @Test
+    public void longestValueFitsTheBuffer() {
+        assertEquals("153722867280912:55", format(Long.MAX_VALUE));
+    }
+}
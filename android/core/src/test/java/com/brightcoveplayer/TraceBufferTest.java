@@ -0,0 +1,89 @@
+package com.brightcoveplayer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+
+import org.junit.Test;
+
+public class TraceBufferTest {
+    private static final String SECTION = "section";
+
+    @Test
+    public void capacityRoundsUpToAPowerOfTwo() {
+        assertEquals(2, new TraceBuffer(0).getCapacity());
+        assertEquals(2, new TraceBuffer(2).getCapacity());
+        assertEquals(8, new TraceBuffer(5).getCapacity());
+        assertEquals(8, new TraceBuffer(8).getCapacity());
+        assertEquals(TraceBuffer.DEFAULT_CAPACITY, new TraceBuffer(TraceBuffer.DEFAULT_CAPACITY).getCapacity());
+    }
+
+    @Test
+    public void capacityIsCappedInsteadOfOverflowing() {
+        assertEquals(TraceBuffer.MAX_CAPACITY, new TraceBuffer(TraceBuffer.MAX_CAPACITY + 1).getCapacity());
+        assertEquals(TraceBuffer.MAX_CAPACITY, new TraceBuffer(Integer.MAX_VALUE).getCapacity());
+    }
+
+    @Test
+    public void snapshotIsOldestFirstBeforeWrapping() {
+        TraceBuffer buffer = new TraceBuffer(4);
+        buffer.record(TraceBuffer.TYPE_BEGIN, SECTION, 7, 100);
+        buffer.record(TraceBuffer.TYPE_END, SECTION, 7, 200);
+
+        List<TraceBuffer.Event> events = buffer.snapshot();
+        assertEquals(2, events.size());
+        TraceBuffer.Event begin = events.get(0);
+        assertEquals(TraceBuffer.TYPE_BEGIN, begin.type);
+        assertSame(SECTION, begin.name);
+        assertEquals(7, begin.value);
+        assertEquals(100, begin.timeNanos);
+        assertEquals(Thread.currentThread().getId(), begin.threadId);
+        assertEquals(TraceBuffer.TYPE_END, events.get(1).type);
+    }
+
+    @Test
+    public void wrappingKeepsTheNewestCapacityEvents() {
+        TraceBuffer buffer = new TraceBuffer(4);
+        for (int i = 0; i < 10; i++) {
+            buffer.record(TraceBuffer.TYPE_INSTANT, SECTION, i, i);
+        }
+        assertEquals(10, buffer.getRecordedCount());
+        List<TraceBuffer.Event> events = buffer.snapshot();
+        assertEquals(4, events.size());
+        for (int i = 0; i < 4; i++) {
+            assertEquals(6 + i, events.get(i).value);
+        }
+    }
+
+    @Test
+    public void concurrentWritersNeverProduceMixedEvents() throws InterruptedException {
+        final TraceBuffer buffer = new TraceBuffer(64);
+        Thread[] writers = new Thread[4];
+        for (int w = 0; w < writers.length; w++) {
+            writers[w] = new Thread(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    // Time and value match, so a slot mixed from two writes shows up
+                    buffer.record(TraceBuffer.TYPE_INSTANT, SECTION, i, i);
+                }
+            });
+            writers[w].start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        List<TraceBuffer.Event> events = buffer.snapshot();
+        assertEquals(64, events.size());
+        for (TraceBuffer.Event event : events) {
+            assertEquals(event.timeNanos, event.value);
+        }
+        assertEquals(4 * 50_000, buffer.getRecordedCount());
+    }
+
+    @Test
+    public void typeNames() {
+        assertEquals("begin", TraceBuffer.getTypeName(TraceBuffer.TYPE_BEGIN));
+        assertEquals("end", TraceBuffer.getTypeName(TraceBuffer.TYPE_END));
+        assertEquals("instant", TraceBuffer.getTypeName(TraceBuffer.TYPE_INSTANT));
+    }
+}
@@ -0,0 +1,70 @@
+package com.brightcoveplayer;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class TrackSnapshotTest {
+    private static TrackSnapshot.Builder ladder(int selectedHeight) {
+        return new TrackSnapshot.Builder()
+            .addVideoTrack(1920, 1080, 5_000_000, selectedHeight == 1080)
+            .addVideoTrack(1280, 720, 0, selectedHeight == 720)
+            .addVideoTrack(640, 360, 1_000_000, selectedHeight == 360)
+            .addAudioTrack(128_000, "en", "English", true)
+            .addTextTrack("fr", "French", false);
+    }
+
+    @Test
+    public void emptySnapshotSelectsNothing() {
+        assertTrue(TrackSnapshot.EMPTY.getVideoTracks().isEmpty());
+        assertNull(TrackSnapshot.EMPTY.getSelectedVideo());
+        assertNull(TrackSnapshot.EMPTY.getSelectedAudio());
+        assertNull(TrackSnapshot.EMPTY.getSelectedText());
+        assertEquals(0, TrackSnapshot.EMPTY.getVideoBitrates().length);
+    }
+
+    @Test
+    public void bitrateLadderLeavesOutTracksWithoutABitrate() {
+        assertArrayEquals(new int[] {5_000_000, 1_000_000}, ladder(720).build().getVideoBitrates());
+    }
+
+    @Test
+    public void selectionPointsAtTheFlaggedTracks() {
+        TrackSnapshot snapshot = ladder(720).build();
+        assertEquals(720, snapshot.getSelectedVideo().height);
+        assertEquals("en", snapshot.getSelectedAudio().language);
+        assertNull(snapshot.getSelectedText());
+    }
+
+    @Test
+    public void rebuiltTracksCompareEqualSoUnchangedListsAreNotResent() {
+        TrackSnapshot before = ladder(720).build();
+        TrackSnapshot after = ladder(360).build();
+
+        assertTrue(before.hasSameVideoTracks(after));
+        assertTrue(before.hasSameAudioTracks(after));
+        assertTrue(before.hasSameTextTracks(after));
+        assertFalse(before.hasSameSelection(after));
+        assertTrue(before.hasSameSelection(ladder(720).build()));
+    }
+
+    @Test
+    public void anyDifferingFieldMakesTheListsDiffer() {
+        TrackSnapshot english = new TrackSnapshot.Builder().addTextTrack("en", "English", false).build();
+        TrackSnapshot relabelled = new TrackSnapshot.Builder().addTextTrack("en", "English (CC)", false).build();
+        TrackSnapshot unlabelled = new TrackSnapshot.Builder().addTextTrack("en", null, false).build();
+
+        assertFalse(english.hasSameTextTracks(relabelled));
+        assertFalse(english.hasSameTextTracks(unlabelled));
+        assertFalse(unlabelled.hasSameTextTracks(english));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void trackListsCannotBeModified() {
+        ladder(720).build().getVideoTracks().clear();
+    }
+}
@@ -0,0 +1,186 @@
+package com.brightcoveplayer;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.UiThreadUtil;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.modules.core.DeviceEventManagerModule;
+import com.google.android.exoplayer2.offline.Download;
+import com.google.android.exoplayer2.util.Util;
+
+import java.util.List;
+
+public class BrightcoveDownloadModule extends ReactContextBaseJavaModule implements VideoDownloader.Listener {
+    private static final String NAME = "BrightcoveDownloads";
+    public static final String EVENT_DOWNLOAD_PROGRESS = "BrightcoveDownloadProgress";
+
+    private final VideoDownloader videoDownloader;
+
+    public BrightcoveDownloadModule(ReactApplicationContext reactContext, PlayerResources resources) {
+        super(reactContext);
+        this.videoDownloader = resources.videoDownloader;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void initialize() {
+        super.initialize();
+        UiThreadUtil.runOnUiThread(() -> videoDownloader.setListener(this));
+    }
+
+    // The downloader outlives the bridge, so drop the reference on reload
+    @Override
+    public void invalidate() {
+        super.invalidate();
+        UiThreadUtil.runOnUiThread(() -> videoDownloader.setListener(null));
+    }
+
+    @ReactMethod
+    public void download(final String videoId, final ReadableMap options, final Promise promise) {
+        if (options == null || !options.hasKey("accountId") || !options.hasKey("policyKey")) {
+            promise.reject("INVALID_OPTIONS", "download requires accountId and policyKey");
+            return;
+        }
+        final String accountId = options.getString("accountId");
+        final String policyKey = options.getString("policyKey");
+        final int maxBitrate = maxBitrate(options);
+        UiThreadUtil.runOnUiThread(() -> videoDownloader.download(accountId, policyKey, videoId, maxBitrate,
+            new VideoDownloader.Callback() {
+                @Override
+                public void onQueued(String queuedVideoId) {
+                    promise.resolve(queuedVideoId);
+                }
+
+                @Override
+                public void onError(String code, String message) {
+                    promise.reject(code, message);
+                }
+            }));
+    }
+
+    @ReactMethod
+    public void pauseDownload(final String videoId, final Promise promise) {
+        UiThreadUtil.runOnUiThread(() -> {
+            videoDownloader.pause(videoId);
+            promise.resolve(null);
+        });
+    }
+
+    @ReactMethod
+    public void resumeDownload(final String videoId, final Promise promise) {
+        UiThreadUtil.runOnUiThread(() -> {
+            if (videoDownloader.resume(videoId)) {
+                promise.resolve(null);
+            } else {
+                promise.reject("QUOTA_EXCEEDED", "Download storage quota is full");
+            }
+        });
+    }
+
+    @ReactMethod
+    public void removeDownload(final String videoId, final Promise promise) {
+        UiThreadUtil.runOnUiThread(() -> {
+            videoDownloader.remove(videoId);
+            promise.resolve(null);
+        });
+    }
+
+    @ReactMethod
+    public void getDownloads(final Promise promise) {
+        UiThreadUtil.runOnUiThread(() -> videoDownloader.whenIndexLoaded(() -> {
+            WritableArray result = Arguments.createArray();
+            for (Download download : videoDownloader.getDownloads()) {
+                result.pushMap(toDownloadMap(download));
+            }
+            promise.resolve(result);
+        }));
+    }
+
+    @ReactMethod
+    public void getStorageUsage(final Promise promise) {
+        UiThreadUtil.runOnUiThread(() -> {
+            WritableMap usage = Arguments.createMap();
+            usage.putDouble("bytesUsed", videoDownloader.getBytesUsed());
+            usage.putDouble("quotaBytes", videoDownloader.getQuotaBytes());
+            promise.resolve(usage);
+        });
+    }
+
+    // Required by NativeEventEmitter
+    @ReactMethod
+    public void addListener(String eventName) {
+    }
+
+    @ReactMethod
+    public void removeListeners(double count) {
+    }
+
+    @Override
+    public void onDownloadsChanged(List<Download> downloads, List<String> removedIds) {
+        ReactApplicationContext reactContext = getReactApplicationContextIfActiveOrWarn();
+        if (reactContext == null) {
+            return;
+        }
+        WritableArray batch = Arguments.createArray();
+        for (Download download : downloads) {
+            batch.pushMap(toDownloadMap(download));
+        }
+        for (String videoId : removedIds) {
+            WritableMap entry = Arguments.createMap();
+            entry.putString("videoId", videoId);
+            entry.putString("state", "removed");
+            batch.pushMap(entry);
+        }
+        reactContext
+            .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
+            .emit(EVENT_DOWNLOAD_PROGRESS, batch);
+    }
+
+    private static int maxBitrate(ReadableMap options) {
+        if (options.hasKey("maxBitrate")) {
+            return options.getInt("maxBitrate");
+        }
+        QualityCaps caps = options.hasKey("quality") ? QualityCaps.forQuality(options.getString("quality")) : null;
+        return caps != null ? caps.maxBitrate : 0;
+    }
+
+    private static WritableMap toDownloadMap(Download download) {
+        WritableMap map = Arguments.createMap();
+        map.putString("videoId", download.request.id);
+        map.putString("name", Util.fromUtf8Bytes(download.request.data));
+        map.putString("state", stateName(download));
+        map.putDouble("bytesDownloaded", download.getBytesDownloaded());
+        map.putDouble("percentDownloaded", Math.max(0, download.getPercentDownloaded()));
+        return map;
+    }
+
+    private static String stateName(Download download) {
+        switch (download.state) {
+            case Download.STATE_QUEUED:
+                return "queued";
+            case Download.STATE_DOWNLOADING:
+                return "downloading";
+            case Download.STATE_COMPLETED:
+                return "completed";
+            case Download.STATE_FAILED:
+                return "failed";
+            case Download.STATE_REMOVING:
+                return "removing";
+            case Download.STATE_RESTARTING:
+                return "restarting";
+            case Download.STATE_STOPPED:
+                return download.stopReason == VideoDownloader.STOP_REASON_QUOTA ? "quotaExceeded" : "paused";
+            default:
+                return "unknown";
+        }
+    }
+}
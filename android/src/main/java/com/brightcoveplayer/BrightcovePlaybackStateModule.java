@@ -0,0 +1,60 @@
+package com.brightcoveplayer;
+
+import android.os.SystemClock;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.WritableMap;
+import com.google.android.exoplayer2.Player;
+
+// Synchronous reads of the state each view publishes, answered on the JS thread without a UI thread hop
+public class BrightcovePlaybackStateModule extends ReactContextBaseJavaModule {
+    private static final String NAME = "BrightcovePlaybackState";
+
+    private final PlayerResources resources;
+
+    public BrightcovePlaybackStateModule(ReactApplicationContext reactContext, PlayerResources resources) {
+        super(reactContext);
+        this.resources = resources;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    // Null until the view has published, or once it has been dropped
+    @ReactMethod(isBlockingSynchronousMethod = true)
+    public WritableMap getPlaybackState(double viewId) {
+        PlaybackStateBuffer buffer = resources.playbackStates.get((int) viewId);
+        if (buffer == null || !buffer.hasState()) {
+            return null;
+        }
+        PlaybackStateBuffer.Snapshot snapshot = new PlaybackStateBuffer.Snapshot();
+        buffer.read(snapshot);
+        WritableMap state = Arguments.createMap();
+        state.putDouble("position", snapshot.positionAt(SystemClock.elapsedRealtime()));
+        state.putDouble("duration", snapshot.durationMs);
+        state.putDouble("bufferedPosition", snapshot.bufferedPositionMs);
+        state.putString("state", stateName(snapshot.state));
+        state.putBoolean("isPlaying", snapshot.playing);
+        state.putDouble("playbackSpeed", snapshot.speed);
+        state.putInt("bitrate", snapshot.bitrate);
+        return state;
+    }
+
+    private static String stateName(int state) {
+        switch (state) {
+            case Player.STATE_BUFFERING:
+                return "buffering";
+            case Player.STATE_READY:
+                return "ready";
+            case Player.STATE_ENDED:
+                return "ended";
+            default:
+                return "idle";
+        }
+    }
+}
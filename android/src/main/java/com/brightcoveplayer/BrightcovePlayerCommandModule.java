@@ -0,0 +1,309 @@
+package com.brightcoveplayer;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Promise;
+import com.facebook.react.bridge.ReactApplicationContext;
+import com.facebook.react.bridge.ReactContextBaseJavaModule;
+import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.UiThreadUtil;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// What JS calls on NativeModules.BrightcovePlayer: view commands by tag and the process-wide stats and caches.
+// The view manager of the same name cannot carry these, view managers are not registered as native modules.
+public class BrightcovePlayerCommandModule extends ReactContextBaseJavaModule {
+    private static final String NAME = "BrightcovePlayer";
+
+    private final PlayerResources resources;
+    private final BrightcovePlayerModule viewManager;
+
+    public BrightcovePlayerCommandModule(ReactApplicationContext reactContext, PlayerResources resources,
+                                         BrightcovePlayerModule viewManager) {
+        super(reactContext);
+        this.resources = resources;
+        this.viewManager = viewManager;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @ReactMethod
+    public void play(final int viewId, final Promise promise) {
+        withView(viewId, promise, "PLAY_ERROR", BrightcovePlayerView::play);
+    }
+
+    @ReactMethod
+    public void pause(final int viewId, final Promise promise) {
+        withView(viewId, promise, "PAUSE_ERROR", BrightcovePlayerView::pause);
+    }
+
+    @ReactMethod
+    // The bridge has no long arguments, milliseconds arrive as a double
+    public void seekTo(final int viewId, final double milliseconds, final Promise promise) {
+        withView(viewId, promise, "SEEK_ERROR", view -> view.seekTo((long) milliseconds));
+    }
+
+    @ReactMethod
+    public void next(final int viewId, final Promise promise) {
+        withView(viewId, promise, "PLAYLIST_ERROR", BrightcovePlayerView::next);
+    }
+
+    @ReactMethod
+    public void previous(final int viewId, final Promise promise) {
+        withView(viewId, promise, "PLAYLIST_ERROR", BrightcovePlayerView::previous);
+    }
+
+    @ReactMethod
+    public void skipTo(final int viewId, final int index, final Promise promise) {
+        withView(viewId, promise, "PLAYLIST_ERROR", view -> view.skipTo(index));
+    }
+
+    @ReactMethod
+    public void seekToLiveEdge(final int viewId, final Promise promise) {
+        withView(viewId, promise, "SEEK_ERROR", BrightcovePlayerView::seekToLiveEdge);
+    }
+
+    @ReactMethod
+    public void setVolume(final int viewId, final float volume, final Promise promise) {
+        withView(viewId, promise, "VOLUME_ERROR", view -> view.setVolume(volume));
+    }
+
+    // Runs a list of commands such as [{ type: 'seekTo', position }, { type: 'setVolume', volume }, { type: 'play' }]
+    // in order within a single UI thread hop
+    @ReactMethod
+    public void executeBatch(final int viewId, final ReadableArray commands, final Promise promise) {
+        for (int i = 0; i < commands.size(); i++) {
+            ReadableMap command = commands.getMap(i);
+            String type = command != null && command.hasKey("type") ? command.getString("type") : null;
+            if (!isBatchCommand(type)) {
+                promise.reject("INVALID_COMMAND", "Unknown command at index " + i + ": " + type);
+                return;
+            }
+        }
+        withView(viewId, promise, "BATCH_ERROR", view -> {
+            for (int i = 0; i < commands.size(); i++) {
+                runBatchCommand(view, commands.getMap(i));
+            }
+        });
+    }
+
+    private static boolean isBatchCommand(String type) {
+        return "play".equals(type) || "pause".equals(type) || "seekTo".equals(type) || "setVolume".equals(type);
+    }
+
+    private static void runBatchCommand(BrightcovePlayerView view, ReadableMap command) {
+        switch (command.getString("type")) {
+            case "play":
+                view.play();
+                break;
+            case "pause":
+                view.pause();
+                break;
+            case "seekTo":
+                view.seekTo((long) command.getDouble("position"));
+                break;
+            case "setVolume":
+                view.setVolume((float) command.getDouble("volume"));
+                break;
+        }
+    }
+
+    @ReactMethod
+    public void getCurrentTime(final int viewId, final Promise promise) {
+        withViewPromise(viewId, promise, "TIME_ERROR", view -> view.getCurrentTime(promise));
+    }
+
+    @ReactMethod
+    public void getDuration(final int viewId, final Promise promise) {
+        withViewPromise(viewId, promise, "TIME_ERROR", view -> view.getDuration(promise));
+    }
+
+    @ReactMethod
+    public void getPlaybackStats(final int viewId, final Promise promise) {
+        withViewPromise(viewId, promise, "STATS_ERROR", view -> view.getPlaybackStats(promise));
+    }
+
+    @ReactMethod
+    public void getLoadTimeline(final int viewId, final Promise promise) {
+        withViewPromise(viewId, promise, "TIMELINE_ERROR", view -> view.getLoadTimeline(promise));
+    }
+
+    interface ViewCommand {
+        void run(BrightcovePlayerView view);
+    }
+
+    private void withViewPromise(final int viewId, final Promise promise, final String errorCode,
+                                 final ViewCommand command) {
+        final long queuedAtNanos = System.nanoTime();
+        UiThreadUtil.runOnUiThread(() -> {
+            PlayerTrace.instant(PlayerTrace.COMMAND_HOP, (System.nanoTime() - queuedAtNanos) / 1000);
+            PlayerTrace.begin(PlayerTrace.VIEW_COMMAND);
+            try {
+                BrightcovePlayerView view = viewManager.resolveView(viewId);
+                if (view != null) {
+                    // The command settles the promise itself
+                    command.run(view);
+                } else {
+                    promise.reject("VIEW_NOT_FOUND", "Could not find view with id " + viewId);
+                }
+            } catch (Exception e) {
+                promise.reject(errorCode, e);
+            } finally {
+                PlayerTrace.end(PlayerTrace.VIEW_COMMAND);
+            }
+        });
+    }
+
+    private void withView(final int viewId, final Promise promise, final String errorCode, final ViewCommand command) {
+        final long queuedAtNanos = System.nanoTime();
+        UiThreadUtil.runOnUiThread(() -> {
+            PlayerTrace.instant(PlayerTrace.COMMAND_HOP, (System.nanoTime() - queuedAtNanos) / 1000);
+            PlayerTrace.begin(PlayerTrace.VIEW_COMMAND);
+            try {
+                BrightcovePlayerView view = viewManager.resolveView(viewId);
+                if (view != null) {
+                    command.run(view);
+                    promise.resolve(null);
+                } else {
+                    promise.reject("VIEW_NOT_FOUND", "Could not find view with id " + viewId);
+                }
+            } catch (Exception e) {
+                promise.reject(errorCode, e);
+            } finally {
+                PlayerTrace.end(PlayerTrace.VIEW_COMMAND);
+            }
+        });
+    }
+
+    @ReactMethod
+    public void getPlayerPoolStats(final Promise promise) {
+        UiThreadUtil.runOnUiThread(() -> promise.resolve(resources.playerPool.getStats()));
+    }
+
+    @ReactMethod
+    public void clearMetadataCache(final Promise promise) {
+        resources.catalogCache.clear();
+        promise.resolve(null);
+    }
+
+    @ReactMethod
+    public void prefetch(final ReadableArray videoIds, final ReadableMap options, final Promise promise) {
+        if (options == null || !options.hasKey("accountId") || !options.hasKey("policyKey")) {
+            promise.reject("INVALID_OPTIONS", "prefetch requires accountId and policyKey");
+            return;
+        }
+        if (resources.prefetcher == null) {
+            promise.reject("CACHE_DISABLED", "prefetch needs the media cache, enable it with setMediaCacheSize");
+            return;
+        }
+        String accountId = options.getString("accountId");
+        String policyKey = options.getString("policyKey");
+        int seconds = options.hasKey("seconds") ? options.getInt("seconds") : Prefetcher.DEFAULT_SECONDS;
+        int maxBitrate = options.hasKey("maxBitrate") ? options.getInt("maxBitrate") : Prefetcher.DEFAULT_MAX_BITRATE;
+
+        final int count = videoIds.size();
+        if (count == 0) {
+            promise.resolve(Arguments.createArray());
+            return;
+        }
+        final WritableArray results = Arguments.createArray();
+        final AtomicInteger remaining = new AtomicInteger(count);
+        Prefetcher.Callback callback = (videoId, status, bytesCached) -> {
+            WritableMap result = Arguments.createMap();
+            result.putString("videoId", videoId);
+            result.putString("status", status);
+            result.putDouble("bytesCached", bytesCached);
+            synchronized (results) {
+                results.pushMap(result);
+            }
+            if (remaining.decrementAndGet() == 0) {
+                promise.resolve(results);
+            }
+        };
+        for (int i = 0; i < count; i++) {
+            resources.prefetcher.prefetch(accountId, policyKey, videoIds.getString(i), seconds, maxBitrate, callback);
+        }
+    }
+
+    @ReactMethod
+    public void cancelPrefetch(final ReadableArray videoIds, final Promise promise) {
+        if (resources.prefetcher == null) {
+            promise.resolve(null);
+            return;
+        }
+        if (videoIds == null || videoIds.size() == 0) {
+            resources.prefetcher.cancelAll();
+        } else {
+            for (int i = 0; i < videoIds.size(); i++) {
+                resources.prefetcher.cancel(videoIds.getString(i));
+            }
+        }
+        promise.resolve(null);
+    }
+
+    @ReactMethod
+    public void getMediaCacheStats(final Promise promise) {
+        if (resources.mediaCache == null) {
+            WritableMap stats = Arguments.createMap();
+            stats.putBoolean("enabled", false);
+            promise.resolve(stats);
+            return;
+        }
+        promise.resolve(resources.mediaCache.getStats());
+    }
+
+    @ReactMethod
+    public void getBudgetUsage(final Promise promise) {
+        UiThreadUtil.runOnUiThread(() -> {
+            PlayerBudget budget = resources.playerBudget;
+            WritableMap usage = Arguments.createMap();
+            usage.putInt("maxDecoders", budget.getMaxDecoders());
+            usage.putInt("decodersInUse", budget.getDecodersInUse());
+            usage.putDouble("maxBufferBytes", budget.getMaxBufferBytes());
+            usage.putDouble("bufferBytesInUse", budget.getBufferBytesInUse());
+            usage.putInt("playing", budget.getClaimCount(PlayerBudget.PRIORITY_PLAYING));
+            usage.putInt("paused", budget.getClaimCount(PlayerBudget.PRIORITY_PAUSED));
+            usage.putInt("hidden", budget.getClaimCount(PlayerBudget.PRIORITY_HIDDEN));
+            usage.putInt("demotions", budget.getDemotionCount());
+            promise.resolve(usage);
+        });
+    }
+
+    @ReactMethod
+    public void getDecoderCapabilities(final Promise promise) {
+        promise.resolve(resources.decoderCapabilities.toMap());
+    }
+
+    @ReactMethod
+    public void getNetworkStats(final Promise promise) {
+        promise.resolve(resources.networkStack.getStats());
+    }
+
+    // capacity 0 keeps the default ring size
+    @ReactMethod
+    public void startTraceRecording(final int capacity, final Promise promise) {
+        if (capacity < 0 || capacity > TraceBuffer.MAX_CAPACITY) {
+            promise.reject("INVALID_CAPACITY", "Trace capacity must be between 0 and " + TraceBuffer.MAX_CAPACITY);
+            return;
+        }
+        PlayerTrace.setRecording(true, capacity > 0 ? capacity : TraceBuffer.DEFAULT_CAPACITY);
+        promise.resolve(null);
+    }
+
+    @ReactMethod
+    public void stopTraceRecording(final Promise promise) {
+        PlayerTrace.setRecording(false, 0);
+        promise.resolve(null);
+    }
+
+    @ReactMethod
+    public void dumpTrace(final Promise promise) {
+        promise.resolve(PlayerTrace.dump());
+    }
+}
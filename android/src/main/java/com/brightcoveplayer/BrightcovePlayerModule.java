@@ -1,21 +1,34 @@
 package com.brightcoveplayer;
 
+import android.util.SparseArray;
+import android.view.View;
+
 import com.facebook.react.bridge.ReactApplicationContext;
-import com.facebook.react.bridge.ReactContextBaseJavaModule;
-import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
-import com.facebook.react.bridge.Promise;
+import com.facebook.react.common.MapBuilder;
+import com.facebook.react.bridge.UIManager;
+import com.facebook.react.uimanager.ReactStylesDiffMap;
 import com.facebook.react.uimanager.SimpleViewManager;
+import com.facebook.react.uimanager.StateWrapper;
 import com.facebook.react.uimanager.ThemedReactContext;
+import com.facebook.react.uimanager.UIManagerHelper;
 import com.facebook.react.uimanager.annotations.ReactProp;
-import com.facebook.react.bridge.UiThreadUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 public class BrightcovePlayerModule extends SimpleViewManager<BrightcovePlayerView> {
     private static final String REACT_CLASS = "BrightcovePlayer";
     private final ReactApplicationContext reactContext;
+    private final PlayerResources resources;
+    // Only touched on the UI thread
+    private final SparseArray<BrightcovePlayerView> views = new SparseArray<>();
 
-    public BrightcovePlayerModule(ReactApplicationContext reactContext) {
+    public BrightcovePlayerModule(ReactApplicationContext reactContext, PlayerResources resources) {
         this.reactContext = reactContext;
+        this.resources = resources;
     }
 
     @Override
@@ -25,7 +38,34 @@ public class BrightcovePlayerModule extends SimpleViewManager<BrightcovePlayerVi
 
     @Override
     protected BrightcovePlayerView createViewInstance(ThemedReactContext reactContext) {
-        return new BrightcovePlayerView(reactContext);
+        return new BrightcovePlayerView(reactContext, resources);
+    }
+
+    @Override
+    protected BrightcovePlayerView createViewInstance(int reactTag, ThemedReactContext reactContext,
+                                                      ReactStylesDiffMap initialProps, StateWrapper stateWrapper) {
+        PlayerTrace.begin(PlayerTrace.CREATE_VIEW);
+        BrightcovePlayerView view = super.createViewInstance(reactTag, reactContext, initialProps, stateWrapper);
+        views.put(reactTag, view);
+        resources.playbackStates.put(reactTag, view.getPlaybackState());
+        PlayerTrace.end(PlayerTrace.CREATE_VIEW);
+        return view;
+    }
+
+    @Override
+    public void onDropViewInstance(BrightcovePlayerView view) {
+        super.onDropViewInstance(view);
+        views.remove(view.getId());
+        resources.playbackStates.remove(view.getId());
+    }
+
+    @Override
+    public Map<String, Object> getExportedCustomDirectEventTypeConstants() {
+        MapBuilder.Builder<String, Object> events = MapBuilder.builder();
+        for (String eventName : PlayerEventEmitter.EVENT_NAMES) {
+            events.put(eventName, MapBuilder.of("registrationName", eventName));
+        }
+        return events.build();
     }
 
     @ReactProp(name = "accountId")
@@ -38,85 +78,116 @@ public class BrightcovePlayerModule extends SimpleViewManager<BrightcovePlayerVi
         view.setVideoId(videoId);
     }
 
+    @ReactProp(name = "playlistId")
+    public void setPlaylistId(BrightcovePlayerView view, String playlistId) {
+        view.setPlaylistId(playlistId);
+    }
+
+    @ReactProp(name = "videoIds")
+    public void setVideoIds(BrightcovePlayerView view, ReadableArray videoIds) {
+        List<String> ids = null;
+        if (videoIds != null) {
+            ids = new ArrayList<>(videoIds.size());
+            for (int i = 0; i < videoIds.size(); i++) {
+                ids.add(videoIds.getString(i));
+            }
+        }
+        view.setVideoIds(ids);
+    }
+
     @ReactProp(name = "policyKey")
     public void setPolicyKey(BrightcovePlayerView view, String policyKey) {
         view.setPolicyKey(policyKey);
     }
 
+    @ReactProp(name = "autoQuality", defaultBoolean = true)
+    public void setAutoQuality(BrightcovePlayerView view, boolean autoQuality) {
+        view.setAutoQuality(autoQuality);
+    }
+
+    @ReactProp(name = "progressInterval", defaultInt = (int) EventCoalescer.DEFAULT_PROGRESS_INTERVAL_MS)
+    public void setProgressInterval(BrightcovePlayerView view, int intervalMs) {
+        view.setProgressInterval(intervalMs);
+    }
+
+    // { preset: 'fastStart' | 'feed' | 'longForm' | 'lowMemory', minBufferMs, maxBufferMs, bufferForPlaybackMs,
+    //   bufferForPlaybackAfterRebufferMs, backBufferMs, targetBufferBytes }
+    @ReactProp(name = "bufferProfile")
+    public void setBufferProfile(BrightcovePlayerView view, ReadableMap profile) {
+        if (profile == null) {
+            view.setBufferProfile(BufferProfile.DEFAULT);
+            return;
+        }
+        BufferProfile.Builder builder = new BufferProfile.Builder(
+            profile.hasKey("preset") ? profile.getString("preset") : null);
+        if (profile.hasKey("minBufferMs")) {
+            builder.setMinBufferMs(profile.getInt("minBufferMs"));
+        }
+        if (profile.hasKey("maxBufferMs")) {
+            builder.setMaxBufferMs(profile.getInt("maxBufferMs"));
+        }
+        if (profile.hasKey("bufferForPlaybackMs")) {
+            builder.setBufferForPlaybackMs(profile.getInt("bufferForPlaybackMs"));
+        }
+        if (profile.hasKey("bufferForPlaybackAfterRebufferMs")) {
+            builder.setBufferForPlaybackAfterRebufferMs(profile.getInt("bufferForPlaybackAfterRebufferMs"));
+        }
+        if (profile.hasKey("backBufferMs")) {
+            builder.setBackBufferMs(profile.getInt("backBufferMs"));
+        }
+        if (profile.hasKey("targetBufferBytes")) {
+            builder.setTargetBufferBytes(profile.getInt("targetBufferBytes"));
+        }
+        view.setBufferProfile(builder.build());
+    }
+
+    @ReactProp(name = "preload")
+    public void setPreload(BrightcovePlayerView view, String preload) {
+        view.setPreload(preload);
+    }
+
+    @ReactProp(name = "liveMode")
+    public void setLiveMode(BrightcovePlayerView view, ReadableMap liveMode) {
+        if (liveMode == null || (liveMode.hasKey("enabled") && !liveMode.getBoolean("enabled"))) {
+            view.setLiveMode(null);
+            return;
+        }
+        view.setLiveMode(new LiveLatencyController(
+            liveMode.hasKey("targetOffsetMs")
+                ? (long) liveMode.getDouble("targetOffsetMs") : LiveLatencyController.DEFAULT_TARGET_OFFSET_MS,
+            liveMode.hasKey("minPlaybackSpeed")
+                ? (float) liveMode.getDouble("minPlaybackSpeed") : LiveLatencyController.DEFAULT_MIN_PLAYBACK_SPEED,
+            liveMode.hasKey("maxPlaybackSpeed")
+                ? (float) liveMode.getDouble("maxPlaybackSpeed") : LiveLatencyController.DEFAULT_MAX_PLAYBACK_SPEED,
+            liveMode.hasKey("maxDriftMs")
+                ? (long) liveMode.getDouble("maxDriftMs") : LiveLatencyController.DEFAULT_MAX_DRIFT_MS));
+    }
+
+    @ReactProp(name = "statsInterval", defaultInt = BrightcovePlayerView.DEFAULT_STATS_INTERVAL_MS)
+    public void setStatsInterval(BrightcovePlayerView view, int intervalMs) {
+        view.setStatsInterval(intervalMs);
+    }
+
     @ReactProp(name = "initialQuality")
     public void setInitialQuality(BrightcovePlayerView view, String quality) {
         view.setInitialQuality(quality);
     }
 
-    @ReactMethod
-    public void play(final int viewId, final Promise promise) {
-        UiThreadUtil.runOnUiThread(() -> {
-            try {
-                BrightcovePlayerView view = (BrightcovePlayerView) reactContext.getCurrentActivity()
-                    .findViewById(viewId);
-                if (view != null) {
-                    view.play();
-                    promise.resolve(null);
-                } else {
-                    promise.reject("VIEW_NOT_FOUND", "Could not find view with id " + viewId);
-                }
-            } catch (Exception e) {
-                promise.reject("PLAY_ERROR", e);
-            }
-        });
-    }
-
-    @ReactMethod
-    public void pause(final int viewId, final Promise promise) {
-        UiThreadUtil.runOnUiThread(() -> {
-            try {
-                BrightcovePlayerView view = (BrightcovePlayerView) reactContext.getCurrentActivity()
-                    .findViewById(viewId);
-                if (view != null) {
-                    view.pause();
-                    promise.resolve(null);
-                } else {
-                    promise.reject("VIEW_NOT_FOUND", "Could not find view with id " + viewId);
-                }
-            } catch (Exception e) {
-                promise.reject("PAUSE_ERROR", e);
-            }
-        });
-    }
-
-    @ReactMethod
-    public void seekTo(final int viewId, final long milliseconds, final Promise promise) {
-        UiThreadUtil.runOnUiThread(() -> {
-            try {
-                BrightcovePlayerView view = (BrightcovePlayerView) reactContext.getCurrentActivity()
-                    .findViewById(viewId);
-                if (view != null) {
-                    view.seekTo(milliseconds);
-                    promise.resolve(null);
-                } else {
-                    promise.reject("VIEW_NOT_FOUND", "Could not find view with id " + viewId);
-                }
-            } catch (Exception e) {
-                promise.reject("SEEK_ERROR", e);
-            }
-        });
-    }
-
-    @ReactMethod
-    public void setVolume(final int viewId, final float volume, final Promise promise) {
-        UiThreadUtil.runOnUiThread(() -> {
-            try {
-                BrightcovePlayerView view = (BrightcovePlayerView) reactContext.getCurrentActivity()
-                    .findViewById(viewId);
-                if (view != null) {
-                    view.setVolume(volume);
-                    promise.resolve(null);
-                } else {
-                    promise.reject("VIEW_NOT_FOUND", "Could not find view with id " + viewId);
-                }
-            } catch (Exception e) {
-                promise.reject("VOLUME_ERROR", e);
-            }
-        });
+    // Only on the UI thread. Registered views are found by tag directly; anything else falls back to the UIManager
+    BrightcovePlayerView resolveView(int viewId) {
+        BrightcovePlayerView view = views.get(viewId);
+        if (view != null) {
+            return view;
+        }
+        UIManager uiManager = UIManagerHelper.getUIManagerForReactTag(reactContext, viewId);
+        if (uiManager == null) {
+            return null;
+        }
+        try {
+            View resolved = uiManager.resolveView(viewId);
+            return resolved instanceof BrightcovePlayerView ? (BrightcovePlayerView) resolved : null;
+        } catch (RuntimeException e) {
+            return null;
+        }
     }
-} 
\ No newline at end of file
+}
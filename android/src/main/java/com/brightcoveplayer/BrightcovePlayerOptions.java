@@ -0,0 +1,124 @@
+package com.brightcoveplayer;
+
+import okhttp3.OkHttpClient;
+
+public class BrightcovePlayerOptions {
+    final int playerPoolSize;
+    final long mediaCacheBytes;
+    final long trimGracePeriodMs;
+    final int maxParallelDownloads;
+    final long downloadQuotaBytes;
+    final String catalogBaseUrl;
+    final int maxPreparedPlayers;
+    final OkHttpClient httpClient;
+    final long dnsCacheTtlMs;
+    final int maxDecoders;
+    final long bufferBudgetBytes;
+    final int traceBufferSize;
+
+    private BrightcovePlayerOptions(Builder builder) {
+        this.playerPoolSize = builder.playerPoolSize;
+        this.mediaCacheBytes = builder.mediaCacheBytes;
+        this.trimGracePeriodMs = builder.trimGracePeriodMs;
+        this.maxParallelDownloads = builder.maxParallelDownloads;
+        this.downloadQuotaBytes = builder.downloadQuotaBytes;
+        this.catalogBaseUrl = builder.catalogBaseUrl;
+        this.maxPreparedPlayers = builder.maxPreparedPlayers;
+        this.httpClient = builder.httpClient;
+        this.dnsCacheTtlMs = builder.dnsCacheTtlMs;
+        this.maxDecoders = builder.maxDecoders;
+        this.bufferBudgetBytes = builder.bufferBudgetBytes;
+        this.traceBufferSize = builder.traceBufferSize;
+    }
+
+    public static class Builder {
+        private int playerPoolSize = PlayerPool.DEFAULT_POOL_SIZE;
+        private long mediaCacheBytes = 0;
+        private long trimGracePeriodMs = PlayerTrimmer.DEFAULT_GRACE_PERIOD_MS;
+        private int maxParallelDownloads = VideoDownloader.DEFAULT_MAX_PARALLEL_DOWNLOADS;
+        private long downloadQuotaBytes = 0;
+        private String catalogBaseUrl;
+        private int maxPreparedPlayers = PreloadBudget.DEFAULT_MAX_PREPARED;
+        private OkHttpClient httpClient;
+        private long dnsCacheTtlMs = NetworkStack.DEFAULT_DNS_TTL_MS;
+        private int maxDecoders = 0;
+        private long bufferBudgetBytes = 0;
+        private int traceBufferSize = 0;
+
+        public Builder setPlayerPoolSize(int playerPoolSize) {
+            this.playerPoolSize = playerPoolSize;
+            return this;
+        }
+
+        // Enables the shared on-disk media cache; 0 (the default) leaves it off
+        public Builder setMediaCacheSize(long bytes) {
+            this.mediaCacheBytes = bytes;
+            return this;
+        }
+
+        // How long a paused off-screen or backgrounded player keeps its decoders before they are freed
+        public Builder setTrimGracePeriod(long milliseconds) {
+            this.trimGracePeriodMs = milliseconds;
+            return this;
+        }
+
+        public Builder setMaxParallelDownloads(int maxParallelDownloads) {
+            this.maxParallelDownloads = maxParallelDownloads;
+            return this;
+        }
+
+        // Caps the bytes offline downloads may use; 0 (the default) means no cap
+        public Builder setDownloadQuota(long bytes) {
+            this.downloadQuotaBytes = bytes;
+            return this;
+        }
+
+        // Points the Playback API at another host, e.g. a local stand-in during tests
+        public Builder setCatalogBaseUrl(String baseUrl) {
+            this.catalogBaseUrl = baseUrl;
+            return this;
+        }
+
+        // How many paused views with preload="firstFrame" may hold a prepared player at once
+        public Builder setMaxPreparedPlayers(int maxPreparedPlayers) {
+            this.maxPreparedPlayers = maxPreparedPlayers;
+            return this;
+        }
+
+        // Media, download and preview requests share this client's connection pool; by default
+        // React Native's own client is used
+        public Builder setHttpClient(OkHttpClient httpClient) {
+            this.httpClient = httpClient;
+            return this;
+        }
+
+        public Builder setDnsCacheTtl(long milliseconds) {
+            this.dnsCacheTtlMs = milliseconds;
+            return this;
+        }
+
+        // How many players may hold video decoders at once across all views; 0 (the default) uses
+        // PlayerBudget.DEFAULT_MAX_DECODERS, lowered to the device's decoder instance limit once it is probed
+        public Builder setMaxDecoders(int maxDecoders) {
+            this.maxDecoders = maxDecoders;
+            return this;
+        }
+
+        // Buffer memory shared by all players; 0 (the default) uses half the app's heap limit
+        public Builder setBufferBudget(long bytes) {
+            this.bufferBudgetBytes = bytes;
+            return this;
+        }
+
+        // Records trace events into a ring of this many entries from startup, before JS can turn it on;
+        // 0 (the default) leaves recording off. Sizes above TraceBuffer.MAX_CAPACITY are capped
+        public Builder setTraceBufferSize(int events) {
+            this.traceBufferSize = events;
+            return this;
+        }
+
+        public BrightcovePlayerOptions build() {
+            return new BrightcovePlayerOptions(this);
+        }
+    }
+}
@@ -1,22 +1,61 @@
 package com.brightcoveplayer;
 
+import android.content.Context;
+
 import com.facebook.react.ReactPackage;
 import com.facebook.react.bridge.NativeModule;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.uimanager.ViewManager;
 
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 
 public class BrightcovePlayerPackage implements ReactPackage {
+    private static PlayerResources resources;
+    private final BrightcovePlayerOptions options;
+    // The command module resolves views through the view manager's tag registry, so both share one per bridge
+    private BrightcovePlayerModule viewManager;
+    private ReactApplicationContext viewManagerContext;
+
+    public BrightcovePlayerPackage() {
+        this(new BrightcovePlayerOptions.Builder().build());
+    }
+
+    public BrightcovePlayerPackage(int playerPoolSize) {
+        this(new BrightcovePlayerOptions.Builder().setPlayerPoolSize(playerPoolSize).build());
+    }
+
+    public BrightcovePlayerPackage(BrightcovePlayerOptions options) {
+        this.options = options;
+    }
+
     @Override
     public List<NativeModule> createNativeModules(ReactApplicationContext reactContext) {
-        return Collections.emptyList();
+        PlayerResources playerResources = getResources(reactContext, options);
+        return Arrays.asList(
+            new BrightcovePlayerCommandModule(reactContext, playerResources, getViewManager(reactContext)),
+            new BrightcoveDownloadModule(reactContext, playerResources),
+            new BrightcovePlaybackStateModule(reactContext, playerResources));
     }
 
     @Override
     public List<ViewManager> createViewManagers(ReactApplicationContext reactContext) {
-        return Arrays.asList(new BrightcovePlayerModule());
+        return Arrays.asList(getViewManager(reactContext));
+    }
+
+    private synchronized BrightcovePlayerModule getViewManager(ReactApplicationContext reactContext) {
+        if (viewManager == null || viewManagerContext != reactContext) {
+            viewManager = new BrightcovePlayerModule(reactContext, getResources(reactContext, options));
+            viewManagerContext = reactContext;
+        }
+        return viewManager;
+    }
+
+    // Shared resources outlive bridge reloads so warm players and cached metadata survive a JS reload
+    private static synchronized PlayerResources getResources(Context context, BrightcovePlayerOptions options) {
+        if (resources == null) {
+            resources = new PlayerResources(context, options);
+        }
+        return resources;
     }
-} 
\ No newline at end of file
+}
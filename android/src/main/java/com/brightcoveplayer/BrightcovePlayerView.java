@@ -2,6 +2,7 @@ package com.brightcoveplayer;
 
 import android.content.Context;
 import android.widget.FrameLayout;
+import android.widget.ImageView;
 import android.widget.ProgressBar;
 import android.view.ViewGroup;
 import android.graphics.Color;
@@ -11,13 +12,20 @@ import android.widget.TextView;
 import android.widget.LinearLayout;
 import android.view.Gravity;
 import android.graphics.ColorStateList;
+import android.graphics.Bitmap;
+import android.graphics.Rect;
 import android.net.ConnectivityManager;
-import android.net.NetworkInfo;
+import android.net.Network;
 import android.os.Handler;
 import android.os.Looper;
+import android.os.SystemClock;
+import android.view.Choreographer;
+import android.view.ViewTreeObserver;
 
 import com.brightcove.player.edge.Catalog;
+import com.brightcove.player.edge.CatalogError;
 import com.brightcove.player.edge.VideoListener;
+import com.brightcove.player.event.Event;
 import com.brightcove.player.event.EventEmitter;
 import com.brightcove.player.event.EventType;
 import com.brightcove.player.model.Video;
@@ -26,34 +34,137 @@ import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.Promise;
-import com.facebook.react.modules.core.DeviceEventManagerModule;
+import com.facebook.react.bridge.LifecycleEventListener;
+import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.common.LifecycleState;
+import com.google.android.exoplayer2.C;
 import com.google.android.exoplayer2.ExoPlayer;
+import com.google.android.exoplayer2.MediaItem;
+import com.google.android.exoplayer2.analytics.AnalyticsListener;
+import com.google.android.exoplayer2.source.LoadEventInfo;
+import com.google.android.exoplayer2.source.MediaLoadData;
+import com.google.android.exoplayer2.source.MediaSource;
+import com.google.android.exoplayer2.PlaybackException;
+import com.google.android.exoplayer2.PlaybackParameters;
 import com.google.android.exoplayer2.Player;
+import com.google.android.exoplayer2.SeekParameters;
 import com.google.android.exoplayer2.trackselection.DefaultTrackSelector;
-import com.google.android.exoplayer2.trackselection.MappingTrackSelector;
-import com.google.android.exoplayer2.trackselection.TrackSelector;
 import com.google.android.exoplayer2.Format;
-import com.google.android.exoplayer2.source.TrackGroup;
-import com.google.android.exoplayer2.source.TrackGroupArray;
-import com.google.android.exoplayer2.trackselection.TrackSelectionArray;
+import com.google.android.exoplayer2.Tracks;
+import com.google.android.exoplayer2.decoder.DecoderReuseEvaluation;
 import com.google.android.exoplayer2.text.Cue;
+import com.google.android.exoplayer2.text.CueGroup;
 import com.google.android.exoplayer2.text.TextOutput;
 import com.google.android.exoplayer2.text.SubtitleView;
 
-public class BrightcovePlayerView extends FrameLayout implements TextOutput {
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class BrightcovePlayerView extends FrameLayout
+        implements TextOutput, LifecycleEventListener, PlayerTrimmer.Trimmable, PreloadBudget.Preloadable,
+        PlayerBudget.Member {
+    public static final String PRELOAD_NONE = "none";
+    public static final String PRELOAD_METADATA = "metadata";
+    public static final String PRELOAD_FIRST_FRAME = "firstFrame";
+
     private BrightcoveExoPlayerVideoView brightcoveVideoView;
     private Catalog catalog;
     private String accountId;
     private String videoId;
     private String policyKey;
-    private ReactApplicationContext reactContext;
+    // Queue mode plays a whole playlist or list of videos as one timeline
+    private String playlistId;
+    private List<String> queueVideoIds;
+    private int resumeItemIndex;
+    private int loadGeneration;
+    private final PlayerEventEmitter playerEventEmitter = new PlayerEventEmitter(this);
     private ProgressBar loadingIndicator;
     private SeekBar progressBar;
     private ProgressBar bufferingProgressBar;
     private TextView currentTimeText;
     private TextView durationText;
     private LinearLayout controlsContainer;
+    private ImageView thumbnailView;
+    private final ThumbnailCache thumbnailCache;
+    private ThumbnailTrack thumbnailTrack;
+    private String thumbnailTrackUrl;
+    private int displayedThumbnail = -1;
+    private final ThumbnailCache.ThumbnailCallback thumbnailCallback = (thumbnail, bitmap) -> {
+        // Only if the drag is still over the thumbnail that was requested
+        if (scrubController.isScrubbing() && thumbnailTrack != null && displayedThumbnail >= 0
+                && thumbnailTrack.get(displayedThumbnail) == thumbnail) {
+            thumbnailView.setImageBitmap(bitmap);
+        }
+    };
+    private final ScrubController scrubController = new ScrubController(ScrubController.DEFAULT_SEEK_INTERVAL_MS);
+    private boolean playWhenScrubEnds;
+    private final Runnable scrubSeekTick = this::flushScrubSeek;
     private boolean isControlsVisible = true;
+    private static final int PROGRESS_SCALE = 10000;
+    // TextView keeps a reference to the chars it was given, so each label owns its buffer
+    private final char[] currentTimeChars = new char[TimeFormatter.MAX_LENGTH];
+    private final char[] durationChars = new char[TimeFormatter.MAX_LENGTH];
+    private long displayedSecond = -1;
+    private long displayedDurationSecond = -1;
+    private int displayedProgress = -1;
+    private int displayedBufferedProgress = -1;
+    private boolean controlsTickScheduled;
+    private final Choreographer.FrameCallback controlsTick = frameTimeNanos -> {
+        controlsTickScheduled = false;
+        PlayerTrace.begin(PlayerTrace.RENDER_CONTROLS);
+        renderControls();
+        PlayerTrace.end(PlayerTrace.RENDER_CONTROLS);
+        // Paused or buffering, nothing moves until the next player event schedules a frame
+        if (exoPlayer != null && exoPlayer.isPlaying()) {
+            scheduleControlsTick();
+        }
+    };
+    private final PlayerPool playerPool;
+    private final CatalogCache catalogCache;
+    private final PlayerTrimmer playerTrimmer;
+    private final VideoDownloader videoDownloader;
+    private final PreloadBudget preloadBudget;
+    private final PlayerBudget playerBudget;
+    private final DecoderCapabilities decoderCapabilities;
+    // Buffers are sized for the highest rendition the selector allows by default
+    private static final int BUDGET_MAX_BITRATE = 8000000;
+    private boolean budgetClaimed;
+    private boolean budgetDemotionPending;
+    private String preload = PRELOAD_METADATA;
+    private boolean sourceAdded;
+    private boolean loadRequested;
+    // Prop changes are collected for a frame and then load once, whatever order they arrived in
+    private boolean loadScheduled;
+    private long loadScheduledAtMs = -1;
+    private final Choreographer.FrameCallback loadFrame = frameTimeNanos -> flushLoad();
+    private CatalogCache.Request catalogRequest;
+    private int catalogTraceCookie;
+    private final LoadTimeline loadTimeline = new LoadTimeline();
+    private boolean playWhenLoaded;
+    private PlayerPool.PooledPlayer pooledPlayer;
+    private Player.Listener playerListener;
+    private AnalyticsListener analyticsListener;
+    private final ThroughputEstimator throughputEstimator =
+        new ThroughputEstimator(ThroughputEstimator.DEFAULT_WINDOW_SIZE);
+    private final QualityPolicy abrController = new AbrController();
+    private TrackSnapshot trackSnapshot = TrackSnapshot.EMPTY;
+    private BufferProfile bufferProfile = BufferProfile.DEFAULT;
+    public static final int DEFAULT_STATS_INTERVAL_MS = 10000;
+    private final PlaybackStats playbackStats = new PlaybackStats();
+    private int statsIntervalMs = DEFAULT_STATS_INTERVAL_MS;
+    private final Runnable statsTick = this::emitPlaybackStats;
+    private static final int LIVE_TICK_MS = 1000;
+    private LiveLatencyController liveLatencyController;
+    private final Runnable liveTick = this::updateLiveLatency;
+    // Readers extrapolate the position, so the tick only keeps the buffered position fresh
+    private static final int STATE_TICK_MS = 250;
+    private final PlaybackStateBuffer playbackState = new PlaybackStateBuffer();
+    private int videoBitrate = -1;
+    private final Runnable stateTick = () -> {
+        publishState();
+        scheduleStateTick();
+    };
     private ExoPlayer exoPlayer;
     private DefaultTrackSelector trackSelector;
     private String initialQuality;
@@ -61,12 +172,53 @@ public class BrightcovePlayerView extends FrameLayout implements TextOutput {
     private boolean captionsEnabled = true;
     private String captionsLanguage = "en";
     private SubtitleView subtitleView;
+    // Sideloaded caption files replace the stream's own text renderer while one is selected
+    private static final int MAX_SHOWN_CUES = 8;
+    private final CaptionCache captionCache;
+    private List<VideoSources.TextTrack> captionTracks = Collections.emptyList();
+    private String captionVideoId;
+    private String captionKey;
+    private CueIndex<Cue> captionCues;
+    private int[] queriedCues = new int[MAX_SHOWN_CUES];
+    private int[] shownCues = new int[MAX_SHOWN_CUES];
+    private int shownCueCount;
+    private final Runnable captionTick = this::renderCaptions;
     private Handler mainHandler;
     private ConnectivityManager connectivityManager;
     private NetworkCallback networkCallback;
+    // Active means attached, on screen and in a resumed app
+    private boolean active = true;
+    private boolean hostResumed = true;
+    private boolean resumeOnShow;
+    private long resumePositionMs = C.TIME_UNSET;
+    private final Rect visibleRect = new Rect();
+    private boolean visibilityCheckPending;
+    private final Runnable visibilityCheck = () -> {
+        visibilityCheckPending = false;
+        updateActiveState();
+    };
+    private final ViewTreeObserver.OnScrollChangedListener scrollListener = this::requestVisibilityCheck;
+    private final ViewTreeObserver.OnGlobalLayoutListener layoutListener = this::requestVisibilityCheck;
+    private final Runnable trimTick = this::trim;
+    // A refused claim demotes once on the next message, however many state changes arrive before it
+    private final Runnable budgetDemotion = () -> {
+        budgetDemotionPending = false;
+        if (!budgetClaimed) {
+            demote();
+        }
+    };
 
-    public BrightcovePlayerView(Context context) {
+    public BrightcovePlayerView(Context context, PlayerResources resources) {
         super(context);
+        this.playerPool = resources.playerPool;
+        this.catalogCache = resources.catalogCache;
+        this.playerTrimmer = resources.playerTrimmer;
+        this.videoDownloader = resources.videoDownloader;
+        this.preloadBudget = resources.preloadBudget;
+        this.playerBudget = resources.playerBudget;
+        this.decoderCapabilities = resources.decoderCapabilities;
+        this.thumbnailCache = resources.thumbnailCache;
+        this.captionCache = resources.captionCache;
         init(context);
     }
 
@@ -75,22 +227,7 @@ public class BrightcovePlayerView extends FrameLayout implements TextOutput {
         connectivityManager = (ConnectivityManager) context.getSystemService(Context.CONNECTIVITY_SERVICE);
         networkCallback = new NetworkCallback();
 
-        // Initialize ExoPlayer with HD support
-        trackSelector = new DefaultTrackSelector(context);
-        trackSelector.setParameters(
-            trackSelector.buildUponParameters()
-                .setMaxVideoSize(1920, 1080)  // Support up to 1080p
-                .setMaxVideoBitrate(8000000)  // 8Mbps for high quality
-                .setPreferredTextLanguage(captionsLanguage)
-                .setPreferredAudioLanguage(captionsLanguage)
-        );
-
-        exoPlayer = new ExoPlayer.Builder(context)
-            .setTrackSelector(trackSelector)
-            .build();
-
         brightcoveVideoView = new BrightcoveExoPlayerVideoView(context);
-        brightcoveVideoView.setPlayer(exoPlayer);
         addView(brightcoveVideoView, LayoutParams.MATCH_PARENT, LayoutParams.MATCH_PARENT);
         
         // Initialize subtitle view
@@ -124,14 +261,22 @@ public class BrightcovePlayerView extends FrameLayout implements TextOutput {
         bufferingProgressBar = new ProgressBar(context, null, android.R.attr.progressBarStyleHorizontal);
         bufferingProgressBar.setProgressTintList(ColorStateList.valueOf(Color.WHITE));
         bufferingProgressBar.setProgressBackgroundTintList(ColorStateList.valueOf(Color.GRAY));
+        bufferingProgressBar.setMax(PROGRESS_SCALE);
         LinearLayout.LayoutParams bufferingParams = new LinearLayout.LayoutParams(
             ViewGroup.LayoutParams.MATCH_PARENT,
             4
         );
         controlsContainer.addView(bufferingProgressBar, bufferingParams);
 
+        thumbnailView = new ImageView(context);
+        thumbnailView.setVisibility(GONE);
+        controlsContainer.addView(thumbnailView, 0, new LinearLayout.LayoutParams(
+            ViewGroup.LayoutParams.WRAP_CONTENT,
+            ViewGroup.LayoutParams.WRAP_CONTENT
+        ));
+
         progressBar = new SeekBar(context);
-        progressBar.setMax(100);
+        progressBar.setMax(PROGRESS_SCALE);
         LinearLayout.LayoutParams progressParams = new LinearLayout.LayoutParams(
             ViewGroup.LayoutParams.MATCH_PARENT,
             ViewGroup.LayoutParams.WRAP_CONTENT
@@ -167,73 +312,190 @@ public class BrightcovePlayerView extends FrameLayout implements TextOutput {
         EventEmitter eventEmitter = brightcoveVideoView.getEventEmitter();
         eventEmitter.on(EventType.BUFFER_START, event -> {
             showLoadingIndicator();
-            sendEvent("onBuffering", true);
+            playerEventEmitter.emitBuffering(true);
         });
         eventEmitter.on(EventType.BUFFER_END, event -> {
             hideLoadingIndicator();
-            sendEvent("onBuffering", false);
+            playerEventEmitter.emitBuffering(false);
         });
+        // The control overlay is redrawn from controlsTick, progress events only feed JS
         eventEmitter.on(EventType.PROGRESS, event -> {
-            updateProgress(event);
-        });
-        eventEmitter.on(EventType.DURATION_CHANGE, event -> {
-            updateDuration(event);
+            emitProgress(event);
         });
 
         // Add ExoPlayer listeners with quality tracking
-        exoPlayer.addListener(new Player.Listener() {
+        playerListener = new Player.Listener() {
             @Override
             public void onPlaybackStateChanged(int state) {
+                // Decoders and buffers are held from prepare until the player is stopped
+                if (state == Player.STATE_IDLE) {
+                    releaseBudget();
+                } else if (!budgetClaimed) {
+                    claimBudget();
+                }
                 switch (state) {
                     case Player.STATE_BUFFERING:
                         showLoadingIndicator();
-                        sendEvent("onBuffering", true);
+                        playerEventEmitter.emitBuffering(true);
                         break;
                     case Player.STATE_READY:
                         hideLoadingIndicator();
-                        sendEvent("onBuffering", false);
-                        // Send available qualities when ready
-                        sendAvailableQualities();
+                        playerEventEmitter.emitBuffering(false);
                         break;
                 }
             }
 
             @Override
-            public void onTracksChanged(TrackGroupArray trackGroups, TrackSelectionArray trackSelections) {
-                sendAvailableQualities();
-                sendCurrentQuality();
+            public void onTracksChanged(Tracks tracks) {
+                PlayerTrace.begin(PlayerTrace.TRACKS_CHANGED);
+                updateTrackSnapshot(buildTrackSnapshot(tracks));
+                PlayerTrace.end(PlayerTrace.TRACKS_CHANGED);
             }
 
             @Override
             public void onPlayerError(PlaybackException error) {
-                WritableMap params = Arguments.createMap();
-                params.putString("error", error.getMessage());
-                reactContext
-                    .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
-                    .emit("onError", params);
+                playerEventEmitter.emitError(error.getMessage());
             }
-        });
+
+            @Override
+            public void onMediaItemTransition(MediaItem mediaItem, int reason) {
+                if (mediaItem != null && isQueueMode()) {
+                    WritableMap params = Arguments.createMap();
+                    params.putInt("index", exoPlayer.getCurrentMediaItemIndex());
+                    params.putString("videoId", mediaItem.mediaId);
+                    playerEventEmitter.emit(PlayerEventEmitter.EVENT_VIDEO_CHANGE, params);
+                    Video video = catalogCache.peekVideo(accountId, mediaItem.mediaId);
+                    loadThumbnails(video);
+                    loadCaptions(video);
+                }
+            }
+
+            @Override
+            public void onCues(CueGroup cueGroup) {
+                if (captionKey == null) {
+                    BrightcovePlayerView.this.onCues(cueGroup.cues);
+                }
+            }
+
+            @Override
+            public void onIsPlayingChanged(boolean isPlaying) {
+                renderCaptions();
+                updateBudgetPriority();
+            }
+
+            @Override
+            public void onPositionDiscontinuity(Player.PositionInfo oldPosition, Player.PositionInfo newPosition,
+                                                int reason) {
+                renderCaptions();
+            }
+
+            @Override
+            public void onPlaybackParametersChanged(PlaybackParameters playbackParameters) {
+                renderCaptions();
+            }
+
+            // Once per batch of player changes, after the individual callbacks
+            @Override
+            public void onEvents(Player player, Player.Events events) {
+                publishState();
+                scheduleStateTick();
+                scheduleControlsTick();
+            }
+        };
+        analyticsListener = new AnalyticsListener() {
+            @Override
+            public void onLoadCompleted(EventTime eventTime, LoadEventInfo loadEventInfo, MediaLoadData mediaLoadData) {
+                if (mediaLoadData.dataType == C.DATA_TYPE_MANIFEST) {
+                    PlayerTrace.instant(PlayerTrace.MANIFEST_LOADED, loadEventInfo.loadDurationMs);
+                }
+                if (mediaLoadData.dataType != C.DATA_TYPE_MEDIA) {
+                    return;
+                }
+                if (mediaLoadData.trackType == C.TRACK_TYPE_VIDEO || mediaLoadData.trackType == C.TRACK_TYPE_DEFAULT) {
+                    throughputEstimator.addSample(loadEventInfo.bytesLoaded, loadEventInfo.loadDurationMs);
+                    if (autoQuality) {
+                        evaluateAdaptiveQuality();
+                    }
+                }
+            }
+
+            @Override
+            public void onRenderedFirstFrame(EventTime eventTime, Object output, long renderTimeMs) {
+                PlayerTrace.instant(PlayerTrace.FIRST_FRAME, 0);
+                long now = SystemClock.elapsedRealtime();
+                playbackStats.onFirstFrame(now);
+                loadTimeline.mark(LoadTimeline.STAGE_FIRST_FRAME, now);
+            }
+
+            @Override
+            public void onPlaybackStateChanged(EventTime eventTime, int state) {
+                long now = SystemClock.elapsedRealtime();
+                if (state == Player.STATE_BUFFERING) {
+                    if (exoPlayer != null && exoPlayer.getPlayWhenReady()) {
+                        playbackStats.onStallStart(now);
+                    }
+                } else {
+                    playbackStats.onStallEnd(now);
+                }
+            }
+
+            @Override
+            public void onIsPlayingChanged(EventTime eventTime, boolean isPlaying) {
+                playbackStats.onPlayingChanged(isPlaying, SystemClock.elapsedRealtime());
+            }
+
+            @Override
+            public void onVideoInputFormatChanged(EventTime eventTime, Format format,
+                                                  DecoderReuseEvaluation decoderReuseEvaluation) {
+                playbackStats.onVideoBitrateChanged(format.bitrate, SystemClock.elapsedRealtime());
+                videoBitrate = format.bitrate;
+                publishState();
+            }
+
+            @Override
+            public void onVideoDecoderInitialized(EventTime eventTime, String decoderName,
+                                                  long initializedTimestampMs, long initializationDurationMs) {
+                PlayerTrace.instant(PlayerTrace.DECODER_INIT, initializationDurationMs);
+            }
+
+            @Override
+            public void onDroppedVideoFrames(EventTime eventTime, int droppedFrames, long elapsedMs) {
+                playbackStats.onDroppedFrames(droppedFrames);
+            }
+
+            @Override
+            public void onBandwidthEstimate(EventTime eventTime, int totalLoadTimeMs, long totalBytesLoaded,
+                                            long bitrateEstimate) {
+                playbackStats.onBandwidthEstimate(bitrateEstimate);
+            }
+        };
+        acquirePlayer();
         
         // Set up progress bar listener
         progressBar.setOnSeekBarChangeListener(new SeekBar.OnSeekBarChangeListener() {
             @Override
             public void onProgressChanged(SeekBar seekBar, int progress, boolean fromUser) {
-                if (fromUser) {
-                    long duration = exoPlayer.getDuration();
-                    long newPosition = (duration * progress) / 100;
-                    exoPlayer.seekTo(newPosition);
-                    updateCurrentTime(newPosition);
+                if (!fromUser || exoPlayer == null) {
+                    return;
                 }
+                long duration = exoPlayer.getDuration();
+                if (duration <= 0) {
+                    return;
+                }
+                long position = (duration * progress) / PROGRESS_SCALE;
+                renderCurrentTime(position);
+                showThumbnail(position, progress);
+                scrubTo(position);
             }
             
             @Override
             public void onStartTrackingTouch(SeekBar seekBar) {
-                exoPlayer.pause();
+                startScrub();
             }
             
             @Override
             public void onStopTrackingTouch(SeekBar seekBar) {
-                exoPlayer.play();
+                endScrub(seekBar.getProgress());
             }
         });
         
@@ -241,45 +503,88 @@ public class BrightcovePlayerView extends FrameLayout implements TextOutput {
         setOnClickListener(v -> {
             isControlsVisible = !isControlsVisible;
             controlsContainer.setVisibility(isControlsVisible ? VISIBLE : GONE);
+            scheduleControlsTick();
         });
+    }
 
-        // Register network callback
-        if (android.os.Build.VERSION.SDK_INT >= android.os.Build.VERSION_CODES.N) {
-            connectivityManager.registerDefaultNetworkCallback(networkCallback);
+    private void acquirePlayer() {
+        PlayerTrace.begin(PlayerTrace.ACQUIRE_PLAYER);
+        pooledPlayer = playerPool.acquire(bufferProfile, this);
+        exoPlayer = pooledPlayer.player;
+        trackSelector = pooledPlayer.trackSelector;
+
+        // Pooled players come back with default parameters, restore the device's ceiling
+        QualityCaps ceiling = decoderCapabilities.getCeiling();
+        trackSelector.setParameters(
+            trackSelector.buildUponParameters()
+                .setMaxVideoSize(ceiling.maxWidth, ceiling.maxHeight)
+                .setMaxVideoBitrate(ceiling.maxBitrate)
+                .setMaxVideoFrameRate(decoderCapabilities.getMaxFrameRate())
+                .setPreferredTextLanguage(captionsLanguage)
+                .setPreferredAudioLanguage(captionsLanguage)
+        );
+
+        exoPlayer.addListener(playerListener);
+        exoPlayer.addAnalyticsListener(analyticsListener);
+        brightcoveVideoView.setPlayer(exoPlayer);
+        PlayerTrace.end(PlayerTrace.ACQUIRE_PLAYER);
+    }
+
+    private void releasePlayer() {
+        if (pooledPlayer == null) {
+            return;
         }
+        PlayerTrace.begin(PlayerTrace.RELEASE_PLAYER);
+        exoPlayer.removeListener(playerListener);
+        exoPlayer.removeAnalyticsListener(analyticsListener);
+        releaseBudget();
+        trackSnapshot = TrackSnapshot.EMPTY;
+        sourceAdded = false;
+        loadRequested = false;
+        preloadBudget.release(this);
+        // Detach before the player goes back, or this view keeps rendering into and driving the next owner's
+        brightcoveVideoView.setPlayer(null);
+        playerPool.release(pooledPlayer, this);
+        // The pool hands the selector to the next view, so nothing here may touch it any more
+        pooledPlayer = null;
+        exoPlayer = null;
+        trackSelector = null;
+        publishState();
+        PlayerTrace.end(PlayerTrace.RELEASE_PLAYER);
     }
 
     private class NetworkCallback extends ConnectivityManager.NetworkCallback {
         @Override
         public void onAvailable(Network network) {
-            if (autoQuality) {
-                adjustQualityForNetwork();
-            }
+            // Throughput measured on the previous network says nothing about this one
+            mainHandler.post(() -> {
+                throughputEstimator.reset();
+                abrController.reset();
+            });
         }
     }
 
-    private void adjustQualityForNetwork() {
-        NetworkInfo activeNetwork = connectivityManager.getActiveNetworkInfo();
-        if (activeNetwork != null) {
-            DefaultTrackSelector.Parameters.Builder parametersBuilder = trackSelector.getParameters().buildUpon();
-            
-            switch (activeNetwork.getType()) {
-                case ConnectivityManager.TYPE_WIFI:
-                    parametersBuilder.setMaxVideoSize(1920, 1080);
-                    parametersBuilder.setMaxVideoBitrate(8000000);
-                    break;
-                case ConnectivityManager.TYPE_MOBILE:
-                    parametersBuilder.setMaxVideoSize(854, 480);
-                    parametersBuilder.setMaxVideoBitrate(2000000);
-                    break;
-                default:
-                    parametersBuilder.setMaxVideoSize(640, 360);
-                    parametersBuilder.setMaxVideoBitrate(1000000);
-                    break;
-            }
-            
-            trackSelector.setParameters(parametersBuilder);
+    private void evaluateAdaptiveQuality() {
+        if (exoPlayer == null) {
+            return;
         }
+        long estimate = throughputEstimator.getEstimate();
+        long bufferedMs = exoPlayer.getTotalBufferedDuration();
+        if (!abrController.update(estimate, bufferedMs)) {
+            return;
+        }
+
+        PlayerTrace.begin(PlayerTrace.ADAPTIVE_QUALITY);
+        applyQualityConstraints();
+        PlayerTrace.end(PlayerTrace.ADAPTIVE_QUALITY);
+
+        WritableMap params = Arguments.createMap();
+        params.putInt("fromBitrate", abrController.getPreviousBitrate());
+        params.putInt("toBitrate", abrController.getSelectedBitrate());
+        params.putDouble("estimatedBandwidth", estimate);
+        params.putDouble("bufferedDuration", bufferedMs);
+        params.putString("reason", abrController.getReason());
+        playerEventEmitter.emit(PlayerEventEmitter.EVENT_QUALITY_SWITCH_DECISION, params);
     }
 
     @Override
@@ -294,19 +599,122 @@ public class BrightcovePlayerView extends FrameLayout implements TextOutput {
         if (subtitleView != null) {
             subtitleView.setVisibility(enabled ? VISIBLE : GONE);
         }
+        if (enabled) {
+            // Cues that changed while hidden were never handed over
+            shownCueCount = -1;
+            renderCaptions();
+        }
     }
 
     public void setCaptionsLanguage(String language) {
         this.captionsLanguage = language;
-        DefaultTrackSelector.Parameters.Builder parametersBuilder = trackSelector.getParameters().buildUpon();
-        parametersBuilder.setPreferredTextLanguage(language);
-        trackSelector.setParameters(parametersBuilder);
+        // While trimmed only the value is kept, acquirePlayer applies it
+        if (pooledPlayer != null) {
+            DefaultTrackSelector.Parameters.Builder parametersBuilder = trackSelector.getParameters().buildUpon();
+            parametersBuilder.setPreferredTextLanguage(language);
+            trackSelector.setParameters(parametersBuilder);
+        }
+        if (!captionTracks.isEmpty()) {
+            selectCaptionTrack();
+        }
+    }
+
+    private void loadCaptions(Video video) {
+        captionTracks = video != null ? VideoSources.findCaptionTracks(video) : Collections.emptyList();
+        captionVideoId = video != null ? video.getId() : null;
+        if (!captionTracks.isEmpty()) {
+            playerEventEmitter.emitAvailableCaptions(toTextTrackArray(captionTracks));
+        }
+        selectCaptionTrack();
+    }
+
+    // Parsed tracks are cached, so switching back to a language shows its cues without a fetch
+    private void selectCaptionTrack() {
+        VideoSources.TextTrack selected = null;
+        for (VideoSources.TextTrack track : captionTracks) {
+            if (track.language.equalsIgnoreCase(captionsLanguage)) {
+                selected = track;
+                break;
+            }
+        }
+        clearCaptions();
+        // Off while trimmed; acquirePlayer resets it and the reload selects again
+        if (pooledPlayer != null) {
+            trackSelector.setParameters(
+                trackSelector.buildUponParameters().setTrackTypeDisabled(C.TRACK_TYPE_TEXT, selected != null));
+        }
+        if (selected == null) {
+            return;
+        }
+        final String key = captionVideoId + ":" + selected.language;
+        captionKey = key;
+        captionCache.load(key, selected.url, selected.mimeType, cues -> {
+            if (key.equals(captionKey)) {
+                captionCues = cues;
+                renderCaptions();
+            }
+        });
+    }
+
+    private void clearCaptions() {
+        mainHandler.removeCallbacks(captionTick);
+        if (captionKey != null && shownCueCount > 0) {
+            onCues(Collections.emptyList());
+        }
+        captionKey = null;
+        captionCues = null;
+        shownCueCount = 0;
+    }
+
+    // Looks up the cues at the current position, hands them over only when they differ from the
+    // ones showing, and sleeps until the next cue boundary instead of polling every frame
+    private void renderCaptions() {
+        mainHandler.removeCallbacks(captionTick);
+        if (captionCues == null || exoPlayer == null) {
+            return;
+        }
+        long position = exoPlayer.getCurrentPosition();
+        int count = captionCues.query(position, queriedCues);
+        if (!sameCues(count)) {
+            PlayerTrace.begin(PlayerTrace.RENDER_CAPTIONS);
+            List<Cue> cues = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                cues.add(captionCues.get(queriedCues[i]));
+            }
+            onCues(cues);
+            int[] previous = shownCues;
+            shownCues = queriedCues;
+            queriedCues = previous;
+            shownCueCount = count;
+            PlayerTrace.end(PlayerTrace.RENDER_CAPTIONS);
+        }
+        if (active && exoPlayer.isPlaying()) {
+            long next = captionCues.nextChangeMs(position);
+            if (next != Long.MAX_VALUE) {
+                float speed = exoPlayer.getPlaybackParameters().speed;
+                mainHandler.postDelayed(captionTick, (long) ((next - position) / speed) + 1);
+            }
+        }
+    }
+
+    private boolean sameCues(int count) {
+        if (count != shownCueCount) {
+            return false;
+        }
+        for (int i = 0; i < count; i++) {
+            if (queriedCues[i] != shownCues[i]) {
+                return false;
+            }
+        }
+        return true;
     }
 
     public void setAutoQuality(boolean auto) {
         this.autoQuality = auto;
+        abrController.reset();
+        applyQualityConstraints();
         if (auto) {
-            adjustQualityForNetwork();
+            evaluateAdaptiveQuality();
         }
     }
 
@@ -315,150 +723,134 @@ public class BrightcovePlayerView extends FrameLayout implements TextOutput {
         if (controlsContainer != null) {
             controlsContainer.setVisibility(show ? VISIBLE : GONE);
         }
+        scheduleControlsTick();
     }
 
     public void getAvailableQualities(Promise promise) {
-        MappingTrackSelector.MappedTrackInfo mappedTrackInfo = trackSelector.getCurrentMappedTrackInfo();
-        if (mappedTrackInfo != null) {
-            WritableArray qualities = Arguments.createArray();
-            
-            for (int rendererIndex = 0; rendererIndex < mappedTrackInfo.getRendererCount(); rendererIndex++) {
-                if (mappedTrackInfo.getRendererType(rendererIndex) == C.TRACK_TYPE_VIDEO) {
-                    TrackGroupArray trackGroups = mappedTrackInfo.getTrackGroups(rendererIndex);
-                    
-                    for (int groupIndex = 0; groupIndex < trackGroups.length; groupIndex++) {
-                        TrackGroup group = trackGroups.get(groupIndex);
-                        for (int trackIndex = 0; trackIndex < group.length; trackIndex++) {
-                            Format format = group.getFormat(trackIndex);
-                            WritableMap quality = Arguments.createMap();
-                            quality.putInt("width", format.width);
-                            quality.putInt("height", format.height);
-                            quality.putInt("bitrate", format.bitrate);
-                            qualities.pushMap(quality);
-                        }
-                    }
-                }
-            }
-            
-            promise.resolve(qualities);
-        } else {
+        TrackSnapshot snapshot = trackSnapshot;
+        if (snapshot.getVideoTracks().isEmpty()) {
             promise.reject("NO_QUALITIES", "No qualities available");
+            return;
         }
+        promise.resolve(toQualityArray(snapshot.getVideoTracks()));
     }
 
     public void getCurrentQuality(Promise promise) {
-        MappingTrackSelector.MappedTrackInfo mappedTrackInfo = trackSelector.getCurrentMappedTrackInfo();
-        if (mappedTrackInfo != null) {
-            for (int rendererIndex = 0; rendererIndex < mappedTrackInfo.getRendererCount(); rendererIndex++) {
-                if (mappedTrackInfo.getRendererType(rendererIndex) == C.TRACK_TYPE_VIDEO) {
-                    TrackSelectionArray selections = exoPlayer.getCurrentTrackSelections();
-                    TrackSelection selection = selections.get(rendererIndex);
-                    
-                    if (selection != null) {
-                        Format format = selection.getSelectedFormat();
-                        WritableMap quality = Arguments.createMap();
-                        quality.putInt("width", format.width);
-                        quality.putInt("height", format.height);
-                        quality.putInt("bitrate", format.bitrate);
-                        promise.resolve(quality);
-                        return;
-                    }
-                }
-            }
+        TrackSnapshot.Track selected = trackSnapshot.getSelectedVideo();
+        if (selected == null) {
+            promise.reject("NO_QUALITY", "No quality information available");
+            return;
         }
-        promise.reject("NO_QUALITY", "No quality information available");
+        promise.resolve(toQualityMap(selected));
     }
 
     public void getAvailableCaptions(Promise promise) {
-        MappingTrackSelector.MappedTrackInfo mappedTrackInfo = trackSelector.getCurrentMappedTrackInfo();
-        if (mappedTrackInfo != null) {
-            WritableArray captions = Arguments.createArray();
-            
-            for (int rendererIndex = 0; rendererIndex < mappedTrackInfo.getRendererCount(); rendererIndex++) {
-                if (mappedTrackInfo.getRendererType(rendererIndex) == C.TRACK_TYPE_TEXT) {
-                    TrackGroupArray trackGroups = mappedTrackInfo.getTrackGroups(rendererIndex);
-                    
-                    for (int groupIndex = 0; groupIndex < trackGroups.length; groupIndex++) {
-                        TrackGroup group = trackGroups.get(groupIndex);
-                        for (int trackIndex = 0; trackIndex < group.length; trackIndex++) {
-                            Format format = group.getFormat(trackIndex);
-                            WritableMap caption = Arguments.createMap();
-                            caption.putString("language", format.language);
-                            caption.putString("label", format.label);
-                            captions.pushMap(caption);
-                        }
-                    }
-                }
-            }
-            
-            promise.resolve(captions);
-        } else {
+        if (!captionTracks.isEmpty()) {
+            promise.resolve(toTextTrackArray(captionTracks));
+            return;
+        }
+        TrackSnapshot snapshot = trackSnapshot;
+        if (snapshot.getTextTracks().isEmpty()) {
             promise.reject("NO_CAPTIONS", "No captions available");
+            return;
         }
+        promise.resolve(toCaptionArray(snapshot.getTextTracks()));
     }
 
+    // A trimmed view answers with the position it will resume from
     public void getCurrentTime(Promise promise) {
-        long currentTime = exoPlayer.getCurrentPosition();
-        promise.resolve(currentTime);
+        long currentTime;
+        if (exoPlayer != null) {
+            currentTime = exoPlayer.getCurrentPosition();
+        } else {
+            currentTime = resumePositionMs != C.TIME_UNSET ? resumePositionMs : 0;
+        }
+        promise.resolve((double) currentTime);
     }
 
+    // Unknown while trimmed, like before the player has a timeline
     public void getDuration(Promise promise) {
-        long duration = exoPlayer.getDuration();
-        promise.resolve(duration);
+        long duration = exoPlayer != null ? exoPlayer.getDuration() : C.TIME_UNSET;
+        promise.resolve((double) duration);
     }
 
-    private void sendAvailableQualities() {
-        MappingTrackSelector.MappedTrackInfo mappedTrackInfo = trackSelector.getCurrentMappedTrackInfo();
-        if (mappedTrackInfo != null) {
-            WritableArray qualities = Arguments.createArray();
-            
-            for (int rendererIndex = 0; rendererIndex < mappedTrackInfo.getRendererCount(); rendererIndex++) {
-                if (mappedTrackInfo.getRendererType(rendererIndex) == C.TRACK_TYPE_VIDEO) {
-                    TrackGroupArray trackGroups = mappedTrackInfo.getTrackGroups(rendererIndex);
-                    
-                    for (int groupIndex = 0; groupIndex < trackGroups.length; groupIndex++) {
-                        TrackGroup group = trackGroups.get(groupIndex);
-                        for (int trackIndex = 0; trackIndex < group.length; trackIndex++) {
-                            Format format = group.getFormat(trackIndex);
-                            WritableMap quality = Arguments.createMap();
-                            quality.putInt("width", format.width);
-                            quality.putInt("height", format.height);
-                            quality.putInt("bitrate", format.bitrate);
-                            qualities.pushMap(quality);
-                        }
-                    }
-                }
-            }
-            
-            WritableMap params = Arguments.createMap();
-            params.putArray("qualities", qualities);
-            reactContext
-                .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
-                .emit("onAvailableQualities", params);
-        }
-    }
-
-    private void sendCurrentQuality() {
-        MappingTrackSelector.MappedTrackInfo mappedTrackInfo = trackSelector.getCurrentMappedTrackInfo();
-        if (mappedTrackInfo != null) {
-            for (int rendererIndex = 0; rendererIndex < mappedTrackInfo.getRendererCount(); rendererIndex++) {
-                if (mappedTrackInfo.getRendererType(rendererIndex) == C.TRACK_TYPE_VIDEO) {
-                    TrackSelectionArray selections = exoPlayer.getCurrentTrackSelections();
-                    TrackSelection selection = selections.get(rendererIndex);
-                    
-                    if (selection != null) {
-                        Format format = selection.getSelectedFormat();
-                        WritableMap params = Arguments.createMap();
-                        params.putInt("width", format.width);
-                        params.putInt("height", format.height);
-                        params.putInt("bitrate", format.bitrate);
-                        reactContext
-                            .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
-                            .emit("onQualityChanged", params);
-                    }
+    private static TrackSnapshot buildTrackSnapshot(Tracks tracks) {
+        TrackSnapshot.Builder builder = new TrackSnapshot.Builder();
+        for (Tracks.Group group : tracks.getGroups()) {
+            for (int trackIndex = 0; trackIndex < group.length; trackIndex++) {
+                Format format = group.getTrackFormat(trackIndex);
+                boolean selected = group.isTrackSelected(trackIndex);
+                switch (group.getType()) {
+                    case C.TRACK_TYPE_VIDEO:
+                        builder.addVideoTrack(format.width, format.height, format.bitrate, selected);
+                        break;
+                    case C.TRACK_TYPE_AUDIO:
+                        builder.addAudioTrack(format.bitrate, format.language, format.label, selected);
+                        break;
+                    case C.TRACK_TYPE_TEXT:
+                        builder.addTextTrack(format.language, format.label, selected);
+                        break;
                 }
             }
         }
+        return builder.build();
+    }
+
+    // Only the parts that differ from the previous snapshot are sent to JS
+    private void updateTrackSnapshot(TrackSnapshot snapshot) {
+        TrackSnapshot previous = trackSnapshot;
+        trackSnapshot = snapshot;
+
+        if (!snapshot.hasSameVideoTracks(previous)) {
+            abrController.setLadder(snapshot.getVideoBitrates());
+            playerEventEmitter.emitAvailableQualities(toQualityArray(snapshot.getVideoTracks()));
+        }
+        // Sideloaded tracks were already reported when the video loaded
+        if (!snapshot.hasSameTextTracks(previous) && captionTracks.isEmpty()) {
+            playerEventEmitter.emitAvailableCaptions(toCaptionArray(snapshot.getTextTracks()));
+        }
+        TrackSnapshot.Track selected = snapshot.getSelectedVideo();
+        if (selected != null) {
+            playerEventEmitter.emitQualityChanged(selected.width, selected.height, selected.bitrate);
+        }
+    }
+
+    private static WritableArray toQualityArray(List<TrackSnapshot.Track> tracks) {
+        WritableArray qualities = Arguments.createArray();
+        for (TrackSnapshot.Track track : tracks) {
+            qualities.pushMap(toQualityMap(track));
+        }
+        return qualities;
+    }
+
+    private static WritableMap toQualityMap(TrackSnapshot.Track track) {
+        WritableMap quality = Arguments.createMap();
+        quality.putInt("width", track.width);
+        quality.putInt("height", track.height);
+        quality.putInt("bitrate", track.bitrate);
+        return quality;
+    }
+
+    private static WritableArray toCaptionArray(List<TrackSnapshot.Track> tracks) {
+        WritableArray captions = Arguments.createArray();
+        for (TrackSnapshot.Track track : tracks) {
+            WritableMap caption = Arguments.createMap();
+            caption.putString("language", track.language);
+            caption.putString("label", track.label);
+            captions.pushMap(caption);
+        }
+        return captions;
+    }
+
+    private static WritableArray toTextTrackArray(List<VideoSources.TextTrack> tracks) {
+        WritableArray captions = Arguments.createArray();
+        for (VideoSources.TextTrack track : tracks) {
+            WritableMap caption = Arguments.createMap();
+            caption.putString("language", track.language);
+            caption.putString("label", track.label);
+            captions.pushMap(caption);
+        }
+        return captions;
     }
 
     public void setInitialQuality(String quality) {
@@ -466,61 +858,90 @@ public class BrightcovePlayerView extends FrameLayout implements TextOutput {
         applyQualityConstraints();
     }
 
+    // Nothing goes past what the device decodes smoothly. This runs again once a source is added,
+    // which also picks up a probe that finished after the player was acquired.
     private void applyQualityConstraints() {
-        if (initialQuality != null) {
-            DefaultTrackSelector.Parameters.Builder parametersBuilder = trackSelector.getParameters().buildUpon();
-            
-            switch (initialQuality) {
-                case "1080p":
-                    parametersBuilder.setMaxVideoSize(1920, 1080);
-                    parametersBuilder.setMaxVideoBitrate(8000000);
-                    break;
-                case "720p":
-                    parametersBuilder.setMaxVideoSize(1280, 720);
-                    parametersBuilder.setMaxVideoBitrate(4000000);
-                    break;
-                case "480p":
-                    parametersBuilder.setMaxVideoSize(854, 480);
-                    parametersBuilder.setMaxVideoBitrate(2000000);
-                    break;
-                case "360p":
-                    parametersBuilder.setMaxVideoSize(640, 360);
-                    parametersBuilder.setMaxVideoBitrate(1000000);
-                    break;
-            }
-            
-            trackSelector.setParameters(parametersBuilder);
+        // While trimmed only initialQuality is kept, restorePlayer applies it
+        if (pooledPlayer == null) {
+            return;
+        }
+        PlayerTrace.begin(PlayerTrace.QUALITY_CONSTRAINTS);
+        QualityCaps ceiling = decoderCapabilities.getCeiling();
+        QualityCaps manual = QualityCaps.forQuality(initialQuality);
+        QualityCaps caps = manual != null ? manual.min(ceiling) : ceiling;
+        // Without a manual cap the bitrate is only bounded by ABR, or by nothing when ABR is off
+        int maxBitrate = manual != null ? caps.maxBitrate : Integer.MAX_VALUE;
+        if (autoQuality && abrController.getSelectedBitrate() > 0) {
+            // ABR chooses within the manual cap, never past it
+            maxBitrate = Math.min(maxBitrate, abrController.getSelectedBitrate());
         }
+        trackSelector.setParameters(trackSelector.buildUponParameters()
+            .setMaxVideoFrameRate(decoderCapabilities.getMaxFrameRate())
+            .setMaxVideoSize(caps.maxWidth, caps.maxHeight)
+            .setMaxVideoBitrate(maxBitrate));
+        PlayerTrace.end(PlayerTrace.QUALITY_CONSTRAINTS);
     }
-    
-    private void updateProgress(Event event) {
-        long currentTime = event.getIntegerProperty("currentTime");
-        long duration = exoPlayer.getDuration();
+
+    private void emitProgress(Event event) {
+        long duration = exoPlayer != null ? exoPlayer.getDuration() : C.TIME_UNSET;
         if (duration > 0) {
-            int progress = (int) ((currentTime * 100) / duration);
-            progressBar.setProgress(progress);
-            updateCurrentTime(currentTime);
+            playerEventEmitter.emitProgress(event.getIntegerProperty("currentTime"), duration);
         }
     }
-    
-    private void updateDuration(Event event) {
-        long duration = event.getIntegerProperty("duration");
-        durationText.setText(formatTime(duration));
+
+    private void scheduleControlsTick() {
+        if (controlsTickScheduled || !isControlsVisible || !active || !isAttachedToWindow()) {
+            return;
+        }
+        controlsTickScheduled = true;
+        Choreographer.getInstance().postFrameCallback(controlsTick);
     }
-    
-    private void updateCurrentTime(long milliseconds) {
-        currentTimeText.setText(formatTime(milliseconds));
+
+    private void stopControlsTick() {
+        if (controlsTickScheduled) {
+            Choreographer.getInstance().removeFrameCallback(controlsTick);
+            controlsTickScheduled = false;
+        }
     }
-    
-    private String formatTime(long milliseconds) {
-        long seconds = milliseconds / 1000;
-        long minutes = seconds / 60;
-        seconds = seconds % 60;
-        return String.format("%d:%02d", minutes, seconds);
+
+    // Runs every frame while playing with the controls shown, so it only touches views whose visible value changed
+    private void renderControls() {
+        if (exoPlayer == null) {
+            return;
+        }
+        long duration = exoPlayer.getDuration();
+        if (duration <= 0) {
+            return;
+        }
+        long position = exoPlayer.getCurrentPosition();
+
+        int progress = (int) (position * PROGRESS_SCALE / duration);
+        if (progress != displayedProgress && !progressBar.isPressed()) {
+            displayedProgress = progress;
+            progressBar.setProgress(progress);
+        }
+
+        int bufferedProgress = (int) (exoPlayer.getBufferedPosition() * PROGRESS_SCALE / duration);
+        if (bufferedProgress != displayedBufferedProgress) {
+            displayedBufferedProgress = bufferedProgress;
+            bufferingProgressBar.setProgress(bufferedProgress);
+        }
+
+        long durationSecond = duration / 1000;
+        if (durationSecond != displayedDurationSecond) {
+            displayedDurationSecond = durationSecond;
+            durationText.setText(durationChars, 0, TimeFormatter.format(duration, durationChars));
+        }
+
+        renderCurrentTime(position);
     }
-    
-    private void updateBufferingProgress(int progress) {
-        bufferingProgressBar.setProgress(progress);
+
+    private void renderCurrentTime(long milliseconds) {
+        long second = milliseconds / 1000;
+        if (second != displayedSecond) {
+            displayedSecond = second;
+            currentTimeText.setText(currentTimeChars, 0, TimeFormatter.format(milliseconds, currentTimeChars));
+        }
     }
 
     private void showLoadingIndicator() {
@@ -531,73 +952,840 @@ public class BrightcovePlayerView extends FrameLayout implements TextOutput {
         loadingIndicator.setVisibility(GONE);
     }
 
-    private void sendEvent(String eventName, boolean isBuffering) {
-        WritableMap params = Arguments.createMap();
-        params.putBoolean("isBuffering", isBuffering);
-        reactContext
-            .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
-            .emit(eventName, params);
+    public void setBufferProfile(BufferProfile profile) {
+        if (profile.getKey().equals(bufferProfile.getKey())) {
+            return;
+        }
+        this.bufferProfile = profile;
+        // The next load swaps the player; reload what is already loaded
+        if (pooledPlayer != null && loadRequested) {
+            loadRequested = false;
+            cancelCatalogRequest();
+        }
+        scheduleLoad();
+    }
+
+    public void setLiveMode(LiveLatencyController controller) {
+        this.liveLatencyController = controller;
+        mainHandler.removeCallbacks(liveTick);
+        if (controller == null) {
+            if (exoPlayer != null) {
+                exoPlayer.setPlaybackParameters(PlaybackParameters.DEFAULT);
+            }
+            return;
+        }
+        scheduleLiveTick();
+    }
+
+    public void seekToLiveEdge() {
+        if (exoPlayer != null && exoPlayer.isCurrentMediaItemLive()) {
+            exoPlayer.seekToDefaultPosition();
+            exoPlayer.setPlaybackParameters(PlaybackParameters.DEFAULT);
+        }
+    }
+
+    private void scheduleLiveTick() {
+        mainHandler.removeCallbacks(liveTick);
+        if (liveLatencyController != null && active && isAttachedToWindow()) {
+            mainHandler.postDelayed(liveTick, LIVE_TICK_MS);
+        }
+    }
+
+    // Nudges playback speed toward the target live offset and jumps to the edge when too far behind
+    private void updateLiveLatency() {
+        if (exoPlayer != null && exoPlayer.isCurrentMediaItemLive() && exoPlayer.isPlaying()) {
+            long offsetMs = exoPlayer.getCurrentLiveOffset();
+            if (offsetMs != C.TIME_UNSET) {
+                if (liveLatencyController.shouldSeekToLiveEdge(offsetMs)) {
+                    seekToLiveEdge();
+                } else {
+                    float speed = liveLatencyController.computePlaybackSpeed(offsetMs);
+                    if (speed != exoPlayer.getPlaybackParameters().speed) {
+                        exoPlayer.setPlaybackParameters(new PlaybackParameters(speed));
+                    }
+                }
+            }
+        }
+        scheduleLiveTick();
+    }
+
+    public void setStatsInterval(int intervalMs) {
+        this.statsIntervalMs = intervalMs;
+        mainHandler.removeCallbacks(statsTick);
+        scheduleStatsTick();
+    }
+
+    public void getPlaybackStats(Promise promise) {
+        promise.resolve(buildPlaybackStats());
+    }
+
+    public PlaybackStateBuffer getPlaybackState() {
+        return playbackState;
+    }
+
+    private void publishState() {
+        long now = SystemClock.elapsedRealtime();
+        if (exoPlayer == null) {
+            // Trimmed views report where they will resume
+            long position = resumePositionMs != C.TIME_UNSET ? resumePositionMs : 0;
+            playbackState.publish(position, -1, position, Player.STATE_IDLE, false, 1f, videoBitrate, now);
+            return;
+        }
+        long duration = exoPlayer.getDuration();
+        playbackState.publish(
+            exoPlayer.getCurrentPosition(),
+            duration != C.TIME_UNSET ? duration : -1,
+            exoPlayer.getBufferedPosition(),
+            exoPlayer.getPlaybackState(),
+            exoPlayer.isPlaying(),
+            exoPlayer.getPlaybackParameters().speed,
+            videoBitrate,
+            now);
+    }
+
+    private void scheduleStateTick() {
+        mainHandler.removeCallbacks(stateTick);
+        if (exoPlayer != null && exoPlayer.isPlaying() && active && isAttachedToWindow()) {
+            mainHandler.postDelayed(stateTick, STATE_TICK_MS);
+        }
+    }
+
+    private void scheduleStatsTick() {
+        mainHandler.removeCallbacks(statsTick);
+        if (statsIntervalMs > 0 && playbackStats.isSessionActive() && active && isAttachedToWindow()) {
+            mainHandler.postDelayed(statsTick, statsIntervalMs);
+        }
+    }
+
+    private void emitPlaybackStats() {
+        playerEventEmitter.emit(PlayerEventEmitter.EVENT_PLAYBACK_STATS, buildPlaybackStats());
+        scheduleStatsTick();
+    }
+
+    private WritableMap buildPlaybackStats() {
+        long now = SystemClock.elapsedRealtime();
+        playbackStats.update(now);
+
+        WritableArray renditions = Arguments.createArray();
+        for (int i = 0; i < playbackStats.getRenditionCount(); i++) {
+            WritableMap rendition = Arguments.createMap();
+            rendition.putInt("bitrate", playbackStats.getRenditionBitrate(i));
+            rendition.putDouble("timeMs", playbackStats.getRenditionTimeMs(i));
+            renditions.pushMap(rendition);
+        }
+
+        WritableMap stats = Arguments.createMap();
+        stats.putDouble("timeToFirstFrameMs", playbackStats.getTimeToFirstFrameMs());
+        stats.putInt("stallCount", playbackStats.getStallCount());
+        stats.putDouble("stallDurationMs", playbackStats.getStallDurationMs(now));
+        stats.putDouble("playTimeMs", playbackStats.getPlayTimeMs());
+        stats.putDouble("rebufferRatio", playbackStats.getRebufferRatio(now));
+        stats.putInt("currentBitrate", playbackStats.getCurrentBitrate());
+        stats.putInt("switchCount", playbackStats.getSwitchCount());
+        stats.putArray("renditions", renditions);
+        stats.putDouble("droppedFrames", playbackStats.getDroppedFrames());
+        stats.putDouble("bandwidthEstimate", playbackStats.getBandwidthEstimate());
+        stats.putDouble("measuredThroughput", throughputEstimator.getEstimate());
+        boolean live = exoPlayer != null && exoPlayer.isCurrentMediaItemLive();
+        long liveOffset = live ? exoPlayer.getCurrentLiveOffset() : C.TIME_UNSET;
+        stats.putBoolean("isLive", live);
+        stats.putDouble("liveLatencyMs", liveOffset != C.TIME_UNSET ? liveOffset : -1);
+        stats.putDouble("playbackSpeed", exoPlayer != null ? exoPlayer.getPlaybackParameters().speed : 1);
+        return stats;
+    }
+
+    public void setProgressInterval(int intervalMs) {
+        playerEventEmitter.setProgressInterval(intervalMs);
     }
 
     public void setAccountId(String accountId) {
         this.accountId = accountId;
-        setupCatalog();
+        scheduleLoad();
     }
 
     public void setVideoId(String videoId) {
         this.videoId = videoId;
-        loadVideo();
+        resetSource();
+        scheduleLoad();
+    }
+
+    public void setPlaylistId(String playlistId) {
+        this.playlistId = playlistId;
+        resetSource();
+        scheduleLoad();
+    }
+
+    public void setVideoIds(List<String> videoIds) {
+        this.queueVideoIds = videoIds;
+        resetSource();
+        scheduleLoad();
+    }
+
+    private void resetSource() {
+        resumePositionMs = C.TIME_UNSET;
+        resumeItemIndex = 0;
+        resumeOnShow = false;
+        playWhenLoaded = false;
+        sourceAdded = false;
+        loadRequested = false;
+        cancelCatalogRequest();
+        preloadBudget.release(this);
+        captionTracks = Collections.emptyList();
+        selectCaptionTrack();
+    }
+
+    private boolean isQueueMode() {
+        return playlistId != null || (queueVideoIds != null && !queueVideoIds.isEmpty());
     }
 
     public void setPolicyKey(String policyKey) {
         this.policyKey = policyKey;
+        scheduleLoad();
+    }
+
+    private void scheduleLoad() {
+        if (loadScheduled) {
+            return;
+        }
+        loadScheduled = true;
+        loadScheduledAtMs = SystemClock.elapsedRealtime();
+        Choreographer.getInstance().postFrameCallback(loadFrame);
+    }
+
+    // Loads only if nothing is loaded or requested for the current source yet, so a batch of props
+    // that ends with the same source loads it exactly once
+    private void flushLoad() {
+        PlayerTrace.begin(PlayerTrace.FLUSH_LOAD);
+        loadScheduled = false;
         setupCatalog();
+        if (!loadRequested) {
+            loadVideo();
+        }
+        loadScheduledAtMs = -1;
+        PlayerTrace.end(PlayerTrace.FLUSH_LOAD);
     }
 
     private void setupCatalog() {
         if (accountId != null && policyKey != null) {
-            catalog = new Catalog.Builder(accountId, policyKey)
-                    .build();
+            catalog = catalogCache.getCatalog(accountId, policyKey);
+        }
+    }
+
+    private void beginCatalogTrace() {
+        catalogTraceCookie = PlayerTrace.newCookie();
+        PlayerTrace.beginAsync(PlayerTrace.CATALOG, catalogTraceCookie);
+    }
+
+    // A failed lookup ends the load, so the next source change or play() starts a new one
+    private void onCatalogError(String message) {
+        catalogRequest = null;
+        PlayerTrace.endAsync(PlayerTrace.CATALOG, catalogTraceCookie);
+        loadRequested = false;
+        playerEventEmitter.emitError(message);
+    }
+
+    private void cancelCatalogRequest() {
+        if (catalogRequest != null) {
+            catalogRequest.cancel();
+            catalogRequest = null;
+            PlayerTrace.endAsync(PlayerTrace.CATALOG, catalogTraceCookie);
         }
     }
 
+    // The metadata lookup is sent first and the player is set up while it is in flight
     private void loadVideo() {
-        if (catalog != null && videoId != null) {
-            catalog.findVideoByID(videoId, new VideoListener() {
-                @Override
-                public void onVideo(Video video) {
-                    brightcoveVideoView.add(video);
-                    applyQualityConstraints();
+        PlayerTrace.begin(PlayerTrace.LOAD_VIDEO);
+        try {
+            // A trimmed view reloads once it is shown again
+            if ((videoId == null && !isQueueMode()) || pooledPlayer == null) {
+                return;
+            }
+            // With preload="none" nothing is fetched until play is called
+            if (PRELOAD_NONE.equals(preload) && !playWhenLoaded && !resumeOnShow) {
+                return;
+            }
+            // Whether a downloaded copy exists is only known once the download index is read
+            if (!videoDownloader.isIndexLoaded()) {
+                videoDownloader.whenIndexLoaded(this::scheduleLoad);
+                return;
+            }
+            // A downloaded copy plays without touching the network, metadata included
+            MediaSource offlineSource = isQueueMode() ? null : videoDownloader.createOfflineMediaSource(videoId);
+            if (offlineSource == null && catalog == null) {
+                return;
+            }
+            cancelCatalogRequest();
+            final int generation = ++loadGeneration;
+            long now = SystemClock.elapsedRealtime();
+            loadTimeline.start(loadScheduledAtMs >= 0 ? loadScheduledAtMs : now);
+            loadTimeline.mark(LoadTimeline.STAGE_PROPS_COLLECTED, now);
+            if (isQueueMode()) {
+                loadQueue(generation);
+            } else if (offlineSource == null) {
+                beginCatalogTrace();
+                catalogRequest = catalogCache.findVideo(accountId, policyKey, videoId, new VideoListener() {
+                    @Override
+                    public void onVideo(Video video) {
+                        if (pooledPlayer == null || generation != loadGeneration) {
+                            return;
+                        }
+                        catalogRequest = null;
+                        PlayerTrace.endAsync(PlayerTrace.CATALOG, catalogTraceCookie);
+                        loadTimeline.mark(LoadTimeline.STAGE_METADATA_RESOLVED, SystemClock.elapsedRealtime());
+                        startSession();
+                        brightcoveVideoView.add(video);
+                        loadThumbnails(video);
+                        loadCaptions(video);
+                        onSourceAdded();
+                    }
+
+                    @Override
+                    public void onError(List<CatalogError> errors) {
+                        if (pooledPlayer == null || generation != loadGeneration) {
+                            return;
+                        }
+                        onCatalogError("Could not load video " + videoId);
+                    }
+                });
+            }
+            setUpPlayer();
+            loadRequested = true;
+            if (offlineSource != null) {
+                loadTimeline.mark(LoadTimeline.STAGE_METADATA_RESOLVED, SystemClock.elapsedRealtime());
+                startSession();
+                exoPlayer.setMediaSource(offlineSource);
+                onSourceAdded();
+            }
+        } finally {
+            PlayerTrace.end(PlayerTrace.LOAD_VIDEO);
+        }
+    }
+
+    // The load control cannot change on a built player, so a profile change swaps in one built for it
+    private void setUpPlayer() {
+        if (!pooledPlayer.bufferProfile.getKey().equals(bufferProfile.getKey())) {
+            releasePlayer();
+            acquirePlayer();
+            applyQualityConstraints();
+        }
+        loadTimeline.mark(LoadTimeline.STAGE_PLAYER_READY, SystemClock.elapsedRealtime());
+    }
+
+    public void getLoadTimeline(Promise promise) {
+        if (!loadTimeline.isStarted()) {
+            promise.reject("NO_TIMELINE", "Nothing has been loaded yet");
+            return;
+        }
+        WritableMap timeline = Arguments.createMap();
+        for (int stage = 0; stage < LoadTimeline.STAGE_COUNT; stage++) {
+            timeline.putDouble(LoadTimeline.getStageName(stage), loadTimeline.getOffsetMs(stage));
+        }
+        timeline.putInt("supersededLoads", loadTimeline.getSupersededCount());
+        promise.resolve(timeline);
+    }
+
+    // Every item becomes one period of a single timeline, so ExoPlayer moves between them without
+    // a gap and starts buffering the next item once the current one is fully loaded
+    private void loadQueue(final int generation) {
+        CatalogCache.VideosCallback callback = new CatalogCache.VideosCallback() {
+            @Override
+            public void onVideos(List<Video> videos) {
+                if (pooledPlayer == null || generation != loadGeneration) {
+                    return;
                 }
-            });
+                catalogRequest = null;
+                PlayerTrace.endAsync(PlayerTrace.CATALOG, catalogTraceCookie);
+                loadTimeline.mark(LoadTimeline.STAGE_METADATA_RESOLVED, SystemClock.elapsedRealtime());
+                List<MediaSource> sources = new ArrayList<>(videos.size());
+                WritableArray playlist = Arguments.createArray();
+                for (Video video : videos) {
+                    MediaSource source = createMediaSource(video);
+                    if (source == null) {
+                        continue;
+                    }
+                    sources.add(source);
+                    WritableMap item = Arguments.createMap();
+                    item.putString("videoId", video.getId());
+                    item.putString("name", video.getName());
+                    item.putDouble("duration", video.getDuration());
+                    playlist.pushMap(item);
+                }
+                if (sources.isEmpty()) {
+                    loadRequested = false;
+                    playerEventEmitter.emitError("No playable videos in the queue");
+                    return;
+                }
+                startSession();
+                exoPlayer.setMediaSources(sources);
+                WritableMap params = Arguments.createMap();
+                params.putArray("playlist", playlist);
+                playerEventEmitter.emit(PlayerEventEmitter.EVENT_PLAYLIST_CHANGE, params);
+                onSourceAdded();
+            }
+
+            @Override
+            public void onError(String message) {
+                if (pooledPlayer == null || generation != loadGeneration) {
+                    return;
+                }
+                onCatalogError(message);
+            }
+        };
+        beginCatalogTrace();
+        catalogRequest = playlistId != null
+            ? catalogCache.findPlaylist(accountId, policyKey, playlistId, callback)
+            : catalogCache.findVideos(accountId, policyKey, queueVideoIds, callback);
+    }
+
+    private MediaSource createMediaSource(Video video) {
+        MediaSource offlineSource = videoDownloader.createOfflineMediaSource(video.getId());
+        if (offlineSource != null) {
+            return offlineSource;
         }
+        MediaItem mediaItem = VideoSources.toMediaItem(video.getId(), video);
+        return mediaItem != null ? pooledPlayer.mediaSourceFactory.createMediaSource(mediaItem) : null;
     }
 
-    public void play() {
+    public void next() {
+        if (exoPlayer != null && exoPlayer.hasNextMediaItem()) {
+            exoPlayer.seekToNextMediaItem();
+        }
+    }
+
+    public void previous() {
+        if (exoPlayer != null) {
+            exoPlayer.seekToPreviousMediaItem();
+        }
+    }
+
+    public void skipTo(int index) {
+        if (exoPlayer == null) {
+            return;
+        }
+        if (index < 0 || index >= exoPlayer.getMediaItemCount()) {
+            throw new IndexOutOfBoundsException("No queue item at index " + index);
+        }
+        exoPlayer.seekTo(index, 0);
+    }
+
+    private void loadThumbnails(Video video) {
+        thumbnailTrack = null;
+        displayedThumbnail = -1;
+        thumbnailTrackUrl = video != null ? VideoSources.findThumbnailTrackUrl(video) : null;
+        if (thumbnailTrackUrl == null) {
+            return;
+        }
+        final String url = thumbnailTrackUrl;
+        thumbnailCache.loadTrack(url, track -> {
+            if (url.equals(thumbnailTrackUrl)) {
+                thumbnailTrack = track;
+            }
+        });
+    }
+
+    private void startScrub() {
+        if (exoPlayer == null) {
+            return;
+        }
+        playWhenScrubEnds = exoPlayer.getPlayWhenReady();
+        exoPlayer.pause();
+        // Keyframe seeks decode a single sync sample instead of everything up to the exact frame
+        exoPlayer.setSeekParameters(SeekParameters.CLOSEST_SYNC);
+        scrubController.start();
+    }
+
+    // Seeks at most once per interval while dragging; the last position is flushed by scrubSeekTick
+    private void scrubTo(long position) {
+        long now = SystemClock.uptimeMillis();
+        long target = scrubController.onScrub(position, now);
+        if (target >= 0) {
+            exoPlayer.seekTo(target);
+        } else if (scrubController.hasPendingSeek()) {
+            mainHandler.removeCallbacks(scrubSeekTick);
+            mainHandler.postDelayed(scrubSeekTick, scrubController.getDelayMs(now));
+        }
+    }
+
+    private void flushScrubSeek() {
+        long target = scrubController.poll(SystemClock.uptimeMillis());
+        if (target >= 0 && exoPlayer != null) {
+            exoPlayer.seekTo(target);
+        }
+    }
+
+    private void endScrub(int progress) {
+        mainHandler.removeCallbacks(scrubSeekTick);
+        scrubController.finish();
+        thumbnailView.setVisibility(GONE);
+        displayedThumbnail = -1;
+        if (exoPlayer == null) {
+            return;
+        }
+        // One exact seek to where the finger let go
+        exoPlayer.setSeekParameters(SeekParameters.DEFAULT);
+        long duration = exoPlayer.getDuration();
+        if (duration > 0) {
+            exoPlayer.seekTo((duration * progress) / PROGRESS_SCALE);
+        }
+        if (playWhenScrubEnds) {
+            exoPlayer.play();
+        }
+    }
+
+    private void showThumbnail(long position, int progress) {
+        int index = thumbnailTrack != null ? thumbnailTrack.indexOf(position) : -1;
+        if (index < 0) {
+            return;
+        }
+        // Keep the preview centred over the thumb without leaving the bar
+        float maxX = Math.max(0, progressBar.getWidth() - thumbnailView.getWidth());
+        float x = (float) progressBar.getWidth() * progress / PROGRESS_SCALE - thumbnailView.getWidth() / 2f;
+        thumbnailView.setTranslationX(Math.max(0, Math.min(maxX, x)));
+        thumbnailView.setVisibility(VISIBLE);
+        if (index == displayedThumbnail) {
+            return;
+        }
+        displayedThumbnail = index;
+        Bitmap bitmap = thumbnailCache.getThumbnail(thumbnailTrack.get(index), thumbnailCallback);
+        if (bitmap != null) {
+            thumbnailView.setImageBitmap(bitmap);
+        }
+    }
+
+    private void startSession() {
+        playerEventEmitter.reset();
+        playbackStats.startSession(SystemClock.elapsedRealtime());
+        videoBitrate = -1;
+        scheduleStatsTick();
+    }
+
+    private void onSourceAdded() {
+        PlayerTrace.begin(PlayerTrace.SOURCE_ADDED);
+        sourceAdded = true;
+        loadTimeline.mark(LoadTimeline.STAGE_SOURCE_ADDED, SystemClock.elapsedRealtime());
+        applyQualityConstraints();
+        if (resumePositionMs != C.TIME_UNSET) {
+            exoPlayer.seekTo(isQueueMode() ? resumeItemIndex : exoPlayer.getCurrentMediaItemIndex(),
+                resumePositionMs);
+            resumePositionMs = C.TIME_UNSET;
+        }
+        if ((resumeOnShow || playWhenLoaded) && active) {
+            resumeOnShow = false;
+            playWhenLoaded = false;
+            startPlayback();
+        } else if (PRELOAD_FIRST_FRAME.equals(preload)) {
+            prepareFirstFrame();
+        }
+        PlayerTrace.end(PlayerTrace.SOURCE_ADDED);
+    }
+
+    public void setPreload(String preload) {
+        this.preload = preload != null ? preload : PRELOAD_METADATA;
+        if (!sourceAdded && !loadRequested) {
+            scheduleLoad();
+        } else if (sourceAdded && PRELOAD_FIRST_FRAME.equals(this.preload)) {
+            prepareFirstFrame();
+        }
+    }
+
+    // Buffers and decodes up to the first frame while paused, so play only has to start the clock
+    private void prepareFirstFrame() {
+        if (exoPlayer == null || exoPlayer.getPlayWhenReady() || !preloadBudget.acquire(this)) {
+            return;
+        }
+        if (exoPlayer.getPlaybackState() == Player.STATE_IDLE) {
+            exoPlayer.prepare();
+        }
+    }
+
+    @Override
+    public void onPreloadEvicted() {
+        if (exoPlayer != null && !exoPlayer.getPlayWhenReady()) {
+            // Keeps the media item, play prepares it again
+            exoPlayer.stop();
+        }
+    }
+
+    private void startPlayback() {
+        // A playing view no longer counts against the prepared budget
+        preloadBudget.release(this);
+        if (exoPlayer.getPlaybackState() == Player.STATE_IDLE) {
+            exoPlayer.prepare();
+        }
         exoPlayer.play();
     }
 
+    public void play() {
+        if (exoPlayer == null || !sourceAdded) {
+            // The load, pending or started here, begins playback when it lands
+            playWhenLoaded = true;
+            if (!loadRequested) {
+                scheduleLoad();
+            }
+            return;
+        }
+        startPlayback();
+    }
+
     public void pause() {
-        exoPlayer.pause();
+        playWhenLoaded = false;
+        if (exoPlayer != null) {
+            exoPlayer.pause();
+        }
     }
 
     public void seekTo(long milliseconds) {
-        exoPlayer.seekTo(milliseconds);
+        if (exoPlayer != null) {
+            exoPlayer.seekTo(milliseconds);
+        }
     }
 
     public void setVolume(float volume) {
-        exoPlayer.setVolume(volume);
+        if (exoPlayer != null) {
+            exoPlayer.setVolume(volume);
+        }
     }
 
     public EventEmitter getEventEmitter() {
         return brightcoveVideoView.getEventEmitter();
     }
 
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        // Re-borrow a player when a recycled list cell is attached again
+        if (pooledPlayer == null) {
+            restorePlayer();
+        }
+        if (getContext() instanceof ReactContext) {
+            ReactContext reactContext = (ReactContext) getContext();
+            hostResumed = reactContext.getLifecycleState() == LifecycleState.RESUMED;
+            reactContext.addLifecycleEventListener(this);
+        }
+        if (android.os.Build.VERSION.SDK_INT >= android.os.Build.VERSION_CODES.N) {
+            connectivityManager.registerDefaultNetworkCallback(networkCallback);
+        }
+        ViewTreeObserver observer = getViewTreeObserver();
+        observer.addOnScrollChangedListener(scrollListener);
+        observer.addOnGlobalLayoutListener(layoutListener);
+        playerTrimmer.register(this);
+        active = true;
+        scheduleTicks();
+        requestVisibilityCheck();
+    }
+
     @Override
     protected void onDetachedFromWindow() {
         super.onDetachedFromWindow();
+        if (getContext() instanceof ReactContext) {
+            ((ReactContext) getContext()).removeLifecycleEventListener(this);
+        }
+        // Registered callbacks hold the view, leaving one behind leaks it
+        if (android.os.Build.VERSION.SDK_INT >= android.os.Build.VERSION_CODES.N) {
+            connectivityManager.unregisterNetworkCallback(networkCallback);
+        }
+        ViewTreeObserver observer = getViewTreeObserver();
+        observer.removeOnScrollChangedListener(scrollListener);
+        observer.removeOnGlobalLayoutListener(layoutListener);
+        playerTrimmer.unregister(this);
+        active = false;
+        resumeOnShow = false;
+        visibilityCheckPending = false;
+        mainHandler.removeCallbacks(visibilityCheck);
+        mainHandler.removeCallbacks(trimTick);
+        stopTicks();
+        // Hand the player back stopped and cleared instead of releasing it
+        releasePlayer();
+    }
+
+    @Override
+    protected void onVisibilityChanged(View changedView, int visibility) {
+        super.onVisibilityChanged(changedView, visibility);
+        requestVisibilityCheck();
+    }
+
+    @Override
+    protected void onWindowVisibilityChanged(int visibility) {
+        super.onWindowVisibilityChanged(visibility);
+        requestVisibilityCheck();
+    }
+
+    @Override
+    public void onHostResume() {
+        hostResumed = true;
+        updateActiveState();
+    }
+
+    @Override
+    public void onHostPause() {
+        hostResumed = false;
+        updateActiveState();
+    }
+
+    @Override
+    public void onHostDestroy() {
+        hostResumed = false;
+        mainHandler.removeCallbacks(trimTick);
+        stopTicks();
+        releasePlayer();
+    }
+
+    // Players that are not active go first; a visible player keeps playing under memory pressure
+    @Override
+    public void onTrimMemory(int level) {
+        if (!active) {
+            mainHandler.removeCallbacks(trimTick);
+            trim();
+        }
+    }
+
+    // Scroll and layout callbacks fire in bursts, so the check runs at most once per loop
+    private void requestVisibilityCheck() {
+        if (mainHandler != null && !visibilityCheckPending && isAttachedToWindow()) {
+            visibilityCheckPending = true;
+            mainHandler.post(visibilityCheck);
+        }
+    }
+
+    private void updateActiveState() {
+        boolean shouldBeActive = hostResumed && isAttachedToWindow() && isShown()
+            && getLocalVisibleRect(visibleRect);
+        if (shouldBeActive == active) {
+            return;
+        }
+        active = shouldBeActive;
+        if (active) {
+            onShown();
+        } else {
+            onHidden();
+        }
+        updateBudgetPriority();
+    }
+
+    private int getBudgetPriority() {
+        if (!active) {
+            return PlayerBudget.PRIORITY_HIDDEN;
+        }
+        return exoPlayer != null && exoPlayer.isPlaying() ? PlayerBudget.PRIORITY_PLAYING : PlayerBudget.PRIORITY_PAUSED;
+    }
+
+    private void claimBudget() {
+        if (budgetDemotionPending) {
+            return;
+        }
+        int maxBitrate = Math.min(trackSelector.getParameters().maxVideoBitrate, BUDGET_MAX_BITRATE);
+        budgetClaimed = playerBudget.claim(this, getBudgetPriority(), bufferProfile.estimateBufferBytes(maxBitrate));
+        if (!budgetClaimed) {
+            // Every player in the way outranks this one, so it gives its decoders back straight away
+            budgetDemotionPending = true;
+            mainHandler.post(budgetDemotion);
+        }
+    }
+
+    private void releaseBudget() {
+        if (budgetDemotionPending) {
+            budgetDemotionPending = false;
+            mainHandler.removeCallbacks(budgetDemotion);
+        }
+        if (budgetClaimed) {
+            budgetClaimed = false;
+            playerBudget.release(this);
+        }
+    }
+
+    private void updateBudgetPriority() {
+        if (budgetClaimed) {
+            playerBudget.update(this, getBudgetPriority());
+        }
+    }
+
+    @Override
+    public void onBudgetDemoted() {
+        // Only a held claim can be taken away; anything else is already released or demoted
+        if (!budgetClaimed) {
+            return;
+        }
+        budgetClaimed = false;
+        demote();
+    }
+
+    // Hidden players are trimmed outright; visible ones are stopped, which keeps the media item and
+    // position so play prepares again from the same spot
+    private void demote() {
+        if (exoPlayer == null || exoPlayer.getPlaybackState() == Player.STATE_IDLE) {
+            return;
+        }
+        boolean wasPlaying = exoPlayer.getPlayWhenReady();
+        if (!active) {
+            resumeOnShow = resumeOnShow || wasPlaying;
+            trim();
+        } else {
+            exoPlayer.pause();
+            preloadBudget.release(this);
+            exoPlayer.stop();
+        }
+        WritableMap params = Arguments.createMap();
+        params.putBoolean("wasPlaying", wasPlaying);
+        playerEventEmitter.emit(PlayerEventEmitter.EVENT_DEMOTED, params);
+    }
+
+    // Pauses right away and drops decoders and buffers only after the grace period,
+    // so a quick scroll back or app switch resumes without a reload
+    private void onHidden() {
         if (exoPlayer != null) {
-            exoPlayer.release();
+            resumeOnShow = exoPlayer.getPlayWhenReady();
+            exoPlayer.pause();
+        }
+        stopTicks();
+        mainHandler.removeCallbacks(trimTick);
+        mainHandler.postDelayed(trimTick, playerTrimmer.getGracePeriodMs());
+    }
+
+    private void onShown() {
+        mainHandler.removeCallbacks(trimTick);
+        if (pooledPlayer == null) {
+            // Playback resumes from onVideo once the reload lands
+            restorePlayer();
+        } else if (resumeOnShow) {
+            resumeOnShow = false;
+            startPlayback();
         }
+        scheduleTicks();
+    }
+
+    // Keeps only the position; the pool stops the player, which frees its decoders and buffers
+    private void trim() {
+        if (pooledPlayer == null) {
+            return;
+        }
+        long position = exoPlayer.getCurrentPosition();
+        if (exoPlayer.getPlaybackState() != Player.STATE_IDLE) {
+            resumePositionMs = position;
+            resumeItemIndex = exoPlayer.getCurrentMediaItemIndex();
+        }
+        releasePlayer();
+    }
+
+    private void restorePlayer() {
+        acquirePlayer();
+        applyQualityConstraints();
+        loadVideo();
+    }
+
+    private void scheduleTicks() {
+        scheduleControlsTick();
+        scheduleStatsTick();
+        scheduleLiveTick();
+        scheduleStateTick();
+        renderCaptions();
+    }
+
+    private void stopTicks() {
+        stopControlsTick();
+        mainHandler.removeCallbacks(statsTick);
+        mainHandler.removeCallbacks(liveTick);
+        mainHandler.removeCallbacks(scrubSeekTick);
+        mainHandler.removeCallbacks(captionTick);
+        mainHandler.removeCallbacks(stateTick);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,127 @@
+package com.brightcoveplayer;
+
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.LruCache;
+
+import com.google.android.exoplayer2.text.Cue;
+import com.google.android.exoplayer2.upstream.DataSource;
+import com.google.android.exoplayer2.upstream.DataSourceInputStream;
+import com.google.android.exoplayer2.upstream.DataSpec;
+import com.google.android.exoplayer2.util.Util;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Sideloaded caption tracks parsed off the main thread and kept per video and language.
+// Callbacks run on the main thread; call from the main thread only.
+public class CaptionCache implements PlayerTrimmer.Trimmable {
+    public static final int DEFAULT_MAX_TRACKS = 16;
+    // Caption files are a few tens of KB, this keeps a typical session's worth
+    public static final int DEFAULT_MAX_FILE_BYTES = 512 * 1024;
+
+    public interface Callback {
+        void onCues(CueIndex<Cue> cues);
+    }
+
+    private final DataSource.Factory dataSourceFactory;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final LruCache<String, CueIndex<Cue>> tracks;
+    // Raw files, only kept when there is no media cache to read them back from
+    private final LruCache<String, byte[]> files;
+    // Views waiting on a track that is still being fetched, so it is only fetched once
+    private final Map<String, List<Callback>> pending = new HashMap<>();
+
+    // maxFileBytes of 0 keeps no raw files
+    public CaptionCache(DataSource.Factory dataSourceFactory, int maxTracks, int maxFileBytes) {
+        this.dataSourceFactory = dataSourceFactory;
+        this.tracks = new LruCache<>(maxTracks);
+        this.files = maxFileBytes > 0
+            ? new LruCache<String, byte[]>(maxFileBytes) {
+                @Override
+                protected int sizeOf(String key, byte[] value) {
+                    return value.length;
+                }
+            }
+            : null;
+    }
+
+    // Delivers synchronously when the track is already parsed; failed tracks are never delivered
+    public void load(final String key, final String url, final String mimeType, Callback callback) {
+        CueIndex<Cue> cached = tracks.get(key);
+        if (cached != null) {
+            callback.onCues(cached);
+            return;
+        }
+        List<Callback> waiting = pending.get(key);
+        if (waiting != null) {
+            waiting.add(callback);
+            return;
+        }
+        waiting = new ArrayList<>();
+        waiting.add(callback);
+        pending.put(key, waiting);
+        executor.execute(() -> {
+            CueIndex<Cue> index;
+            try {
+                index = buildIndex(CaptionParser.parse(readFile(key, url), mimeType));
+            } catch (Exception e) {
+                index = null;
+            }
+            final CueIndex<Cue> result = index;
+            mainHandler.post(() -> {
+                List<Callback> callbacks = pending.remove(key);
+                if (result == null) {
+                    return;
+                }
+                tracks.put(key, result);
+                for (Callback waitingCallback : callbacks) {
+                    waitingCallback.onCues(result);
+                }
+            });
+        });
+    }
+
+    // Only the parsed form is dropped; files are read back from the media cache, or from the bounded
+    // copy kept here when there is none, so re-parsing does not refetch them
+    @Override
+    public void onTrimMemory(int level) {
+        tracks.evictAll();
+    }
+
+    private static CueIndex<Cue> buildIndex(List<CaptionParser.ParsedCue> parsed) {
+        CueIndex.Builder<Cue> builder = new CueIndex.Builder<>();
+        for (CaptionParser.ParsedCue cue : parsed) {
+            builder.add(cue.startMs, cue.endMs, new Cue.Builder().setText(cue.text).build());
+        }
+        return builder.build();
+    }
+
+    private byte[] readFile(String key, String url) throws IOException {
+        byte[] data = files != null ? files.get(key) : null;
+        if (data == null) {
+            data = read(url);
+            if (files != null) {
+                files.put(key, data);
+            }
+        }
+        return data;
+    }
+
+    private byte[] read(String url) throws IOException {
+        DataSourceInputStream input = new DataSourceInputStream(
+            dataSourceFactory.createDataSource(), new DataSpec(Uri.parse(url)));
+        try {
+            return Util.toByteArray(input);
+        } finally {
+            Util.closeQuietly(input);
+        }
+    }
+}
@@ -0,0 +1,340 @@
+package com.brightcoveplayer;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import com.brightcove.player.edge.Catalog;
+import com.brightcove.player.edge.CatalogError;
+import com.brightcove.player.edge.PlaylistListener;
+import com.brightcove.player.edge.VideoListener;
+import com.brightcove.player.model.Playlist;
+import com.brightcove.player.model.Video;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class CatalogCache {
+    public static final long DEFAULT_TTL_MS = 10 * 60 * 1000;
+    public static final int DEFAULT_MAX_ENTRIES = 100;
+
+    private final Map<String, Catalog> catalogs = new HashMap<>();
+    private final LinkedHashMap<String, CachedVideo> videos;
+    private final long ttlMs;
+    private final String baseUrl;
+    private final int maxEntries;
+    private final File diskDir;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ExecutorService diskExecutor = Executors.newSingleThreadExecutor();
+
+    public CatalogCache(Context context, String baseUrl) {
+        this(context, baseUrl, DEFAULT_MAX_ENTRIES, DEFAULT_TTL_MS);
+    }
+
+    // A null baseUrl uses the Brightcove Playback API
+    public CatalogCache(Context context, String baseUrl, final int maxEntries, long ttlMs) {
+        this.baseUrl = baseUrl;
+        this.maxEntries = maxEntries;
+        this.ttlMs = ttlMs;
+        this.diskDir = new File(context.getFilesDir(), "brightcove/videos");
+        // Access-ordered so the eldest entry is the least recently used one
+        this.videos = new LinkedHashMap<String, CachedVideo>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedVideo> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public interface VideosCallback {
+        // Videos in request order; ones that failed to resolve are left out
+        void onVideos(List<Video> videos);
+
+        // The playlist lookup failed, or not one of the requested videos resolved
+        void onError(String message);
+    }
+
+    // Cancelling skips any lookup tier that has not started yet and drops the answer
+    public static final class Request {
+        private volatile boolean cancelled;
+
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    private static class CachedVideo {
+        final Video video;
+        final long fetchedAt;
+
+        CachedVideo(Video video, long fetchedAt) {
+            this.video = video;
+            this.fetchedAt = fetchedAt;
+        }
+    }
+
+    public synchronized Catalog getCatalog(String accountId, String policyKey) {
+        String key = accountId + ":" + policyKey;
+        Catalog catalog = catalogs.get(key);
+        if (catalog == null) {
+            Catalog.Builder builder = new Catalog.Builder(accountId, policyKey);
+            if (baseUrl != null) {
+                builder.setBaseURL(baseUrl);
+            }
+            catalog = builder.build();
+            catalogs.put(key, catalog);
+        }
+        return catalog;
+    }
+
+    // Answers from memory, then disk, then the Playback API; listener is always called on the main thread
+    public Request findVideo(String accountId, String policyKey, String videoId, VideoListener listener) {
+        Request request = new Request();
+        findVideo(accountId, policyKey, videoId, listener, request);
+        return request;
+    }
+
+    private void findVideo(final String accountId, final String policyKey, final String videoId,
+                           final VideoListener listener, final Request request) {
+        final String key = videoKey(accountId, videoId);
+        Video cached = getFromMemory(key);
+        if (cached != null) {
+            mainHandler.post(() -> {
+                if (!request.isCancelled()) {
+                    listener.onVideo(cached);
+                }
+            });
+            return;
+        }
+
+        diskExecutor.execute(() -> {
+            if (request.isCancelled()) {
+                return;
+            }
+            CachedVideo fromDisk = readFromDisk(key);
+            if (fromDisk != null) {
+                synchronized (this) {
+                    videos.put(key, fromDisk);
+                }
+                mainHandler.post(() -> {
+                    if (!request.isCancelled()) {
+                        listener.onVideo(fromDisk.video);
+                    }
+                });
+                return;
+            }
+            mainHandler.post(() -> {
+                if (request.isCancelled()) {
+                    return;
+                }
+                // Once sent, the answer is still cached for the next lookup even if nobody waits for it
+                getCatalog(accountId, policyKey).findVideoByID(videoId, new VideoListener() {
+                    @Override
+                    public void onVideo(Video video) {
+                        put(key, video);
+                        if (!request.isCancelled()) {
+                            listener.onVideo(video);
+                        }
+                    }
+
+                    @Override
+                    public void onError(List<CatalogError> errors) {
+                        if (!request.isCancelled()) {
+                            listener.onError(errors);
+                        }
+                    }
+                });
+            });
+        });
+    }
+
+    // Resolves every ID concurrently, each through the same memory, disk and network tiers as findVideo
+    public Request findVideos(String accountId, String policyKey, final List<String> videoIds,
+                              final VideosCallback callback) {
+        final Request request = new Request();
+        final Video[] results = new Video[videoIds.size()];
+        final int[] remaining = {videoIds.size()};
+        if (remaining[0] == 0) {
+            mainHandler.post(() -> {
+                if (!request.isCancelled()) {
+                    callback.onVideos(new ArrayList<>());
+                }
+            });
+            return request;
+        }
+        for (int i = 0; i < videoIds.size(); i++) {
+            final int index = i;
+            // Listeners run on the main thread, so the shared counters need no locking
+            findVideo(accountId, policyKey, videoIds.get(i), new VideoListener() {
+                @Override
+                public void onVideo(Video video) {
+                    results[index] = video;
+                    onResult();
+                }
+
+                @Override
+                public void onError(List<CatalogError> errors) {
+                    onResult();
+                }
+
+                private void onResult() {
+                    if (--remaining[0] > 0) {
+                        return;
+                    }
+                    List<Video> videos = new ArrayList<>(results.length);
+                    for (Video video : results) {
+                        if (video != null) {
+                            videos.add(video);
+                        }
+                    }
+                    if (videos.isEmpty()) {
+                        callback.onError("Could not load any of the " + results.length + " queued videos");
+                    } else {
+                        callback.onVideos(videos);
+                    }
+                }
+            }, request);
+        }
+        return request;
+    }
+
+    // One Playback API request for the whole playlist; its videos are cached for later single lookups
+    public Request findPlaylist(final String accountId, String policyKey, String playlistId,
+                                final VideosCallback callback) {
+        final Request request = new Request();
+        final Catalog catalog = getCatalog(accountId, policyKey);
+        mainHandler.post(() -> {
+            if (request.isCancelled()) {
+                return;
+            }
+            catalog.findPlaylistByID(playlistId, new PlaylistListener() {
+                @Override
+                public void onPlaylist(Playlist playlist) {
+                    List<Video> videos = playlist.getVideos();
+                    for (Video video : videos) {
+                        put(videoKey(accountId, video.getId()), video);
+                    }
+                    if (!request.isCancelled()) {
+                        callback.onVideos(videos);
+                    }
+                }
+
+                @Override
+                public void onError(List<CatalogError> errors) {
+                    if (!request.isCancelled()) {
+                        callback.onError("Could not load playlist " + playlistId);
+                    }
+                }
+            });
+        });
+        return request;
+    }
+
+    public Video peekVideo(String accountId, String videoId) {
+        return getFromMemory(videoKey(accountId, videoId));
+    }
+
+    public synchronized void clear() {
+        videos.clear();
+        diskExecutor.execute(() -> {
+            File[] files = diskDir.listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    file.delete();
+                }
+            }
+        });
+    }
+
+    private synchronized Video getFromMemory(String key) {
+        CachedVideo entry = videos.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (isExpired(entry.fetchedAt)) {
+            videos.remove(key);
+            return null;
+        }
+        return entry.video;
+    }
+
+    private void put(final String key, final Video video) {
+        final CachedVideo entry = new CachedVideo(video, System.currentTimeMillis());
+        synchronized (this) {
+            videos.put(key, entry);
+        }
+        diskExecutor.execute(() -> writeToDisk(key, entry));
+    }
+
+    private boolean isExpired(long fetchedAt) {
+        return System.currentTimeMillis() - fetchedAt > ttlMs;
+    }
+
+    private CachedVideo readFromDisk(String key) {
+        File file = new File(diskDir, key);
+        if (!file.exists()) {
+            return null;
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            long fetchedAt = in.readLong();
+            if (isExpired(fetchedAt)) {
+                file.delete();
+                return null;
+            }
+            Video video = (Video) in.readObject();
+            // Touch the file so disk eviction follows recent use
+            file.setLastModified(System.currentTimeMillis());
+            return new CachedVideo(video, fetchedAt);
+        } catch (Exception e) {
+            file.delete();
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, CachedVideo entry) {
+        if (!diskDir.exists() && !diskDir.mkdirs()) {
+            return;
+        }
+        File file = new File(diskDir, key);
+        try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeLong(entry.fetchedAt);
+            out.writeObject(entry.video);
+        } catch (Exception e) {
+            file.delete();
+            return;
+        }
+        trimDisk();
+    }
+
+    private void trimDisk() {
+        File[] files = diskDir.listFiles();
+        if (files == null || files.length <= maxEntries) {
+            return;
+        }
+        Arrays.sort(files, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+        for (int i = 0; i < files.length - maxEntries; i++) {
+            files[i].delete();
+        }
+    }
+
+    private static String videoKey(String accountId, String videoId) {
+        return (accountId + "_" + videoId).replaceAll("[^A-Za-z0-9_-]", "_");
+    }
+}
@@ -0,0 +1,316 @@
+package com.brightcoveplayer;
+
+import android.content.Context;
+import android.hardware.display.DisplayManager;
+import android.media.MediaCodecInfo;
+import android.media.MediaCodecList;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Range;
+import android.view.Display;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+
+// Probes the video decoders once per device and OS build, off the main thread, and keeps the result on disk.
+// Until the probe lands, getCeiling() keeps the 1080p cap players had before probing existed.
+public class DecoderCapabilities {
+    public interface Callback {
+        void onProfile(DecoderProfile profile);
+    }
+
+    private static final String[] MIME_TYPES = {
+        DecoderProfile.MIME_AVC, DecoderProfile.MIME_HEVC, DecoderProfile.MIME_VP9, DecoderProfile.MIME_AV1
+    };
+    // Largest first; the first one decoded smoothly is the codec's ceiling
+    private static final int[][] PROBE_SIZES = {
+        {3840, 2160}, {2560, 1440}, {1920, 1080}, {1280, 720}, {854, 480}, {640, 360}
+    };
+    private static final int SMOOTH_FRAME_RATE = 30;
+    private static final int[] PROBE_FRAME_RATES = {120, 60, 50, 30};
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final File profileFile;
+    private final Context context;
+    private final String buildKey = Build.FINGERPRINT;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private volatile DecoderProfile profile;
+
+    public DecoderCapabilities(Context context) {
+        this.context = context.getApplicationContext();
+        // Not backed up: a profile restored onto another device would be wrong, even if the key would catch it
+        this.profileFile = new File(this.context.getNoBackupFilesDir(), "brightcove/decoder_profile");
+    }
+
+    // The callback runs on the main thread
+    public void load(final Callback callback) {
+        new Thread(() -> {
+            DecoderProfile loaded = readProfile();
+            if (loaded == null) {
+                loaded = probe();
+                writeProfile(loaded);
+            }
+            final DecoderProfile result = loaded;
+            profile = result;
+            mainHandler.post(() -> callback.onProfile(result));
+        }, "BrightcoveDecoderProbe").start();
+    }
+
+    public DecoderProfile getProfile() {
+        return profile;
+    }
+
+    public QualityCaps getCeiling() {
+        DecoderProfile current = profile;
+        return current != null ? current.getCeiling() : DecoderProfile.DEFAULT_CEILING;
+    }
+
+    public int getMaxFrameRate() {
+        DecoderProfile current = profile;
+        return current != null ? current.getMaxFrameRate() : Integer.MAX_VALUE;
+    }
+
+    public WritableMap toMap() {
+        WritableMap map = Arguments.createMap();
+        DecoderProfile current = profile;
+        map.putBoolean("probed", current != null);
+        if (current == null) {
+            return map;
+        }
+        QualityCaps ceiling = current.getCeiling();
+        map.putInt("maxWidth", ceiling.maxWidth);
+        map.putInt("maxHeight", ceiling.maxHeight);
+        map.putInt("maxBitrate", ceiling.maxBitrate);
+        if (current.getMaxFrameRate() != Integer.MAX_VALUE) {
+            map.putInt("maxFrameRate", current.getMaxFrameRate());
+        }
+        map.putBoolean("hdrDisplay", current.isHdrDisplay());
+        WritableArray codecs = Arguments.createArray();
+        for (DecoderProfile.Codec codec : current.getCodecs()) {
+            WritableMap entry = Arguments.createMap();
+            entry.putString("mimeType", codec.mimeType);
+            entry.putString("decoder", codec.decoderName);
+            entry.putBoolean("hardware", codec.hardware);
+            entry.putInt("maxWidth", codec.maxWidth);
+            entry.putInt("maxHeight", codec.maxHeight);
+            entry.putInt("maxFrameRate", codec.maxFrameRate);
+            entry.putBoolean("hdr", codec.hdr);
+            entry.putInt("maxInstances", codec.maxInstances);
+            codecs.pushMap(entry);
+        }
+        map.putArray("codecs", codecs);
+        return map;
+    }
+
+    private DecoderProfile probe() {
+        MediaCodecInfo[] infos = new MediaCodecList(MediaCodecList.REGULAR_CODECS).getCodecInfos();
+        List<DecoderProfile.Codec> codecs = new ArrayList<>();
+        for (String mimeType : MIME_TYPES) {
+            DecoderProfile.Codec codec = null;
+            for (MediaCodecInfo info : infos) {
+                if (!supports(info, mimeType)) {
+                    continue;
+                }
+                try {
+                    DecoderProfile.Codec candidate = probeCodec(info, mimeType);
+                    // Decoders are listed in preference order; a hardware one beats any software one
+                    if (codec == null || (candidate.hardware && !codec.hardware)) {
+                        codec = candidate;
+                    }
+                } catch (RuntimeException e) {
+                    // Some vendor decoders throw from their capability queries, skip them
+                }
+                if (codec != null && codec.hardware) {
+                    break;
+                }
+            }
+            if (codec != null) {
+                codecs.add(codec);
+            }
+        }
+        return new DecoderProfile(buildKey, isHdrDisplay(), codecs);
+    }
+
+    private static boolean supports(MediaCodecInfo info, String mimeType) {
+        if (info.isEncoder() || info.getName().endsWith(".secure")) {
+            return false;
+        }
+        for (String type : info.getSupportedTypes()) {
+            if (type.equalsIgnoreCase(mimeType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static DecoderProfile.Codec probeCodec(MediaCodecInfo info, String mimeType) {
+        MediaCodecInfo.CodecCapabilities capabilities = info.getCapabilitiesForType(mimeType);
+        MediaCodecInfo.VideoCapabilities video = capabilities.getVideoCapabilities();
+        int maxWidth = 0;
+        int maxHeight = 0;
+        int maxFrameRate = 0;
+        for (int[] size : PROBE_SIZES) {
+            int width = align(size[0], video.getWidthAlignment());
+            int height = align(size[1], video.getHeightAlignment());
+            if (isSmooth(video, width, height)) {
+                maxWidth = size[0];
+                maxHeight = size[1];
+                maxFrameRate = maxFrameRate(video, width, height);
+                break;
+            }
+        }
+        int maxInstances = Build.VERSION.SDK_INT >= 23 ? capabilities.getMaxSupportedInstances() : 0;
+        return new DecoderProfile.Codec(mimeType, info.getName(), isHardware(info), maxWidth, maxHeight,
+            maxFrameRate, supportsHdr(capabilities, mimeType), maxInstances);
+    }
+
+    private static int align(int value, int alignment) {
+        return (value + alignment - 1) / alignment * alignment;
+    }
+
+    // Advertised sizes are what the decoder accepts; performance points and measured rates say what it keeps up with
+    private static boolean isSmooth(MediaCodecInfo.VideoCapabilities video, int width, int height) {
+        if (!video.areSizeAndRateSupported(width, height, SMOOTH_FRAME_RATE)) {
+            return false;
+        }
+        if (Build.VERSION.SDK_INT >= 29) {
+            List<MediaCodecInfo.VideoCapabilities.PerformancePoint> points = video.getSupportedPerformancePoints();
+            if (points != null && !points.isEmpty()) {
+                return covers(points, width, height, SMOOTH_FRAME_RATE);
+            }
+        }
+        if (Build.VERSION.SDK_INT >= 23) {
+            Range<Double> achievable = video.getAchievableFrameRatesFor(width, height);
+            if (achievable != null) {
+                return achievable.getUpper() >= SMOOTH_FRAME_RATE;
+            }
+        }
+        return true;
+    }
+
+    private static int maxFrameRate(MediaCodecInfo.VideoCapabilities video, int width, int height) {
+        if (Build.VERSION.SDK_INT >= 29) {
+            List<MediaCodecInfo.VideoCapabilities.PerformancePoint> points = video.getSupportedPerformancePoints();
+            if (points != null && !points.isEmpty()) {
+                for (int frameRate : PROBE_FRAME_RATES) {
+                    if (covers(points, width, height, frameRate)) {
+                        return frameRate;
+                    }
+                }
+                return SMOOTH_FRAME_RATE;
+            }
+        }
+        double frameRate = video.getSupportedFrameRatesFor(width, height).getUpper();
+        if (Build.VERSION.SDK_INT >= 23) {
+            Range<Double> achievable = video.getAchievableFrameRatesFor(width, height);
+            if (achievable != null) {
+                frameRate = Math.min(frameRate, achievable.getUpper());
+            }
+        }
+        return (int) Math.min(frameRate, PROBE_FRAME_RATES[0]);
+    }
+
+    private static boolean covers(List<MediaCodecInfo.VideoCapabilities.PerformancePoint> points,
+                                  int width, int height, int frameRate) {
+        MediaCodecInfo.VideoCapabilities.PerformancePoint wanted =
+            new MediaCodecInfo.VideoCapabilities.PerformancePoint(width, height, frameRate);
+        for (MediaCodecInfo.VideoCapabilities.PerformancePoint point : points) {
+            if (point.covers(wanted)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isHardware(MediaCodecInfo info) {
+        if (Build.VERSION.SDK_INT >= 29) {
+            return info.isHardwareAccelerated();
+        }
+        String name = info.getName().toLowerCase();
+        return !name.startsWith("omx.google.") && !name.startsWith("c2.android.") && !name.startsWith("c2.google.")
+            && !name.contains(".sw.") && !name.contains("ffmpeg");
+    }
+
+    private static boolean supportsHdr(MediaCodecInfo.CodecCapabilities capabilities, String mimeType) {
+        for (MediaCodecInfo.CodecProfileLevel level : capabilities.profileLevels) {
+            switch (mimeType) {
+                case DecoderProfile.MIME_HEVC:
+                    if (level.profile == MediaCodecInfo.CodecProfileLevel.HEVCProfileMain10HDR10
+                        || level.profile == MediaCodecInfo.CodecProfileLevel.HEVCProfileMain10HDR10Plus) {
+                        return true;
+                    }
+                    break;
+                case DecoderProfile.MIME_VP9:
+                    if (level.profile == MediaCodecInfo.CodecProfileLevel.VP9Profile2HDR
+                        || level.profile == MediaCodecInfo.CodecProfileLevel.VP9Profile3HDR) {
+                        return true;
+                    }
+                    break;
+                case DecoderProfile.MIME_AV1:
+                    if (level.profile == MediaCodecInfo.CodecProfileLevel.AV1ProfileMain10HDR10
+                        || level.profile == MediaCodecInfo.CodecProfileLevel.AV1ProfileMain10HDR10Plus) {
+                        return true;
+                    }
+                    break;
+                default:
+                    return false;
+            }
+        }
+        return false;
+    }
+
+    private boolean isHdrDisplay() {
+        if (Build.VERSION.SDK_INT < 24) {
+            return false;
+        }
+        DisplayManager displayManager = (DisplayManager) context.getSystemService(Context.DISPLAY_SERVICE);
+        Display display = displayManager != null ? displayManager.getDisplay(Display.DEFAULT_DISPLAY) : null;
+        Display.HdrCapabilities hdr = display != null ? display.getHdrCapabilities() : null;
+        return hdr != null && hdr.getSupportedHdrTypes().length > 0;
+    }
+
+    private DecoderProfile readProfile() {
+        if (!profileFile.exists()) {
+            return null;
+        }
+        try (InputStream in = new FileInputStream(profileFile)) {
+            byte[] data = new byte[(int) profileFile.length()];
+            int read = 0;
+            while (read < data.length) {
+                int count = in.read(data, read, data.length - read);
+                if (count < 0) {
+                    break;
+                }
+                read += count;
+            }
+            // An OS update changes the fingerprint, which makes parse reject the old profile
+            return DecoderProfile.parse(new String(data, 0, read, UTF_8), buildKey);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void writeProfile(DecoderProfile profile) {
+        File dir = profileFile.getParentFile();
+        if (!dir.exists() && !dir.mkdirs()) {
+            return;
+        }
+        try (OutputStream out = new FileOutputStream(profileFile)) {
+            out.write(profile.serialize().getBytes(UTF_8));
+        } catch (IOException e) {
+            // Probed again next launch
+        }
+    }
+}
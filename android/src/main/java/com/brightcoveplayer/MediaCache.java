@@ -0,0 +1,96 @@
+package com.brightcoveplayer;
+
+import android.content.Context;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+import com.google.android.exoplayer2.database.DatabaseProvider;
+import com.google.android.exoplayer2.upstream.DataSource;
+import com.google.android.exoplayer2.upstream.DataSpec;
+import com.google.android.exoplayer2.upstream.DefaultDataSource;
+import com.google.android.exoplayer2.upstream.TransferListener;
+import com.google.android.exoplayer2.upstream.cache.CacheDataSource;
+import com.google.android.exoplayer2.upstream.cache.LeastRecentlyUsedCacheEvictor;
+import com.google.android.exoplayer2.upstream.cache.SimpleCache;
+
+import java.io.File;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class MediaCache {
+    private final SimpleCache cache;
+    private final long maxBytes;
+    private final CacheDataSource.Factory dataSourceFactory;
+    private final AtomicLong bytesFromCache = new AtomicLong();
+    private final AtomicLong bytesFromNetwork = new AtomicLong();
+
+    public MediaCache(Context context, DatabaseProvider databaseProvider, long maxBytes,
+                      DefaultDataSource.Factory upstreamFactory) {
+        this.maxBytes = maxBytes;
+        File cacheDir = new File(context.getCacheDir(), "brightcove/media");
+        cache = new SimpleCache(
+            cacheDir,
+            new LeastRecentlyUsedCacheEvictor(maxBytes),
+            databaseProvider
+        );
+
+        upstreamFactory.setTransferListener(new NetworkByteCounter());
+        dataSourceFactory = new CacheDataSource.Factory()
+            .setCache(cache)
+            .setUpstreamDataSourceFactory(upstreamFactory)
+            .setFlags(CacheDataSource.FLAG_IGNORE_CACHE_ON_ERROR)
+            .setEventListener(new CacheDataSource.EventListener() {
+                @Override
+                public void onCachedBytesRead(long cacheSizeBytes, long cachedBytesRead) {
+                    bytesFromCache.addAndGet(cachedBytesRead);
+                }
+
+                @Override
+                public void onCacheIgnored(int reason) {
+                }
+            });
+    }
+
+    private class NetworkByteCounter implements TransferListener {
+        @Override
+        public void onTransferInitializing(DataSource source, DataSpec dataSpec, boolean isNetwork) {
+        }
+
+        @Override
+        public void onTransferStart(DataSource source, DataSpec dataSpec, boolean isNetwork) {
+        }
+
+        @Override
+        public void onBytesTransferred(DataSource source, DataSpec dataSpec, boolean isNetwork, int bytesTransferred) {
+            if (isNetwork) {
+                bytesFromNetwork.addAndGet(bytesTransferred);
+            }
+        }
+
+        @Override
+        public void onTransferEnd(DataSource source, DataSpec dataSpec, boolean isNetwork) {
+        }
+    }
+
+    public SimpleCache getCache() {
+        return cache;
+    }
+
+    public CacheDataSource.Factory getDataSourceFactory() {
+        return dataSourceFactory;
+    }
+
+    public WritableMap getStats() {
+        long fromCache = bytesFromCache.get();
+        long fromNetwork = bytesFromNetwork.get();
+        long total = fromCache + fromNetwork;
+
+        WritableMap stats = Arguments.createMap();
+        stats.putBoolean("enabled", true);
+        stats.putDouble("maxBytes", maxBytes);
+        stats.putDouble("bytesCached", cache.getCacheSpace());
+        stats.putDouble("bytesReadFromCache", fromCache);
+        stats.putDouble("bytesReadFromNetwork", fromNetwork);
+        stats.putDouble("hitRatio", total > 0 ? (double) fromCache / total : 0);
+        return stats;
+    }
+}
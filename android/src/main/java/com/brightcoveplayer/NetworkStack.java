@@ -0,0 +1,242 @@
+package com.brightcoveplayer;
+
+import android.content.Context;
+import android.net.ConnectivityManager;
+import android.net.Network;
+import android.os.SystemClock;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.modules.network.OkHttpClientProvider;
+import com.google.android.exoplayer2.ext.okhttp.OkHttpDataSource;
+import com.google.android.exoplayer2.upstream.DefaultDataSource;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import okhttp3.Call;
+import okhttp3.Connection;
+import okhttp3.Dns;
+import okhttp3.EventListener;
+import okhttp3.Handshake;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Response;
+
+// The one HTTP client behind every player, download, prefetch and preview request, so requests to the
+// same CDN hosts share pooled connections (multiplexed over HTTP/2 where the host allows) instead of
+// each player handshaking on its own
+public class NetworkStack {
+    public static final long DEFAULT_DNS_TTL_MS = 5 * 60 * 1000;
+
+    private final Context context;
+    private final OkHttpClient client;
+    private final OkHttpDataSource.Factory httpDataSourceFactory;
+    private final NetworkStats stats = new NetworkStats();
+    private final Map<String, CachedLookup> dnsCache = new ConcurrentHashMap<>();
+
+    // A null baseClient builds on React Native's shared client, so fetch() calls to the same hosts
+    // reuse these connections too
+    public NetworkStack(Context context, OkHttpClient baseClient, long dnsTtlMs) {
+        this.context = context.getApplicationContext();
+        OkHttpClient base = baseClient != null ? baseClient : OkHttpClientProvider.getOkHttpClient();
+        // newBuilder keeps the base client's connection pool and dispatcher
+        this.client = base.newBuilder()
+            .dns(new CachingDns(base.dns(), dnsTtlMs))
+            .eventListenerFactory(call -> new TimingListener())
+            .build();
+        this.httpDataSourceFactory = new OkHttpDataSource.Factory(client);
+
+        // Addresses resolved on the previous network may not be reachable from the new one
+        ConnectivityManager connectivityManager =
+            (ConnectivityManager) this.context.getSystemService(Context.CONNECTIVITY_SERVICE);
+        if (android.os.Build.VERSION.SDK_INT >= android.os.Build.VERSION_CODES.N && connectivityManager != null) {
+            connectivityManager.registerDefaultNetworkCallback(new ConnectivityManager.NetworkCallback() {
+                @Override
+                public void onAvailable(Network network) {
+                    dnsCache.clear();
+                }
+            });
+        }
+    }
+
+    public OkHttpClient getClient() {
+        return client;
+    }
+
+    // A new factory each time, so callers can attach their own transfer listener
+    public DefaultDataSource.Factory newDataSourceFactory() {
+        return new DefaultDataSource.Factory(context, httpDataSourceFactory);
+    }
+
+    public WritableMap getStats() {
+        WritableArray hosts = Arguments.createArray();
+        for (NetworkStats.HostStats host : stats.getHosts()) {
+            WritableMap entry = Arguments.createMap();
+            entry.putString("host", host.host);
+            entry.putInt("requests", host.requests);
+            entry.putInt("failures", host.failures);
+            entry.putInt("connectionsOpened", host.connectionsOpened);
+            entry.putInt("connectionsReused", host.connectionsReused);
+            entry.putInt("http2Requests", host.http2Requests);
+            // DNS, connect and TLS only happen for new connections
+            entry.putDouble("avgDnsMs", average(host.dnsMs, host.connectionsOpened));
+            entry.putDouble("avgConnectMs", average(host.connectMs, host.connectionsOpened));
+            entry.putDouble("avgTlsMs", average(host.tlsMs, host.connectionsOpened));
+            entry.putDouble("avgTimeToFirstByteMs", average(host.timeToFirstByteMs, host.requests));
+            entry.putDouble("avgTotalMs", average(host.totalMs, host.requests));
+            entry.putDouble("bytesReceived", host.bytesReceived);
+            hosts.pushMap(entry);
+        }
+        WritableMap result = Arguments.createMap();
+        result.putArray("hosts", hosts);
+        result.putDouble("dnsCacheHits", stats.getDnsCacheHits());
+        result.putDouble("dnsCacheMisses", stats.getDnsCacheMisses());
+        result.putInt("idleConnections", client.connectionPool().idleConnectionCount());
+        result.putInt("connections", client.connectionPool().connectionCount());
+        return result;
+    }
+
+    public void resetStats() {
+        stats.reset();
+    }
+
+    private static double average(long sum, int count) {
+        return count > 0 ? (double) sum / count : 0;
+    }
+
+    private static class CachedLookup {
+        final List<InetAddress> addresses;
+        final long expiresAtMs;
+
+        CachedLookup(List<InetAddress> addresses, long expiresAtMs) {
+            this.addresses = addresses;
+            this.expiresAtMs = expiresAtMs;
+        }
+    }
+
+    private class CachingDns implements Dns {
+        private final Dns delegate;
+        private final long ttlMs;
+
+        CachingDns(Dns delegate, long ttlMs) {
+            this.delegate = delegate;
+            this.ttlMs = ttlMs;
+        }
+
+        @Override
+        public List<InetAddress> lookup(String hostname) throws UnknownHostException {
+            long now = SystemClock.elapsedRealtime();
+            CachedLookup cached = dnsCache.get(hostname);
+            if (cached != null && now < cached.expiresAtMs) {
+                stats.recordDnsLookup(true);
+                return cached.addresses;
+            }
+            stats.recordDnsLookup(false);
+            try {
+                List<InetAddress> addresses = delegate.lookup(hostname);
+                dnsCache.put(hostname, new CachedLookup(addresses, now + ttlMs));
+                return addresses;
+            } catch (UnknownHostException e) {
+                // An expired answer beats failing while the resolver is briefly unreachable
+                if (cached != null) {
+                    return cached.addresses;
+                }
+                throw e;
+            }
+        }
+    }
+
+    // One per call, so the phase timestamps need no locking
+    private class TimingListener extends EventListener {
+        private final NetworkStats.Timing timing = new NetworkStats.Timing();
+        private long callStartMs;
+        private long dnsStartMs;
+        private long connectStartMs = -1;
+        private long secureConnectStartMs;
+        private long requestStartMs = -1;
+
+        @Override
+        public void callStart(Call call) {
+            callStartMs = SystemClock.elapsedRealtime();
+        }
+
+        @Override
+        public void dnsStart(Call call, String domainName) {
+            dnsStartMs = SystemClock.elapsedRealtime();
+        }
+
+        @Override
+        public void dnsEnd(Call call, String domainName, List<InetAddress> addresses) {
+            timing.dnsMs = SystemClock.elapsedRealtime() - dnsStartMs;
+        }
+
+        @Override
+        public void connectStart(Call call, InetSocketAddress address, Proxy proxy) {
+            connectStartMs = SystemClock.elapsedRealtime();
+        }
+
+        @Override
+        public void secureConnectStart(Call call) {
+            secureConnectStartMs = SystemClock.elapsedRealtime();
+        }
+
+        @Override
+        public void secureConnectEnd(Call call, Handshake handshake) {
+            timing.tlsMs = SystemClock.elapsedRealtime() - secureConnectStartMs;
+        }
+
+        @Override
+        public void connectEnd(Call call, InetSocketAddress address, Proxy proxy, Protocol protocol) {
+            timing.connectMs = SystemClock.elapsedRealtime() - connectStartMs;
+        }
+
+        @Override
+        public void connectionAcquired(Call call, Connection connection) {
+            timing.http2 = connection.protocol() == Protocol.HTTP_2;
+        }
+
+        @Override
+        public void requestHeadersStart(Call call) {
+            if (requestStartMs < 0) {
+                requestStartMs = SystemClock.elapsedRealtime();
+            }
+        }
+
+        @Override
+        public void responseHeadersEnd(Call call, Response response) {
+            if (timing.timeToFirstByteMs < 0 && requestStartMs >= 0) {
+                timing.timeToFirstByteMs = SystemClock.elapsedRealtime() - requestStartMs;
+            }
+        }
+
+        @Override
+        public void responseBodyEnd(Call call, long byteCount) {
+            timing.bytesReceived += byteCount;
+        }
+
+        @Override
+        public void callEnd(Call call) {
+            finish(call, false);
+        }
+
+        @Override
+        public void callFailed(Call call, IOException ioe) {
+            finish(call, true);
+        }
+
+        private void finish(Call call, boolean failed) {
+            timing.totalMs = SystemClock.elapsedRealtime() - callStartMs;
+            timing.connectionReused = connectStartMs < 0;
+            timing.failed = failed;
+            stats.record(call.request().url().host(), timing);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.brightcoveplayer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Decoder instances and buffer memory shared by every prepared player. Main thread only.
+// Claims rank by priority, then by how recently they were made or raised; a claim that does not
+// fit displaces the lowest-ranked ones.
+public class PlayerBudget {
+    public static final int DEFAULT_MAX_DECODERS = 4;
+
+    public static final int PRIORITY_HIDDEN = 0;
+    public static final int PRIORITY_PAUSED = 1;
+    public static final int PRIORITY_PLAYING = 2;
+
+    public interface Member {
+        // Called when a higher-ranked player needed the resources; the player should drop its decoders and buffers
+        void onBudgetDemoted();
+    }
+
+    private static class Claim {
+        final Member member;
+        final long bufferBytes;
+        int priority;
+        long rank;
+
+        Claim(Member member, int priority, long bufferBytes, long rank) {
+            this.member = member;
+            this.priority = priority;
+            this.bufferBytes = bufferBytes;
+            this.rank = rank;
+        }
+    }
+
+    private int maxDecoders;
+    private final long maxBufferBytes;
+    private final Map<Member, Claim> claims = new HashMap<>();
+    private long clock;
+    private long bufferBytesInUse;
+    private int demotionCount;
+
+    public PlayerBudget(int maxDecoders, long maxBufferBytes) {
+        this.maxDecoders = Math.max(1, maxDecoders);
+        this.maxBufferBytes = maxBufferBytes;
+    }
+
+    // Returns false when the claims in the way all outrank this one. A lone player is always admitted,
+    // even over the byte budget.
+    public boolean claim(Member member, int priority, long bufferBytes) {
+        release(member);
+        List<Claim> ranked = new ArrayList<>(claims.values());
+        Collections.sort(ranked, (a, b) -> a.priority != b.priority
+            ? Integer.compare(a.priority, b.priority)
+            : Long.compare(a.rank, b.rank));
+
+        int decoderExcess = claims.size() + 1 - maxDecoders;
+        long byteExcess = bufferBytesInUse + bufferBytes - maxBufferBytes;
+        List<Claim> displaced = new ArrayList<>();
+        for (Claim claim : ranked) {
+            if (decoderExcess <= 0 && byteExcess <= 0) {
+                break;
+            }
+            if (claim.priority > priority) {
+                return false;
+            }
+            displaced.add(claim);
+            decoderExcess--;
+            byteExcess -= claim.bufferBytes;
+        }
+
+        for (Claim claim : displaced) {
+            claims.remove(claim.member);
+            bufferBytesInUse -= claim.bufferBytes;
+            demotionCount++;
+        }
+        claims.put(member, new Claim(member, priority, bufferBytes, ++clock));
+        bufferBytesInUse += bufferBytes;
+        for (Claim claim : displaced) {
+            claim.member.onBudgetDemoted();
+        }
+        return true;
+    }
+
+    // Re-ranks an existing claim; never displaces anything by itself
+    public void update(Member member, int priority) {
+        Claim claim = claims.get(member);
+        if (claim == null || claim.priority == priority) {
+            return;
+        }
+        if (priority > claim.priority) {
+            claim.rank = ++clock;
+        }
+        claim.priority = priority;
+    }
+
+    public void release(Member member) {
+        Claim claim = claims.remove(member);
+        if (claim != null) {
+            bufferBytesInUse -= claim.bufferBytes;
+        }
+    }
+
+    // Applies to the next claim; players already holding decoders keep them
+    public void setMaxDecoders(int maxDecoders) {
+        this.maxDecoders = Math.max(1, maxDecoders);
+    }
+
+    public int getMaxDecoders() {
+        return maxDecoders;
+    }
+
+    public long getMaxBufferBytes() {
+        return maxBufferBytes;
+    }
+
+    public int getDecodersInUse() {
+        return claims.size();
+    }
+
+    public long getBufferBytesInUse() {
+        return bufferBytesInUse;
+    }
+
+    public int getDemotionCount() {
+        return demotionCount;
+    }
+
+    public int getClaimCount(int priority) {
+        int count = 0;
+        for (Claim claim : claims.values()) {
+            if (claim.priority == priority) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
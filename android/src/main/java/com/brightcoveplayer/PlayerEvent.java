@@ -0,0 +1,38 @@
+package com.brightcoveplayer;
+
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.uimanager.events.Event;
+
+public class PlayerEvent extends Event<PlayerEvent> {
+    private final String eventName;
+    private final WritableMap payload;
+    private final boolean coalescable;
+
+    PlayerEvent(int surfaceId, int viewTag, String eventName, WritableMap payload, boolean coalescable) {
+        super(surfaceId, viewTag);
+        this.eventName = eventName;
+        this.payload = payload;
+        this.coalescable = coalescable;
+    }
+
+    @Override
+    public String getEventName() {
+        return eventName;
+    }
+
+    // Lets the dispatcher keep only the latest state-like event per view within a frame
+    @Override
+    public boolean canCoalesce() {
+        return coalescable;
+    }
+
+    @Override
+    public short getCoalescingKey() {
+        return (short) eventName.hashCode();
+    }
+
+    @Override
+    protected WritableMap getEventData() {
+        return payload;
+    }
+}
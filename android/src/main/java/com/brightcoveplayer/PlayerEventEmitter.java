@@ -0,0 +1,121 @@
+package com.brightcoveplayer;
+
+import android.os.SystemClock;
+import android.view.View;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.uimanager.UIManagerHelper;
+import com.facebook.react.uimanager.events.EventDispatcher;
+
+public class PlayerEventEmitter {
+    public static final String EVENT_BUFFERING = "onBuffering";
+    public static final String EVENT_PROGRESS = "onProgress";
+    public static final String EVENT_ERROR = "onError";
+    public static final String EVENT_AVAILABLE_QUALITIES = "onAvailableQualities";
+    public static final String EVENT_AVAILABLE_CAPTIONS = "onAvailableCaptions";
+    public static final String EVENT_QUALITY_CHANGED = "onQualityChange";
+    public static final String EVENT_QUALITY_SWITCH_DECISION = "onQualitySwitchDecision";
+    public static final String EVENT_PLAYBACK_STATS = "onPlaybackStats";
+    public static final String EVENT_PLAYLIST_CHANGE = "onPlaylistChange";
+    public static final String EVENT_VIDEO_CHANGE = "onVideoChange";
+    public static final String EVENT_DEMOTED = "onDemoted";
+
+    public static final String[] EVENT_NAMES = {
+        EVENT_BUFFERING,
+        EVENT_PROGRESS,
+        EVENT_ERROR,
+        EVENT_AVAILABLE_QUALITIES,
+        EVENT_AVAILABLE_CAPTIONS,
+        EVENT_QUALITY_CHANGED,
+        EVENT_QUALITY_SWITCH_DECISION,
+        EVENT_PLAYBACK_STATS,
+        EVENT_PLAYLIST_CHANGE,
+        EVENT_VIDEO_CHANGE,
+        EVENT_DEMOTED,
+    };
+
+    private final View view;
+    private final EventCoalescer coalescer = new EventCoalescer();
+
+    public PlayerEventEmitter(View view) {
+        this.view = view;
+    }
+
+    public void setProgressInterval(long intervalMs) {
+        coalescer.setProgressInterval(intervalMs);
+    }
+
+    public void reset() {
+        coalescer.reset();
+    }
+
+    public void emitBuffering(boolean isBuffering) {
+        if (!coalescer.shouldEmitBuffering(isBuffering)) {
+            return;
+        }
+        WritableMap params = Arguments.createMap();
+        params.putBoolean("isBuffering", isBuffering);
+        dispatch(EVENT_BUFFERING, params, true);
+    }
+
+    public void emitProgress(long currentTime, long duration) {
+        if (!coalescer.shouldEmitProgress(currentTime, SystemClock.uptimeMillis())) {
+            return;
+        }
+        WritableMap params = Arguments.createMap();
+        params.putDouble("currentTime", currentTime);
+        params.putDouble("duration", duration);
+        dispatch(EVENT_PROGRESS, params, true);
+    }
+
+    public void emitQualityChanged(int width, int height, int bitrate) {
+        if (!coalescer.shouldEmitQuality(width, height, bitrate)) {
+            return;
+        }
+        WritableMap params = Arguments.createMap();
+        params.putInt("width", width);
+        params.putInt("height", height);
+        params.putInt("bitrate", bitrate);
+        dispatch(EVENT_QUALITY_CHANGED, params, true);
+    }
+
+    public void emitAvailableQualities(WritableArray qualities) {
+        WritableMap params = Arguments.createMap();
+        params.putArray("qualities", qualities);
+        dispatch(EVENT_AVAILABLE_QUALITIES, params, true);
+    }
+
+    public void emitAvailableCaptions(WritableArray captions) {
+        WritableMap params = Arguments.createMap();
+        params.putArray("captions", captions);
+        dispatch(EVENT_AVAILABLE_CAPTIONS, params, true);
+    }
+
+    public void emitError(String message) {
+        WritableMap params = Arguments.createMap();
+        params.putString("error", message);
+        dispatch(EVENT_ERROR, params, false);
+    }
+
+    public void emit(String eventName, WritableMap params) {
+        dispatch(eventName, params, false);
+    }
+
+    // The React event dispatcher queues events and flushes them to JS once per frame
+    private void dispatch(String eventName, WritableMap params, boolean coalescable) {
+        PlayerTrace.begin(PlayerTrace.EMIT);
+        ReactContext reactContext = (ReactContext) view.getContext();
+        int viewTag = view.getId();
+        // Event names are constants, so the ring can hold them directly
+        PlayerTrace.instant(eventName, viewTag);
+        EventDispatcher dispatcher = UIManagerHelper.getEventDispatcherForReactTag(reactContext, viewTag);
+        if (dispatcher != null) {
+            int surfaceId = UIManagerHelper.getSurfaceId(reactContext);
+            dispatcher.dispatchEvent(new PlayerEvent(surfaceId, viewTag, eventName, params, coalescable));
+        }
+        PlayerTrace.end(PlayerTrace.EMIT);
+    }
+}
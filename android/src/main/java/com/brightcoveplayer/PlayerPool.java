@@ -0,0 +1,106 @@
+package com.brightcoveplayer;
+
+import android.content.Context;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+import com.google.android.exoplayer2.DefaultLoadControl;
+import com.google.android.exoplayer2.ExoPlayer;
+import com.google.android.exoplayer2.source.DefaultMediaSourceFactory;
+import com.google.android.exoplayer2.source.MediaSource;
+import com.google.android.exoplayer2.trackselection.DefaultTrackSelector;
+import com.google.android.exoplayer2.upstream.DataSource;
+
+
+public class PlayerPool {
+    public static final int DEFAULT_POOL_SIZE = 3;
+
+    private final Context context;
+    private final DataSource.Factory dataSourceFactory;
+    private final KeyedPool<PooledPlayer> players;
+
+    public PlayerPool(Context context, DataSource.Factory dataSourceFactory, int maxIdlePlayers) {
+        this.context = context.getApplicationContext();
+        this.dataSourceFactory = dataSourceFactory;
+        this.players = new KeyedPool<>(maxIdlePlayers);
+    }
+
+    public static class PooledPlayer {
+        public final ExoPlayer player;
+        public final DefaultTrackSelector trackSelector;
+        public final BufferProfile bufferProfile;
+        public final MediaSource.Factory mediaSourceFactory;
+
+        PooledPlayer(ExoPlayer player, DefaultTrackSelector trackSelector, BufferProfile bufferProfile,
+                     MediaSource.Factory mediaSourceFactory) {
+            this.player = player;
+            this.trackSelector = trackSelector;
+            this.bufferProfile = bufferProfile;
+            this.mediaSourceFactory = mediaSourceFactory;
+        }
+    }
+
+    // Must be called on the main thread, the players are bound to its looper.
+    // The load control is fixed at build time, so only players built for an equal profile are reused.
+    public PooledPlayer acquire(BufferProfile bufferProfile, Object owner) {
+        return players.acquire(bufferProfile.getKey(), owner, key -> createPlayer(bufferProfile));
+    }
+
+    // The owner must have detached its views from the player first, the next owner gets the same instance
+    public void release(PooledPlayer pooled, Object owner) {
+        if (players.getOwner(pooled) != owner) {
+            return;
+        }
+        ExoPlayer player = pooled.player;
+        player.setPlayWhenReady(false);
+        player.stop();
+        player.clearMediaItems();
+        player.clearVideoSurface();
+        player.setVolume(1f);
+        pooled.trackSelector.setParameters(DefaultTrackSelector.Parameters.getDefaults(context));
+
+        // Keep the most recently used players warm
+        PooledPlayer evicted = players.release(pooled, owner);
+        if (evicted != null) {
+            evicted.player.release();
+        }
+    }
+
+    public void clear() {
+        for (PooledPlayer pooled : players.drainIdle()) {
+            pooled.player.release();
+        }
+    }
+
+    public WritableMap getStats() {
+        WritableMap stats = Arguments.createMap();
+        stats.putInt("poolSize", players.getMaxIdle());
+        stats.putInt("idle", players.getIdleCount());
+        stats.putInt("inUse", players.getInUseCount());
+        stats.putDouble("hits", players.getHits());
+        stats.putDouble("misses", players.getMisses());
+        return stats;
+    }
+
+    private PooledPlayer createPlayer(BufferProfile bufferProfile) {
+        DefaultTrackSelector trackSelector = new DefaultTrackSelector(context);
+        DefaultLoadControl.Builder loadControl = new DefaultLoadControl.Builder()
+            .setBufferDurationsMs(
+                bufferProfile.minBufferMs,
+                bufferProfile.maxBufferMs,
+                bufferProfile.bufferForPlaybackMs,
+                bufferProfile.bufferForPlaybackAfterRebufferMs)
+            .setBackBuffer(bufferProfile.backBufferMs, false)
+            .setTargetBufferBytes(bufferProfile.targetBufferBytes)
+            .setPrioritizeTimeOverSizeThresholds(bufferProfile.prioritizeTimeOverSize);
+
+        // Reads through the shared network stack, and the media cache when it is on
+        DefaultMediaSourceFactory mediaSourceFactory = new DefaultMediaSourceFactory(dataSourceFactory);
+        ExoPlayer player = new ExoPlayer.Builder(context)
+            .setTrackSelector(trackSelector)
+            .setLoadControl(loadControl.build())
+            .setMediaSourceFactory(mediaSourceFactory)
+            .build();
+        return new PooledPlayer(player, trackSelector, bufferProfile, mediaSourceFactory);
+    }
+}
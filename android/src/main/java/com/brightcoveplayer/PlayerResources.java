@@ -0,0 +1,68 @@
+package com.brightcoveplayer;
+
+import android.content.Context;
+
+import com.google.android.exoplayer2.database.DatabaseProvider;
+import com.google.android.exoplayer2.database.StandaloneDatabaseProvider;
+import com.google.android.exoplayer2.upstream.DataSource;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class PlayerResources {
+    public final NetworkStack networkStack;
+    public final PlayerPool playerPool;
+    public final CatalogCache catalogCache;
+    public final MediaCache mediaCache;
+    public final Prefetcher prefetcher;
+    public final PlayerTrimmer playerTrimmer;
+    public final VideoDownloader videoDownloader;
+    public final PreloadBudget preloadBudget;
+    public final PlayerBudget playerBudget;
+    public final ThumbnailCache thumbnailCache;
+    public final CaptionCache captionCache;
+    public final DecoderCapabilities decoderCapabilities;
+    // Published state of every mounted view by tag, read from the JS thread
+    public final Map<Integer, PlaybackStateBuffer> playbackStates = new ConcurrentHashMap<>();
+
+    PlayerResources(Context context, BrightcovePlayerOptions options) {
+        Context appContext = context.getApplicationContext();
+        if (options.traceBufferSize > 0) {
+            PlayerTrace.setRecording(true, options.traceBufferSize);
+        }
+        // The media cache and the download index share one database
+        DatabaseProvider databaseProvider = new StandaloneDatabaseProvider(appContext);
+        this.networkStack = new NetworkStack(appContext, options.httpClient, options.dnsCacheTtlMs);
+        this.mediaCache = options.mediaCacheBytes > 0
+            ? new MediaCache(appContext, databaseProvider, options.mediaCacheBytes, networkStack.newDataSourceFactory())
+            : null;
+        DataSource.Factory mediaDataSourceFactory = mediaCache != null
+            ? mediaCache.getDataSourceFactory()
+            : networkStack.newDataSourceFactory();
+        this.playerPool = new PlayerPool(appContext, mediaDataSourceFactory, options.playerPoolSize);
+        this.catalogCache = new CatalogCache(appContext, options.catalogBaseUrl);
+        this.prefetcher = mediaCache != null
+            ? new Prefetcher(catalogCache, mediaCache, Prefetcher.DEFAULT_MAX_CONCURRENT)
+            : null;
+        this.playerTrimmer = new PlayerTrimmer(playerPool, options.trimGracePeriodMs);
+        this.thumbnailCache = new ThumbnailCache(mediaDataSourceFactory, ThumbnailCache.DEFAULT_MAX_BYTES);
+        this.captionCache = new CaptionCache(mediaDataSourceFactory, CaptionCache.DEFAULT_MAX_TRACKS,
+            mediaCache != null ? 0 : CaptionCache.DEFAULT_MAX_FILE_BYTES);
+        playerTrimmer.register(thumbnailCache);
+        playerTrimmer.register(captionCache);
+        appContext.registerComponentCallbacks(playerTrimmer);
+        this.videoDownloader = new VideoDownloader(appContext, catalogCache, databaseProvider,
+            networkStack.newDataSourceFactory(), options.maxParallelDownloads, options.downloadQuotaBytes);
+        this.preloadBudget = new PreloadBudget(options.maxPreparedPlayers);
+        // Buffers live on the Java heap, so by default players may fill half of it between them
+        this.playerBudget = new PlayerBudget(
+            options.maxDecoders > 0 ? options.maxDecoders : PlayerBudget.DEFAULT_MAX_DECODERS,
+            options.bufferBudgetBytes > 0 ? options.bufferBudgetBytes : Runtime.getRuntime().maxMemory() / 2);
+        this.decoderCapabilities = new DecoderCapabilities(appContext);
+        decoderCapabilities.load(profile -> {
+            if (options.maxDecoders == 0) {
+                playerBudget.setMaxDecoders(profile.getMaxDecoders(PlayerBudget.DEFAULT_MAX_DECODERS));
+            }
+        });
+    }
+}
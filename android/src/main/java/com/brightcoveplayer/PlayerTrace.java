@@ -0,0 +1,126 @@
+package com.brightcoveplayer;
+
+import android.os.Build;
+import android.os.Trace;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Trace sections around the player's hot paths. Sections always go to systrace/Perfetto, where they cost a
+// flag check unless a trace is being captured. The same events also go to an in-memory ring when it is
+// enabled; while it is off that adds one volatile read. Times are System.nanoTime, the clock Perfetto uses.
+public final class PlayerTrace {
+    public static final String CREATE_VIEW = "BCPlayer.createView";
+    public static final String VIEW_COMMAND = "BCPlayer.viewCommand";
+    public static final String COMMAND_HOP = "BCPlayer.commandHopUs";
+    public static final String FLUSH_LOAD = "BCPlayer.flushLoad";
+    public static final String LOAD_VIDEO = "BCPlayer.loadVideo";
+    public static final String CATALOG = "BCPlayer.catalog";
+    public static final String SOURCE_ADDED = "BCPlayer.sourceAdded";
+    public static final String ACQUIRE_PLAYER = "BCPlayer.acquirePlayer";
+    public static final String RELEASE_PLAYER = "BCPlayer.releasePlayer";
+    public static final String MANIFEST_LOADED = "BCPlayer.manifestLoadMs";
+    public static final String DECODER_INIT = "BCPlayer.decoderInitMs";
+    public static final String FIRST_FRAME = "BCPlayer.firstFrame";
+    public static final String TRACKS_CHANGED = "BCPlayer.tracksChanged";
+    public static final String QUALITY_CONSTRAINTS = "BCPlayer.qualityConstraints";
+    public static final String ADAPTIVE_QUALITY = "BCPlayer.adaptiveQuality";
+    public static final String EMIT = "BCPlayer.emit";
+    public static final String RENDER_CONTROLS = "BCPlayer.renderControls";
+    public static final String RENDER_CAPTIONS = "BCPlayer.renderCaptions";
+
+    private static final AtomicInteger nextCookie = new AtomicInteger();
+    private static volatile TraceBuffer buffer;
+
+    private PlayerTrace() {
+    }
+
+    // Enabling always starts an empty ring
+    public static void setRecording(boolean recording, int capacity) {
+        buffer = recording ? new TraceBuffer(capacity) : null;
+    }
+
+    public static boolean isRecording() {
+        return buffer != null;
+    }
+
+    // Must be closed with end on the same thread; sections nest
+    public static void begin(String section) {
+        Trace.beginSection(section);
+        TraceBuffer current = buffer;
+        if (current != null) {
+            current.record(TraceBuffer.TYPE_BEGIN, section, 0, System.nanoTime());
+        }
+    }
+
+    public static void end(String section) {
+        TraceBuffer current = buffer;
+        if (current != null) {
+            current.record(TraceBuffer.TYPE_END, section, 0, System.nanoTime());
+        }
+        Trace.endSection();
+    }
+
+    // Unique across views, for async sections that may overlap
+    public static int newCookie() {
+        return nextCookie.incrementAndGet();
+    }
+
+    // For spans that start and finish in different callbacks; the cookie pairs them up
+    public static void beginAsync(String section, int cookie) {
+        if (Build.VERSION.SDK_INT >= 29) {
+            Trace.beginAsyncSection(section, cookie);
+        }
+        TraceBuffer current = buffer;
+        if (current != null) {
+            current.record(TraceBuffer.TYPE_BEGIN, section, cookie, System.nanoTime());
+        }
+    }
+
+    public static void endAsync(String section, int cookie) {
+        TraceBuffer current = buffer;
+        if (current != null) {
+            current.record(TraceBuffer.TYPE_END, section, cookie, System.nanoTime());
+        }
+        if (Build.VERSION.SDK_INT >= 29) {
+            Trace.endAsyncSection(section, cookie);
+        }
+    }
+
+    // Ring only; systrace has no cheap equivalent for a one-off value
+    public static void instant(String name, long value) {
+        TraceBuffer current = buffer;
+        if (current != null) {
+            current.record(TraceBuffer.TYPE_INSTANT, name, value, System.nanoTime());
+        }
+    }
+
+    public static WritableMap dump() {
+        WritableMap result = Arguments.createMap();
+        TraceBuffer current = buffer;
+        result.putBoolean("recording", current != null);
+        WritableArray events = Arguments.createArray();
+        if (current != null) {
+            List<TraceBuffer.Event> recorded = current.snapshot();
+            long recordedCount = current.getRecordedCount();
+            for (TraceBuffer.Event event : recorded) {
+                WritableMap entry = Arguments.createMap();
+                entry.putDouble("timeMs", event.timeNanos / 1e6);
+                entry.putString("type", TraceBuffer.getTypeName(event.type));
+                entry.putString("name", event.name);
+                entry.putDouble("value", event.value);
+                entry.putDouble("thread", event.threadId);
+                events.pushMap(entry);
+            }
+            result.putInt("capacity", current.getCapacity());
+            result.putDouble("recorded", recordedCount);
+            result.putDouble("dropped", Math.max(0, recordedCount - recorded.size()));
+        }
+        result.putArray("events", events);
+        return result;
+    }
+}
@@ -0,0 +1,60 @@
+package com.brightcoveplayer;
+
+import android.content.ComponentCallbacks2;
+import android.content.res.Configuration;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+public class PlayerTrimmer implements ComponentCallbacks2 {
+    public static final long DEFAULT_GRACE_PERIOD_MS = 10000;
+
+    public interface Trimmable {
+        void onTrimMemory(int level);
+    }
+
+    private final PlayerPool playerPool;
+    private final long gracePeriodMs;
+    // Only touched on the main thread, where views attach and trim callbacks arrive
+    private final Set<Trimmable> trimmables = new LinkedHashSet<>();
+
+    public PlayerTrimmer(PlayerPool playerPool, long gracePeriodMs) {
+        this.playerPool = playerPool;
+        this.gracePeriodMs = gracePeriodMs;
+    }
+
+    // How long a hidden player keeps its decoders and buffers before handing them back
+    public long getGracePeriodMs() {
+        return gracePeriodMs;
+    }
+
+    public void register(Trimmable trimmable) {
+        trimmables.add(trimmable);
+    }
+
+    public void unregister(Trimmable trimmable) {
+        trimmables.remove(trimmable);
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        if (level < TRIM_MEMORY_RUNNING_LOW) {
+            return;
+        }
+        // Views hand their players back first so clearing the pool releases them too
+        for (Trimmable trimmable : new ArrayList<>(trimmables)) {
+            trimmable.onTrimMemory(level);
+        }
+        playerPool.clear();
+    }
+
+    @Override
+    public void onLowMemory() {
+        onTrimMemory(TRIM_MEMORY_COMPLETE);
+    }
+
+    @Override
+    public void onConfigurationChanged(Configuration newConfig) {
+    }
+}
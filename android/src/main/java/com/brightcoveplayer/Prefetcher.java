@@ -0,0 +1,246 @@
+package com.brightcoveplayer;
+
+import android.net.Uri;
+
+import com.brightcove.player.edge.CatalogError;
+import com.brightcove.player.edge.VideoListener;
+import com.brightcove.player.model.DeliveryType;
+import com.brightcove.player.model.Source;
+import com.brightcove.player.model.Video;
+import com.google.android.exoplayer2.C;
+import com.google.android.exoplayer2.source.hls.playlist.HlsMediaPlaylist;
+import com.google.android.exoplayer2.source.hls.playlist.HlsMultivariantPlaylist;
+import com.google.android.exoplayer2.source.hls.playlist.HlsPlaylist;
+import com.google.android.exoplayer2.source.hls.playlist.HlsPlaylistParser;
+import com.google.android.exoplayer2.upstream.DataSourceInputStream;
+import com.google.android.exoplayer2.upstream.DataSpec;
+import com.google.android.exoplayer2.upstream.cache.CacheDataSource;
+import com.google.android.exoplayer2.upstream.cache.CacheWriter;
+import com.google.android.exoplayer2.util.UriUtil;
+import com.google.android.exoplayer2.util.Util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+public class Prefetcher {
+    public static final int DEFAULT_MAX_CONCURRENT = 2;
+    public static final int DEFAULT_SECONDS = 6;
+    public static final int DEFAULT_MAX_BITRATE = 2000000;
+
+    public static final String STATUS_COMPLETE = "complete";
+    public static final String STATUS_METADATA_ONLY = "metadataOnly";
+    public static final String STATUS_CANCELED = "canceled";
+    public static final String STATUS_ERROR = "error";
+
+    private final CatalogCache catalogCache;
+    private final MediaCache mediaCache;
+    private final ThreadPoolExecutor executor;
+    private final Map<String, PrefetchTask> tasks = new ConcurrentHashMap<>();
+
+    public interface Callback {
+        void onPrefetchFinished(String videoId, String status, long bytesCached);
+    }
+
+    // Prefetched bytes only help if the player can read them back, so this needs the media cache
+    public Prefetcher(CatalogCache catalogCache, MediaCache mediaCache, int maxConcurrent) {
+        this.catalogCache = catalogCache;
+        this.mediaCache = mediaCache;
+        this.executor = new ThreadPoolExecutor(
+            maxConcurrent, maxConcurrent, 30, TimeUnit.SECONDS, new LinkedBlockingQueue<>());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public void prefetch(String accountId, String policyKey, final String videoId,
+                         int seconds, int maxBitrate, final Callback callback) {
+        final PrefetchTask task = new PrefetchTask(videoId, seconds, maxBitrate, callback);
+        PrefetchTask previous = tasks.put(videoId, task);
+        if (previous != null) {
+            previous.cancel();
+        }
+
+        task.catalogRequest = catalogCache.findVideo(accountId, policyKey, videoId, new VideoListener() {
+            @Override
+            public void onVideo(Video video) {
+                if (task.canceled) {
+                    return;
+                }
+                task.video = video;
+                task.future = executor.submit(task);
+            }
+
+            @Override
+            public void onError(List<CatalogError> errors) {
+                task.finish(STATUS_ERROR);
+            }
+        });
+    }
+
+    public void cancel(String videoId) {
+        PrefetchTask task = tasks.get(videoId);
+        if (task != null) {
+            task.cancel();
+        }
+    }
+
+    public void cancelAll() {
+        for (PrefetchTask task : tasks.values()) {
+            task.cancel();
+        }
+    }
+
+    private class PrefetchTask implements Runnable {
+        final String videoId;
+        final int seconds;
+        final int maxBitrate;
+        final Callback callback;
+        volatile CatalogCache.Request catalogRequest;
+        volatile Video video;
+        volatile Future<?> future;
+        volatile CacheWriter currentWriter;
+        volatile boolean canceled;
+        private boolean finished;
+        private long bytesCached;
+
+        PrefetchTask(String videoId, int seconds, int maxBitrate, Callback callback) {
+            this.videoId = videoId;
+            this.seconds = seconds;
+            this.maxBitrate = maxBitrate;
+            this.callback = callback;
+        }
+
+        @Override
+        public void run() {
+            if (canceled) {
+                finish(STATUS_CANCELED);
+                return;
+            }
+            try {
+                Source hls = VideoSources.findSource(video, DeliveryType.HLS);
+                if (hls != null) {
+                    prefetchHls(Uri.parse(hls.getUrl()));
+                } else {
+                    Source mp4 = VideoSources.findSource(video, DeliveryType.MP4);
+                    if (mp4 == null) {
+                        finish(STATUS_METADATA_ONLY);
+                        return;
+                    }
+                    // Progressive files have no segment index, so estimate the leading bytes from the bitrate
+                    cache(Uri.parse(mp4.getUrl()), 0, (long) maxBitrate / 8 * seconds);
+                }
+                finish(canceled ? STATUS_CANCELED : STATUS_COMPLETE);
+            } catch (InterruptedIOException e) {
+                finish(STATUS_CANCELED);
+            } catch (IOException | RuntimeException e) {
+                finish(canceled ? STATUS_CANCELED : STATUS_ERROR);
+            }
+        }
+
+        private void prefetchHls(Uri uri) throws IOException {
+            HlsPlaylist playlist = loadPlaylist(uri);
+            if (playlist instanceof HlsMultivariantPlaylist) {
+                Uri variantUri = selectVariant((HlsMultivariantPlaylist) playlist);
+                if (variantUri == null || canceled) {
+                    return;
+                }
+                playlist = loadPlaylist(variantUri);
+            }
+            if (!(playlist instanceof HlsMediaPlaylist)) {
+                return;
+            }
+
+            HlsMediaPlaylist mediaPlaylist = (HlsMediaPlaylist) playlist;
+            long targetUs = seconds * 1000000L;
+            HlsMediaPlaylist.Segment lastInitSegment = null;
+            for (HlsMediaPlaylist.Segment segment : mediaPlaylist.segments) {
+                if (canceled || segment.relativeStartTimeUs >= targetUs) {
+                    break;
+                }
+                HlsMediaPlaylist.Segment initSegment = segment.initializationSegment;
+                if (initSegment != null && initSegment != lastInitSegment) {
+                    cache(UriUtil.resolveToUri(mediaPlaylist.baseUri, initSegment.url),
+                        initSegment.byteRangeOffset, initSegment.byteRangeLength);
+                    lastInitSegment = initSegment;
+                }
+                cache(UriUtil.resolveToUri(mediaPlaylist.baseUri, segment.url),
+                    segment.byteRangeOffset, segment.byteRangeLength);
+            }
+        }
+
+        // Reading through the cache data source stores the playlist for the player as a side effect
+        private HlsPlaylist loadPlaylist(Uri uri) throws IOException {
+            CacheDataSource dataSource = mediaCache.getDataSourceFactory().createDataSource();
+            DataSourceInputStream input = new DataSourceInputStream(dataSource, new DataSpec(uri));
+            try {
+                return new HlsPlaylistParser().parse(uri, input);
+            } finally {
+                Util.closeQuietly(input);
+            }
+        }
+
+        private Uri selectVariant(HlsMultivariantPlaylist playlist) {
+            HlsMultivariantPlaylist.Variant best = null;
+            HlsMultivariantPlaylist.Variant lowest = null;
+            for (HlsMultivariantPlaylist.Variant variant : playlist.variants) {
+                int bitrate = variant.format.bitrate;
+                if (lowest == null || bitrate < lowest.format.bitrate) {
+                    lowest = variant;
+                }
+                if (bitrate <= maxBitrate && (best == null || bitrate > best.format.bitrate)) {
+                    best = variant;
+                }
+            }
+            HlsMultivariantPlaylist.Variant selected = best != null ? best : lowest;
+            return selected != null ? selected.url : null;
+        }
+
+        private void cache(Uri uri, long position, long length) throws IOException {
+            DataSpec dataSpec = new DataSpec.Builder()
+                .setUri(uri)
+                .setPosition(position)
+                .setLength(length > 0 ? length : C.LENGTH_UNSET)
+                .build();
+            CacheWriter writer = new CacheWriter(
+                mediaCache.getDataSourceFactory().createDataSource(), dataSpec, null,
+                (requestLength, bytesCachedForSpec, newBytesCached) -> bytesCached += newBytesCached);
+            currentWriter = writer;
+            if (canceled) {
+                return;
+            }
+            writer.cache();
+        }
+
+        void cancel() {
+            canceled = true;
+            CatalogCache.Request request = catalogRequest;
+            if (request != null) {
+                request.cancel();
+            }
+            CacheWriter writer = currentWriter;
+            if (writer != null) {
+                writer.cancel();
+            }
+            Future<?> pending = future;
+            if (pending != null && pending.cancel(false)) {
+                finish(STATUS_CANCELED);
+            } else if (pending == null) {
+                finish(STATUS_CANCELED);
+            }
+        }
+
+        synchronized void finish(String status) {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            tasks.remove(videoId, this);
+            callback.onPrefetchFinished(videoId, status, bytesCached);
+        }
+    }
+}
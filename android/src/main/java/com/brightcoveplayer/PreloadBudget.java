@@ -0,0 +1,46 @@
+package com.brightcoveplayer;
+
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+
+// Caps how many paused players may sit prepared with a decoded first frame. Main thread only.
+public class PreloadBudget {
+    public static final int DEFAULT_MAX_PREPARED = 2;
+
+    public interface Preloadable {
+        // Called when a newer view took the slot; the player should drop back to unprepared
+        void onPreloadEvicted();
+    }
+
+    private final int maxPrepared;
+    // Insertion-ordered, so the first entry is the oldest preparation
+    private final LinkedHashSet<Preloadable> prepared = new LinkedHashSet<>();
+
+    public PreloadBudget(int maxPrepared) {
+        this.maxPrepared = maxPrepared;
+    }
+
+    // Returns false when preloading is disabled altogether
+    public boolean acquire(Preloadable preloadable) {
+        if (maxPrepared <= 0) {
+            return false;
+        }
+        prepared.remove(preloadable);
+        prepared.add(preloadable);
+        while (prepared.size() > maxPrepared) {
+            Iterator<Preloadable> iterator = prepared.iterator();
+            Preloadable oldest = iterator.next();
+            iterator.remove();
+            oldest.onPreloadEvicted();
+        }
+        return true;
+    }
+
+    public void release(Preloadable preloadable) {
+        prepared.remove(preloadable);
+    }
+
+    public int getPreparedCount() {
+        return prepared.size();
+    }
+}
@@ -0,0 +1,141 @@
+package com.brightcoveplayer;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.net.Uri;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.LruCache;
+
+import com.google.android.exoplayer2.upstream.DataSource;
+import com.google.android.exoplayer2.upstream.DataSourceInputStream;
+import com.google.android.exoplayer2.upstream.DataSpec;
+import com.google.android.exoplayer2.util.Util;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Scrub previews shared by every view. Callbacks run on the main thread; call from the main thread only.
+public class ThumbnailCache implements PlayerTrimmer.Trimmable {
+    public static final int DEFAULT_MAX_BYTES = 8 * 1024 * 1024;
+    private static final int MAX_TRACKS = 16;
+    // A bitmap bigger than this share of the cache is handed out but not kept, so one large sprite sheet
+    // cannot evict every other preview
+    private static final int MAX_ENTRY_FRACTION = 4;
+
+    public interface TrackCallback {
+        void onTrack(ThumbnailTrack track);
+    }
+
+    public interface ThumbnailCallback {
+        void onThumbnail(ThumbnailTrack.Thumbnail thumbnail, Bitmap bitmap);
+    }
+
+    private final DataSource.Factory dataSourceFactory;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    // Sprite sheets and the regions cut from them, weighed by their pixel bytes
+    private final LruCache<String, Bitmap> bitmaps;
+    private final int maxEntryBytes;
+    private final LruCache<String, ThumbnailTrack> tracks = new LruCache<>(MAX_TRACKS);
+    private final Set<String> loading = new HashSet<>();
+
+    public ThumbnailCache(DataSource.Factory dataSourceFactory, int maxBytes) {
+        this.dataSourceFactory = dataSourceFactory;
+        this.maxEntryBytes = maxBytes / MAX_ENTRY_FRACTION;
+        this.bitmaps = new LruCache<String, Bitmap>(maxBytes) {
+            @Override
+            protected int sizeOf(String key, Bitmap value) {
+                return value.getByteCount();
+            }
+        };
+    }
+
+    public void loadTrack(final String url, final TrackCallback callback) {
+        ThumbnailTrack cached = tracks.get(url);
+        if (cached != null) {
+            callback.onTrack(cached);
+            return;
+        }
+        executor.execute(() -> {
+            ThumbnailTrack track;
+            try {
+                track = ThumbnailTrack.parse(url, Util.fromUtf8Bytes(read(url)));
+            } catch (IOException | RuntimeException e) {
+                return;
+            }
+            mainHandler.post(() -> {
+                tracks.put(url, track);
+                callback.onTrack(track);
+            });
+        });
+    }
+
+    // Returns the cached preview, or null and delivers it to the callback once decoded
+    public Bitmap getThumbnail(final ThumbnailTrack.Thumbnail thumbnail, final ThumbnailCallback callback) {
+        final String key = thumbnail.getKey();
+        Bitmap cached = bitmaps.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        if (!loading.add(key)) {
+            return null;
+        }
+        final Bitmap sprite = bitmaps.get(thumbnail.url);
+        executor.execute(() -> {
+            Bitmap source = sprite;
+            Bitmap region = null;
+            try {
+                if (source == null) {
+                    byte[] data = read(thumbnail.url);
+                    source = BitmapFactory.decodeByteArray(data, 0, data.length);
+                }
+                if (source != null) {
+                    region = thumbnail.isSpriteRegion()
+                        ? Bitmap.createBitmap(source, thumbnail.x, thumbnail.y, thumbnail.width, thumbnail.height)
+                        : source;
+                }
+            } catch (IOException | RuntimeException e) {
+                region = null;
+            }
+            final Bitmap decodedSprite = source;
+            final Bitmap result = region;
+            mainHandler.post(() -> {
+                loading.remove(key);
+                if (result == null) {
+                    return;
+                }
+                if (decodedSprite != result) {
+                    cache(thumbnail.url, decodedSprite);
+                }
+                cache(key, result);
+                callback.onThumbnail(thumbnail, result);
+            });
+        });
+        return null;
+    }
+
+    private void cache(String key, Bitmap bitmap) {
+        if (bitmap.getByteCount() <= maxEntryBytes) {
+            bitmaps.put(key, bitmap);
+        }
+    }
+
+    @Override
+    public void onTrimMemory(int level) {
+        bitmaps.evictAll();
+    }
+
+    private byte[] read(String url) throws IOException {
+        DataSourceInputStream input = new DataSourceInputStream(
+            dataSourceFactory.createDataSource(), new DataSpec(Uri.parse(url)));
+        try {
+            return Util.toByteArray(input);
+        } finally {
+            Util.closeQuietly(input);
+        }
+    }
+}
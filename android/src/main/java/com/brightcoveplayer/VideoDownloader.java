@@ -0,0 +1,324 @@
+package com.brightcoveplayer;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import com.brightcove.player.edge.CatalogError;
+import com.brightcove.player.edge.VideoListener;
+import com.brightcove.player.model.Video;
+import com.google.android.exoplayer2.DefaultRenderersFactory;
+import com.google.android.exoplayer2.MediaItem;
+import com.google.android.exoplayer2.database.DatabaseProvider;
+import com.google.android.exoplayer2.offline.Download;
+import com.google.android.exoplayer2.offline.DownloadCursor;
+import com.google.android.exoplayer2.offline.DownloadHelper;
+import com.google.android.exoplayer2.offline.DownloadIndex;
+import com.google.android.exoplayer2.offline.DownloadManager;
+import com.google.android.exoplayer2.offline.DownloadRequest;
+import com.google.android.exoplayer2.source.MediaSource;
+import com.google.android.exoplayer2.trackselection.DefaultTrackSelector;
+import com.google.android.exoplayer2.upstream.DataSource;
+import com.google.android.exoplayer2.upstream.cache.CacheDataSource;
+import com.google.android.exoplayer2.upstream.cache.NoOpCacheEvictor;
+import com.google.android.exoplayer2.upstream.cache.SimpleCache;
+import com.google.android.exoplayer2.util.Util;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Owns offline copies of videos. Everything except the constructor must be called on the main thread.
+public class VideoDownloader {
+    public static final int DEFAULT_MAX_PARALLEL_DOWNLOADS = 2;
+    public static final long PROGRESS_INTERVAL_MS = 1000;
+
+    public static final int STOP_REASON_PAUSED = 1;
+    public static final int STOP_REASON_QUOTA = 2;
+
+    public interface Callback {
+        void onQueued(String videoId);
+
+        void onError(String code, String message);
+    }
+
+    public interface Listener {
+        // Batched at most once per PROGRESS_INTERVAL_MS; removed downloads are also listed in removedIds
+        void onDownloadsChanged(List<Download> downloads, List<String> removedIds);
+    }
+
+    private final Context context;
+    private final CatalogCache catalogCache;
+    private final DatabaseProvider databaseProvider;
+    private final DataSource.Factory upstreamFactory;
+    private final int maxParallelDownloads;
+    private final long quotaBytes;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private final ExecutorService indexExecutor = Executors.newSingleThreadExecutor();
+    private SimpleCache downloadCache;
+    private DownloadManager downloadManager;
+    private CacheDataSource.Factory playbackFactory;
+    private Listener listener;
+    // Latest state of every download, so lookups never hit the download index on the main thread
+    private final Map<String, Download> downloads = new HashMap<>();
+    // The index is read in the background; until it is in, downloads only holds what the manager reported
+    private boolean indexLoaded;
+    private final List<Runnable> waitingForIndex = new ArrayList<>();
+    private final Set<String> removedBeforeIndex = new HashSet<>();
+    private final Map<String, Download> changed = new LinkedHashMap<>();
+    private final List<String> removed = new ArrayList<>();
+    private boolean progressScheduled;
+    private final Runnable progressTick = this::flushProgress;
+
+    public VideoDownloader(Context context, CatalogCache catalogCache, DatabaseProvider databaseProvider,
+                           DataSource.Factory upstreamFactory, int maxParallelDownloads, long quotaBytes) {
+        this.context = context.getApplicationContext();
+        this.catalogCache = catalogCache;
+        this.databaseProvider = databaseProvider;
+        this.upstreamFactory = upstreamFactory;
+        this.maxParallelDownloads = maxParallelDownloads;
+        this.quotaBytes = quotaBytes;
+        // Created on the main looper so manager callbacks land there; this also resumes
+        // downloads left unfinished by the previous process
+        mainHandler.post(this::getDownloadManager);
+    }
+
+    private DownloadManager getDownloadManager() {
+        if (downloadManager == null) {
+            File downloadDir = new File(context.getFilesDir(), "brightcove/downloads");
+            // Downloads are only deleted on request, so nothing is ever evicted
+            downloadCache = new SimpleCache(downloadDir, new NoOpCacheEvictor(), databaseProvider);
+            playbackFactory = new CacheDataSource.Factory()
+                .setCache(downloadCache)
+                .setUpstreamDataSourceFactory(upstreamFactory)
+                .setCacheWriteDataSinkFactory(null);
+            downloadManager = new DownloadManager(context, databaseProvider, downloadCache, upstreamFactory, Runnable::run);
+            downloadManager.setMaxParallelDownloads(maxParallelDownloads);
+            downloadManager.addListener(new ManagerListener());
+            loadDownloads();
+        }
+        return downloadManager;
+    }
+
+    private void loadDownloads() {
+        final DownloadIndex index = downloadManager.getDownloadIndex();
+        indexExecutor.execute(() -> {
+            final List<Download> loaded = new ArrayList<>();
+            try (DownloadCursor cursor = index.getDownloads()) {
+                while (cursor.moveToNext()) {
+                    loaded.add(cursor.getDownload());
+                }
+            } catch (IOException e) {
+                // The manager still knows about queued downloads, only the completed list is missing
+            }
+            mainHandler.post(() -> onIndexLoaded(loaded));
+        });
+    }
+
+    // What the manager reported while the index was being read is newer, so it wins
+    private void onIndexLoaded(List<Download> loaded) {
+        for (Download download : loaded) {
+            String id = download.request.id;
+            if (!downloads.containsKey(id) && !removedBeforeIndex.contains(id)) {
+                downloads.put(id, download);
+            }
+        }
+        removedBeforeIndex.clear();
+        indexLoaded = true;
+        List<Runnable> waiting = new ArrayList<>(waitingForIndex);
+        waitingForIndex.clear();
+        for (Runnable runnable : waiting) {
+            runnable.run();
+        }
+    }
+
+    public boolean isIndexLoaded() {
+        return indexLoaded;
+    }
+
+    // Runs right away once the index is loaded, otherwise as soon as it is
+    public void whenIndexLoaded(Runnable runnable) {
+        if (indexLoaded) {
+            runnable.run();
+            return;
+        }
+        waitingForIndex.add(runnable);
+        getDownloadManager();
+    }
+
+    private class ManagerListener implements DownloadManager.Listener {
+        @Override
+        public void onDownloadChanged(DownloadManager manager, Download download, Exception finalException) {
+            downloads.put(download.request.id, download);
+            changed.put(download.request.id, download);
+            scheduleProgress();
+        }
+
+        @Override
+        public void onDownloadRemoved(DownloadManager manager, Download download) {
+            downloads.remove(download.request.id);
+            if (!indexLoaded) {
+                removedBeforeIndex.add(download.request.id);
+            }
+            changed.remove(download.request.id);
+            removed.add(download.request.id);
+            scheduleProgress();
+        }
+    }
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    // maxBitrate picks the highest rendition at or below it, 0 picks the highest available
+    public void download(String accountId, String policyKey, final String videoId, final int maxBitrate,
+                         final Callback callback) {
+        whenIndexLoaded(() -> queueDownload(accountId, policyKey, videoId, maxBitrate, callback));
+    }
+
+    private void queueDownload(String accountId, String policyKey, final String videoId, final int maxBitrate,
+                               final Callback callback) {
+        Download existing = downloads.get(videoId);
+        if (existing != null && existing.state != Download.STATE_FAILED) {
+            callback.onQueued(videoId);
+            return;
+        }
+        if (isOverQuota()) {
+            callback.onError("QUOTA_EXCEEDED", "Download storage quota is full");
+            return;
+        }
+        catalogCache.findVideo(accountId, policyKey, videoId, new VideoListener() {
+            @Override
+            public void onVideo(Video video) {
+                MediaItem mediaItem = VideoSources.toMediaItem(videoId, video);
+                if (mediaItem == null) {
+                    callback.onError("UNSUPPORTED_SOURCE", "Video " + videoId + " has no downloadable source");
+                    return;
+                }
+                prepareDownload(videoId, video, mediaItem, maxBitrate, callback);
+            }
+
+            @Override
+            public void onError(List<CatalogError> errors) {
+                callback.onError("CATALOG_ERROR", "Could not load video " + videoId);
+            }
+        });
+    }
+
+    private void prepareDownload(final String videoId, Video video, MediaItem mediaItem, int maxBitrate,
+                                 final Callback callback) {
+        DefaultTrackSelector.Parameters.Builder parameters =
+            DownloadHelper.getDefaultTrackSelectorParameters(context).buildUpon()
+                // One video rendition, not the whole adaptive set
+                .setForceHighestSupportedBitrate(true);
+        if (maxBitrate > 0) {
+            parameters.setMaxVideoBitrate(maxBitrate);
+        }
+        final byte[] data = Util.getUtf8Bytes(video.getName() != null ? video.getName() : "");
+        final DownloadHelper helper = DownloadHelper.forMediaItem(
+            mediaItem, parameters.build(), new DefaultRenderersFactory(context), upstreamFactory);
+        helper.prepare(new DownloadHelper.Callback() {
+            @Override
+            public void onPrepared(DownloadHelper preparedHelper) {
+                DownloadRequest request = preparedHelper.getDownloadRequest(videoId, data);
+                preparedHelper.release();
+                getDownloadManager().addDownload(request);
+                callback.onQueued(videoId);
+            }
+
+            @Override
+            public void onPrepareError(DownloadHelper failedHelper, IOException e) {
+                failedHelper.release();
+                callback.onError("DOWNLOAD_ERROR", e.getMessage());
+            }
+        });
+    }
+
+    public void pause(String videoId) {
+        getDownloadManager().setStopReason(videoId, STOP_REASON_PAUSED);
+    }
+
+    public boolean resume(String videoId) {
+        if (isOverQuota()) {
+            return false;
+        }
+        getDownloadManager().setStopReason(videoId, Download.STOP_REASON_NONE);
+        return true;
+    }
+
+    public void remove(String videoId) {
+        getDownloadManager().removeDownload(videoId);
+    }
+
+    // Only complete once the index is loaded, see whenIndexLoaded
+    public List<Download> getDownloads() {
+        getDownloadManager();
+        return new ArrayList<>(downloads.values());
+    }
+
+    public long getBytesUsed() {
+        getDownloadManager();
+        return downloadCache.getCacheSpace();
+    }
+
+    public long getQuotaBytes() {
+        return quotaBytes;
+    }
+
+    // Plays straight from disk and needs no network, not even for metadata. Returns null for every video
+    // until the index is loaded, see whenIndexLoaded
+    public MediaSource createOfflineMediaSource(String videoId) {
+        getDownloadManager();
+        Download download = downloads.get(videoId);
+        if (download == null || download.state != Download.STATE_COMPLETED) {
+            return null;
+        }
+        return DownloadHelper.createMediaSource(download.request, playbackFactory);
+    }
+
+    private boolean isOverQuota() {
+        return quotaBytes > 0 && getBytesUsed() >= quotaBytes;
+    }
+
+    private void scheduleProgress() {
+        if (!progressScheduled) {
+            progressScheduled = true;
+            mainHandler.postDelayed(progressTick, PROGRESS_INTERVAL_MS);
+        }
+    }
+
+    // Progress is polled rather than pushed by the manager, once per interval for every running download
+    private void flushProgress() {
+        progressScheduled = false;
+        List<Download> current = downloadManager.getCurrentDownloads();
+        for (Download download : current) {
+            changed.put(download.request.id, download);
+        }
+        if (isOverQuota()) {
+            for (Download download : current) {
+                if (download.state == Download.STATE_DOWNLOADING || download.state == Download.STATE_QUEUED) {
+                    downloadManager.setStopReason(download.request.id, STOP_REASON_QUOTA);
+                }
+            }
+        }
+        if (listener != null && (!changed.isEmpty() || !removed.isEmpty())) {
+            listener.onDownloadsChanged(new ArrayList<>(changed.values()), new ArrayList<>(removed));
+        }
+        changed.clear();
+        removed.clear();
+        for (Download download : current) {
+            if (download.state == Download.STATE_DOWNLOADING) {
+                scheduleProgress();
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.brightcoveplayer;
+
+import com.brightcove.player.model.DeliveryType;
+import com.brightcove.player.model.Source;
+import com.brightcove.player.model.SourceCollection;
+import com.brightcove.player.model.Video;
+import com.google.android.exoplayer2.MediaItem;
+import com.google.android.exoplayer2.util.MimeTypes;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+// Picks the stream the app plays itself, HLS first and progressive MP4 as the fallback
+public final class VideoSources {
+    public static final class TextTrack {
+        public final String url;
+        public final String language;
+        public final String label;
+        public final String mimeType;
+
+        TextTrack(String url, String language, String label, String mimeType) {
+            this.url = url;
+            this.language = language;
+            this.label = label;
+            this.mimeType = mimeType;
+        }
+    }
+
+    private VideoSources() {
+    }
+
+    public static Source findSource(Video video, DeliveryType deliveryType) {
+        Map<DeliveryType, SourceCollection> collections = video.getSourceCollections();
+        SourceCollection collection = collections != null ? collections.get(deliveryType) : null;
+        if (collection == null) {
+            return null;
+        }
+        for (Source source : collection.getSources()) {
+            if (source.getUrl() != null) {
+                return source;
+            }
+        }
+        return null;
+    }
+
+    // Brightcove publishes scrub thumbnails as a metadata text track labelled "thumbnails"
+    public static String findThumbnailTrackUrl(Video video) {
+        for (Map<?, ?> track : getTextTracks(video)) {
+            if ("metadata".equals(track.get("kind")) && "thumbnails".equals(track.get("label"))
+                    && track.get("src") instanceof String) {
+                return (String) track.get("src");
+            }
+        }
+        return null;
+    }
+
+    // Caption and subtitle files attached to the video in the catalog rather than muxed into the stream
+    public static List<TextTrack> findCaptionTracks(Video video) {
+        List<TextTrack> captions = new ArrayList<>();
+        for (Map<?, ?> track : getTextTracks(video)) {
+            Object kind = track.get("kind");
+            if (("captions".equals(kind) || "subtitles".equals(kind)) && track.get("src") instanceof String
+                    && track.get("srclang") instanceof String) {
+                captions.add(new TextTrack(
+                    (String) track.get("src"),
+                    (String) track.get("srclang"),
+                    track.get("label") instanceof String ? (String) track.get("label") : null,
+                    track.get("mime_type") instanceof String ? (String) track.get("mime_type") : null));
+            }
+        }
+        return captions;
+    }
+
+    private static List<Map<?, ?>> getTextTracks(Video video) {
+        Map<String, Object> properties = video.getProperties();
+        Object textTracks = properties != null ? properties.get("text_tracks") : null;
+        if (!(textTracks instanceof List)) {
+            return Collections.emptyList();
+        }
+        List<Map<?, ?>> tracks = new ArrayList<>();
+        for (Object entry : (List<?>) textTracks) {
+            if (entry instanceof Map) {
+                tracks.add((Map<?, ?>) entry);
+            }
+        }
+        return tracks;
+    }
+
+    // The media ID is the video ID, so timeline items map back to catalog videos
+    public static MediaItem toMediaItem(String videoId, Video video) {
+        Source hls = findSource(video, DeliveryType.HLS);
+        if (hls != null) {
+            return new MediaItem.Builder()
+                .setMediaId(videoId)
+                .setUri(hls.getUrl())
+                .setMimeType(MimeTypes.APPLICATION_M3U8)
+                .build();
+        }
+        Source mp4 = findSource(video, DeliveryType.MP4);
+        if (mp4 != null) {
+            return new MediaItem.Builder()
+                .setMediaId(videoId)
+                .setUri(mp4.getUrl())
+                .build();
+        }
+        return null;
+    }
+}
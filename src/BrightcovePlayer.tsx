@@ -1,5 +1,14 @@
-import React, { useEffect, useRef } from 'react';
-import { View, StyleSheet, Platform, NativeEventEmitter, NativeModules, findNodeHandle } from 'react-native';
+import React, { forwardRef, useEffect, useImperativeHandle, useRef } from 'react';
+import {
+  StyleSheet,
+  Platform,
+  NativeModules,
+  NativeSyntheticEvent,
+  ViewProps,
+  findNodeHandle,
+  requireNativeComponent,
+} from 'react-native';
+import NativeBrightcovePlaybackState, { PlaybackState } from './NativeBrightcovePlaybackState';
 
 interface Quality {
   width: number;
@@ -18,6 +27,81 @@ interface PlaylistItem {
   thumbnail?: string;
 }
 
+interface QualitySwitchDecision {
+  fromBitrate: number;
+  toBitrate: number;
+  estimatedBandwidth: number;
+  bufferedDuration: number;
+  reason: string;
+}
+
+interface BufferProfile {
+  preset?: 'fastStart' | 'feed' | 'longForm' | 'lowMemory' | 'lowLatencyLive';
+  minBufferMs?: number;
+  maxBufferMs?: number;
+  bufferForPlaybackMs?: number;
+  bufferForPlaybackAfterRebufferMs?: number;
+  backBufferMs?: number;
+  targetBufferBytes?: number;
+}
+
+interface LiveMode {
+  enabled?: boolean;
+  targetOffsetMs?: number;
+  minPlaybackSpeed?: number;
+  maxPlaybackSpeed?: number;
+  maxDriftMs?: number;
+}
+
+export type BatchCommand =
+  | { type: 'play' }
+  | { type: 'pause' }
+  | { type: 'seekTo'; position: number }
+  | { type: 'setVolume'; volume: number };
+
+export interface LoadTimeline {
+  propsCollected: number;
+  playerReady: number;
+  metadataResolved: number;
+  sourceAdded: number;
+  firstFrame: number;
+  supersededLoads: number;
+}
+
+// Methods on the component's ref; times are in milliseconds
+export interface BrightcovePlayerHandle {
+  play(): Promise<void>;
+  pause(): Promise<void>;
+  seekTo(time: number): Promise<void>;
+  seekForward(seconds?: number): Promise<void>;
+  seekBackward(seconds?: number): Promise<void>;
+  setVolume(volume: number): Promise<void>;
+  getAvailableQualities(): Promise<Quality[]>;
+  getCurrentQuality(): Promise<Quality>;
+  setQuality(quality: string): Promise<void>;
+  getAvailableCaptions(): Promise<Caption[]>;
+  getCurrentTime(): Promise<number>;
+  getDuration(): Promise<number>;
+  getPlaybackState(): PlaybackState | null;
+  playNext(): Promise<void>;
+  playPrevious(): Promise<void>;
+  getPlaylist(): Promise<PlaylistItem[]>;
+  setPlaylist(playlist: PlaylistItem[]): Promise<void>;
+  enterPictureInPicture(): Promise<void>;
+  exitPictureInPicture(): Promise<void>;
+  downloadVideo(): Promise<void>;
+  getDownloadedVideos(): Promise<unknown[]>;
+  deleteDownloadedVideo(videoId: string): Promise<void>;
+  // Android
+  next(): Promise<void>;
+  previous(): Promise<void>;
+  skipTo(index: number): Promise<void>;
+  seekToLiveEdge(): Promise<void>;
+  executeBatch(commands: BatchCommand[]): Promise<void>;
+  getPlaybackStats(): Promise<Record<string, unknown>>;
+  getLoadTimeline(): Promise<LoadTimeline>;
+}
+
 interface BrightcovePlayerProps {
   accountId: string;
   videoId: string;
@@ -36,6 +120,9 @@ interface BrightcovePlayerProps {
   onLanguageChange?: (language: string) => void;
   onPlaylistChange?: (playlist: PlaylistItem[]) => void;
   onVideoChange?: (videoId: string) => void;
+  onQualitySwitchDecision?: (decision: QualitySwitchDecision) => void;
+  onPlaybackStats?: (stats: Record<string, unknown>) => void;
+  onDemoted?: (event: { wasPlaying: boolean }) => void;
   onSeek?: (time: number) => void;
   onSeekForward?: (time: number) => void;
   onSeekBackward?: (time: number) => void;
@@ -50,13 +137,49 @@ interface BrightcovePlayerProps {
   enableBackgroundPlayback?: boolean;
   enablePictureInPicture?: boolean;
   enableOfflinePlayback?: boolean;
+  // Minimum milliseconds between onProgress events, 0 disables them (default: 250)
+  progressInterval?: number;
+  bufferProfile?: BufferProfile;
+  statsInterval?: number;
+  playlistId?: string;
+  videoIds?: string[];
+  preload?: 'none' | 'metadata' | 'firstFrame';
+  liveMode?: LiveMode;
 }
 
-interface BufferingEvent {
-  isBuffering: boolean;
+// Events are direct events of each native view, delivered to these props
+interface NativeBrightcovePlayerProps extends ViewProps {
+  accountId: string;
+  videoId: string;
+  policyKey: string;
+  autoQuality?: boolean;
+  initialQuality?: string;
+  progressInterval?: number;
+  bufferProfile?: BufferProfile;
+  statsInterval?: number;
+  playlistId?: string;
+  videoIds?: string[];
+  preload?: string;
+  liveMode?: LiveMode;
+  onBuffering?: (event: NativeSyntheticEvent<{ isBuffering: boolean }>) => void;
+  onProgress?: (event: NativeSyntheticEvent<{ currentTime: number; duration: number }>) => void;
+  onError?: (event: NativeSyntheticEvent<{ error: string }>) => void;
+  onAvailableQualities?: (event: NativeSyntheticEvent<{ qualities: Quality[] }>) => void;
+  onAvailableCaptions?: (event: NativeSyntheticEvent<{ captions: Caption[] }>) => void;
+  onQualityChange?: (event: NativeSyntheticEvent<Quality>) => void;
+  onQualitySwitchDecision?: (event: NativeSyntheticEvent<QualitySwitchDecision>) => void;
+  onPlaybackStats?: (event: NativeSyntheticEvent<Record<string, unknown>>) => void;
+  onPlaylistChange?: (event: NativeSyntheticEvent<{ playlist: PlaylistItem[] }>) => void;
+  onVideoChange?: (event: NativeSyntheticEvent<{ index: number; videoId: string }>) => void;
+  onDemoted?: (event: NativeSyntheticEvent<{ wasPlaying: boolean }>) => void;
 }
 
-const BrightcovePlayer: React.FC<BrightcovePlayerProps> = ({
+const NativeBrightcovePlayer = requireNativeComponent<NativeBrightcovePlayerProps>('BrightcovePlayer');
+
+// View commands take the view's tag; on Android they live on a native module next to the view manager
+const PlayerCommands = NativeModules.BrightcovePlayer;
+
+const BrightcovePlayer = forwardRef<BrightcovePlayerHandle, BrightcovePlayerProps>(({
   accountId,
   videoId,
   policyKey,
@@ -74,6 +197,9 @@ const BrightcovePlayer: React.FC<BrightcovePlayerProps> = ({
   onLanguageChange,
   onPlaylistChange,
   onVideoChange,
+  onQualitySwitchDecision,
+  onPlaybackStats,
+  onDemoted,
   onSeek,
   onSeekForward,
   onSeekBackward,
@@ -88,14 +214,19 @@ const BrightcovePlayer: React.FC<BrightcovePlayerProps> = ({
   enableBackgroundPlayback = false,
   enablePictureInPicture = false,
   enableOfflinePlayback = false,
-}) => {
+  progressInterval,
+  bufferProfile,
+  statsInterval,
+  playlistId,
+  videoIds,
+  preload,
+  liveMode,
+}, ref) => {
   const playerRef = useRef<any>(null);
-  const eventEmitterRef = useRef<NativeEventEmitter | null>(null);
   const viewRef = useRef<number>(0);
 
   useEffect(() => {
     initializePlayer();
-    setupEventListeners();
     return () => {
       cleanup();
     };
@@ -108,7 +239,11 @@ const BrightcovePlayer: React.FC<BrightcovePlayerProps> = ({
       } else {
         playerRef.current = NativeModules.BrightcovePlayer;
       }
-      
+      // Android takes its configuration from props and has no initialize
+      if (!playerRef.current?.initialize) {
+        return;
+      }
+
       // Initialize player with credentials and features
       await playerRef.current.initialize({
         accountId,
@@ -132,119 +267,69 @@ const BrightcovePlayer: React.FC<BrightcovePlayerProps> = ({
     }
   };
 
-  const setupEventListeners = () => {
-    if (Platform.OS === 'ios') {
-      eventEmitterRef.current = new NativeEventEmitter(NativeModules.BrightcovePlayer);
-    } else {
-      eventEmitterRef.current = new NativeEventEmitter();
-    }
-
-    // Buffering events
-    eventEmitterRef.current.addListener('onBuffering', (event: BufferingEvent) => {
-      onBuffering?.(event.isBuffering);
-    });
-
-    // Playback events
-    eventEmitterRef.current.addListener('onPlay', () => {
-      onPlay?.();
-    });
-
-    eventEmitterRef.current.addListener('onPause', () => {
-      onPause?.();
-    });
-
-    eventEmitterRef.current.addListener('onEnd', () => {
-      onEnd?.();
-    });
-
-    // Progress events
-    eventEmitterRef.current.addListener('onProgress', (event: { currentTime: number; duration: number }) => {
-      onProgress?.(event.currentTime, event.duration);
-    });
-
-    // Duration change events
-    eventEmitterRef.current.addListener('onDurationChange', (event: { duration: number }) => {
-      onDurationChange?.(event.duration);
-    });
-
-    // Quality change events
-    eventEmitterRef.current.addListener('onQualityChange', (event: { quality: Quality }) => {
-      onQualityChange?.(event.quality);
-    });
-
-    // Available qualities events
-    eventEmitterRef.current.addListener('onAvailableQualities', (event: { qualities: Quality[] }) => {
-      onAvailableQualities?.(event.qualities);
-    });
-
-    // Available captions events
-    eventEmitterRef.current.addListener('onAvailableCaptions', (event: { captions: Caption[] }) => {
-      onAvailableCaptions?.(event.captions);
-    });
-
-    // Language change events
-    eventEmitterRef.current.addListener('onLanguageChange', (event: { language: string }) => {
-      onLanguageChange?.(event.language);
-    });
-
-    // Playlist events
-    eventEmitterRef.current.addListener('onPlaylistChange', (event: { playlist: PlaylistItem[] }) => {
-      onPlaylistChange?.(event.playlist);
-    });
-
-    // Video change events
-    eventEmitterRef.current.addListener('onVideoChange', (event: { videoId: string }) => {
-      onVideoChange?.(event.videoId);
-    });
-
-    // Seek events
-    eventEmitterRef.current.addListener('onSeek', (event: { time: number }) => {
-      onSeek?.(event.time);
-    });
-
-    eventEmitterRef.current.addListener('onSeekForward', (event: { time: number }) => {
-      onSeekForward?.(event.time);
-    });
-
-    eventEmitterRef.current.addListener('onSeekBackward', (event: { time: number }) => {
-      onSeekBackward?.(event.time);
-    });
-  };
-
   const cleanup = () => {
-    if (playerRef.current) {
-      playerRef.current.cleanup();
-    }
+    playerRef.current?.cleanup?.();
   };
 
   // Expose player methods through ref
-  React.useImperativeHandle(playerRef, () => ({
-    play: () => playerRef.current?.play(viewRef.current),
-    pause: () => playerRef.current?.pause(viewRef.current),
-    seekTo: (time: number) => playerRef.current?.seekTo(viewRef.current, time),
-    seekForward: (seconds: number = seekInterval) => playerRef.current?.seekForward(viewRef.current, seconds),
-    seekBackward: (seconds: number = seekInterval) => playerRef.current?.seekBackward(viewRef.current, seconds),
-    setVolume: (volume: number) => playerRef.current?.setVolume(viewRef.current, volume),
-    getAvailableQualities: () => playerRef.current?.getAvailableQualities(viewRef.current),
-    getCurrentQuality: () => playerRef.current?.getCurrentQuality(viewRef.current),
-    setQuality: (quality: string) => playerRef.current?.setQuality(viewRef.current, quality),
-    getAvailableCaptions: () => playerRef.current?.getAvailableCaptions(viewRef.current),
-    getCurrentTime: () => playerRef.current?.getCurrentTime(viewRef.current),
-    getDuration: () => playerRef.current?.getDuration(viewRef.current),
-    playNext: () => playerRef.current?.playNext(viewRef.current),
-    playPrevious: () => playerRef.current?.playPrevious(viewRef.current),
-    getPlaylist: () => playerRef.current?.getPlaylist(viewRef.current),
-    setPlaylist: (playlist: PlaylistItem[]) => playerRef.current?.setPlaylist(viewRef.current, playlist),
-    enterPictureInPicture: () => playerRef.current?.enterPictureInPicture(viewRef.current),
-    exitPictureInPicture: () => playerRef.current?.exitPictureInPicture(viewRef.current),
-    downloadVideo: () => playerRef.current?.downloadVideo(viewRef.current),
-    getDownloadedVideos: () => playerRef.current?.getDownloadedVideos(viewRef.current),
-    deleteDownloadedVideo: (videoId: string) => playerRef.current?.deleteDownloadedVideo(viewRef.current, videoId),
-  }));
+  useImperativeHandle(ref, () => ({
+    play: () => PlayerCommands.play(viewRef.current),
+    pause: () => PlayerCommands.pause(viewRef.current),
+    seekTo: (time: number) => PlayerCommands.seekTo(viewRef.current, time),
+    seekForward: (seconds: number = seekInterval) => PlayerCommands.seekForward(viewRef.current, seconds),
+    seekBackward: (seconds: number = seekInterval) => PlayerCommands.seekBackward(viewRef.current, seconds),
+    setVolume: (volume: number) => PlayerCommands.setVolume(viewRef.current, volume),
+    getAvailableQualities: () => PlayerCommands.getAvailableQualities(viewRef.current),
+    getCurrentQuality: () => PlayerCommands.getCurrentQuality(viewRef.current),
+    setQuality: (quality: string) => PlayerCommands.setQuality(viewRef.current, quality),
+    getAvailableCaptions: () => PlayerCommands.getAvailableCaptions(viewRef.current),
+    getCurrentTime: () => PlayerCommands.getCurrentTime(viewRef.current),
+    getDuration: () => PlayerCommands.getDuration(viewRef.current),
+    getPlaybackState: () => NativeBrightcovePlaybackState?.getPlaybackState(viewRef.current) ?? null,
+    playNext: () => PlayerCommands.playNext(viewRef.current),
+    playPrevious: () => PlayerCommands.playPrevious(viewRef.current),
+    getPlaylist: () => PlayerCommands.getPlaylist(viewRef.current),
+    setPlaylist: (playlist: PlaylistItem[]) => PlayerCommands.setPlaylist(viewRef.current, playlist),
+    enterPictureInPicture: () => PlayerCommands.enterPictureInPicture(viewRef.current),
+    exitPictureInPicture: () => PlayerCommands.exitPictureInPicture(viewRef.current),
+    downloadVideo: () => PlayerCommands.downloadVideo(viewRef.current),
+    getDownloadedVideos: () => PlayerCommands.getDownloadedVideos(viewRef.current),
+    deleteDownloadedVideo: (videoId: string) => PlayerCommands.deleteDownloadedVideo(viewRef.current, videoId),
+    next: () => PlayerCommands.next(viewRef.current),
+    previous: () => PlayerCommands.previous(viewRef.current),
+    skipTo: (index: number) => PlayerCommands.skipTo(viewRef.current, index),
+    seekToLiveEdge: () => PlayerCommands.seekToLiveEdge(viewRef.current),
+    executeBatch: (commands: BatchCommand[]) => PlayerCommands.executeBatch(viewRef.current, commands),
+    getPlaybackStats: () => PlayerCommands.getPlaybackStats(viewRef.current),
+    getLoadTimeline: () => PlayerCommands.getLoadTimeline(viewRef.current),
+  }), [seekInterval]);
 
   return (
-    <View 
+    <NativeBrightcovePlayer
       style={styles.container}
+      accountId={accountId}
+      videoId={videoId}
+      policyKey={policyKey}
+      autoQuality={autoQuality}
+      initialQuality={initialQuality}
+      progressInterval={progressInterval}
+      bufferProfile={bufferProfile}
+      statsInterval={statsInterval}
+      playlistId={playlistId}
+      videoIds={videoIds}
+      preload={preload}
+      liveMode={liveMode}
+      onBuffering={(event) => onBuffering?.(event.nativeEvent.isBuffering)}
+      onProgress={(event) => onProgress?.(event.nativeEvent.currentTime, event.nativeEvent.duration)}
+      onError={(event) => onError?.(new Error(event.nativeEvent.error))}
+      onAvailableQualities={(event) => onAvailableQualities?.(event.nativeEvent.qualities)}
+      onAvailableCaptions={(event) => onAvailableCaptions?.(event.nativeEvent.captions)}
+      onQualityChange={(event) => onQualityChange?.(event.nativeEvent)}
+      onQualitySwitchDecision={(event) => onQualitySwitchDecision?.(event.nativeEvent)}
+      onPlaybackStats={(event) => onPlaybackStats?.(event.nativeEvent)}
+      onPlaylistChange={(event) => onPlaylistChange?.(event.nativeEvent.playlist)}
+      onVideoChange={(event) => onVideoChange?.(event.nativeEvent.videoId)}
+      onDemoted={(event) => onDemoted?.(event.nativeEvent)}
       onLayout={(event) => {
         const nodeHandle = findNodeHandle(event.target);
         if (nodeHandle !== null) {
@@ -253,7 +338,7 @@ const BrightcovePlayer: React.FC<BrightcovePlayerProps> = ({
       }}
     />
   );
-};
+});
 
 const styles = StyleSheet.create({
   container: {
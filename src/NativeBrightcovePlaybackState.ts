@@ -0,0 +1,19 @@
+import type { TurboModule } from 'react-native';
+import { TurboModuleRegistry } from 'react-native';
+
+export type PlaybackState = {
+  position: number;
+  duration: number;
+  bufferedPosition: number;
+  state: string;
+  isPlaying: boolean;
+  playbackSpeed: number;
+  bitrate: number;
+};
+
+// Read synchronously; on Android this is answered on the JS thread from state the view publishes
+export interface Spec extends TurboModule {
+  getPlaybackState(viewId: number): PlaybackState | null;
+}
+
+export default TurboModuleRegistry.get<Spec>('BrightcovePlaybackState');
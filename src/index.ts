@@ -1,3 +1,4 @@
 import BrightcovePlayer from './BrightcovePlayer';
 
+export type { BatchCommand, BrightcovePlayerHandle, LoadTimeline } from './BrightcovePlayer';
 export default BrightcovePlayer; 
\ No newline at end of file